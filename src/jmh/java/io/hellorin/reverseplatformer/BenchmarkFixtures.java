@@ -0,0 +1,73 @@
+package io.hellorin.reverseplatformer;
+
+import io.hellorin.reverseplatformer.application.GameSession;
+import io.hellorin.reverseplatformer.application.service.GameService;
+import io.hellorin.reverseplatformer.domain.model.GameState;
+import io.hellorin.reverseplatformer.domain.model.Level;
+import io.hellorin.reverseplatformer.domain.model.Runner;
+import io.hellorin.reverseplatformer.domain.model.Trap;
+import io.hellorin.reverseplatformer.domain.model.TrapType;
+import io.hellorin.reverseplatformer.domain.service.PhysicsService;
+import io.hellorin.reverseplatformer.domain.service.RunnerAIService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Game states shared by the benchmarks. Traps are scattered over the whole level width but
+ * kept above the highest jump, so every trap count plays the same game and only the cost
+ * of looking traps up and writing them changes.
+ */
+public final class BenchmarkFixtures {
+
+    public static final double STEP_SECONDS = 1.0 / 60;
+
+    private static final double TRAP_CEILING = 150;
+    private static final double MAX_GAME_SECONDS = 60;
+    private static final TrapType[] TYPES = TrapType.values();
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * A running game on the level with {@code traps} traps, the same ones on every call.
+     */
+    public static GameState gameWithTraps(int levelNumber, int traps) {
+        Level level = Level.createLevel(levelNumber);
+        GameState gameState = new GameState(level);
+        SplittableRandom random = new SplittableRandom(levelNumber);
+        for (int i = 0; i < traps; i++) {
+            TrapType type = TYPES[random.nextInt(TYPES.length)];
+            gameState.addPoints(type.getCost());
+            gameState.addTrap(new Trap(gameState.nextTrapId(), type,
+                    random.nextDouble(0, level.getWidth() - 30), random.nextDouble(0, TRAP_CEILING)));
+        }
+        gameState.start();
+        return gameState;
+    }
+
+    /**
+     * The runner before every step of a game on the level, from spawn until the game ends,
+     * so benchmarks can cycle through realistic positions instead of a single one.
+     */
+    public static Runner[] runnerPath(int levelNumber) {
+        GameSession session = new GameSession(levelNumber);
+        session.createNewGame();
+        GameService game = new GameService(session, new PhysicsService(), new RunnerAIService());
+
+        List<Runner> path = new ArrayList<>();
+        int maxSteps = (int) (MAX_GAME_SECONDS / STEP_SECONDS);
+        while (session.isRunning() && path.size() < maxSteps) {
+            path.add(copyOf(session.getGameState().getRunner()));
+            game.update(STEP_SECONDS);
+        }
+        return path.toArray(Runner[]::new);
+    }
+
+    private static Runner copyOf(Runner runner) {
+        Runner copy = new Runner(runner.getX(), runner.getY(), 1);
+        copy.copyFrom(runner);
+        return copy;
+    }
+}
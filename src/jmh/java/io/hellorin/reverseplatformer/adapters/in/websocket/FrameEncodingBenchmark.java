@@ -0,0 +1,108 @@
+package io.hellorin.reverseplatformer.adapters.in.websocket;
+
+import io.hellorin.reverseplatformer.BenchmarkFixtures;
+import io.hellorin.reverseplatformer.adapters.in.websocket.protocol.BinaryFrameCodec;
+import io.hellorin.reverseplatformer.adapters.in.websocket.protocol.FrameBuffer;
+import io.hellorin.reverseplatformer.adapters.in.websocket.protocol.FrameCodec;
+import io.hellorin.reverseplatformer.adapters.in.websocket.protocol.FrameContent;
+import io.hellorin.reverseplatformer.adapters.in.websocket.protocol.JsonFrameCodec;
+import io.hellorin.reverseplatformer.application.ports.in.GameCommand;
+import io.hellorin.reverseplatformer.domain.model.GameState;
+import io.hellorin.reverseplatformer.domain.model.Runner;
+import io.hellorin.reverseplatformer.domain.model.TrapType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The outbound half of a tick: deciding what changed and writing the frame, for both wire
+ * formats, plus decoding a trap placement on the way in. Keyframes carry every trap, so
+ * they are measured separately from the runner-only deltas of a typical tick.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FrameEncodingBenchmark {
+
+    private static final int LEVEL = 3;
+
+    @Param({"json", "binary"})
+    private String codecName;
+
+    @Param({"0", "10", "100", "1000"})
+    private int traps;
+
+    private final DeltaFrameEncoder encoder = new DeltaFrameEncoder();
+    private final FrameBuffer buffer = new FrameBuffer();
+
+    private FrameCodec codec;
+    private WebSocketMessage<?> placeTrap;
+    private GameState gameState;
+    private Runner runner;
+    private Runner[] path;
+    private int next;
+    private long tick;
+
+    @Setup
+    public void setUp() {
+        if (codecName.equals("binary")) {
+            codec = new BinaryFrameCodec();
+            ByteBuffer command = ByteBuffer.allocate(10).order(ByteOrder.LITTLE_ENDIAN);
+            command.put((byte) 4).put((byte) TrapType.SPIKE.ordinal()).putFloat(412.5f).putFloat(370f);
+            placeTrap = new BinaryMessage(command.flip());
+        } else {
+            codec = new JsonFrameCodec(new ObjectMapper());
+            placeTrap = new TextMessage("{\"type\":\"PLACE_TRAP\",\"trapType\":\"SPIKE\",\"x\":412.5,\"y\":370}");
+        }
+        gameState = BenchmarkFixtures.gameWithTraps(LEVEL, traps);
+        runner = gameState.getRunner();
+        path = BenchmarkFixtures.runnerPath(LEVEL);
+        encoder.keyframe(gameState, tick, 0);
+    }
+
+    @Benchmark
+    public int keyframe() {
+        buffer.reset();
+        codec.write(gameState, encoder.keyframe(gameState, ++tick, 0), buffer);
+        return buffer.length();
+    }
+
+    @Benchmark
+    public int delta() {
+        runner.copyFrom(path[next]);
+        next = next + 1 == path.length ? 0 : next + 1;
+        gameState.incrementTime(BenchmarkFixtures.STEP_SECONDS);
+
+        buffer.reset();
+        FrameContent content = encoder.encode(gameState, ++tick, 0);
+        if (content != null) {
+            codec.write(gameState, content, buffer);
+        }
+        return buffer.length();
+    }
+
+    @Benchmark
+    public GameCommand decodePlaceTrap() throws IOException {
+        return codec.decode(placeTrap);
+    }
+}
@@ -0,0 +1,60 @@
+package io.hellorin.reverseplatformer.application.service;
+
+import io.hellorin.reverseplatformer.BenchmarkFixtures;
+import io.hellorin.reverseplatformer.application.GameSession;
+import io.hellorin.reverseplatformer.domain.model.GameState;
+import io.hellorin.reverseplatformer.domain.service.PhysicsService;
+import io.hellorin.reverseplatformer.domain.service.RunnerAIService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One full {@link GameService#update(double)}: points, AI, physics, trap collisions and
+ * the game-over checks. A finished game is reset from a copy of its start, which is
+ * amortized over the few hundred steps a game lasts.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameTickBenchmark {
+
+    @Param({"1", "2", "3", "4", "5"})
+    private int level;
+
+    @Param({"0", "10", "100", "1000"})
+    private int traps;
+
+    private GameState start;
+    private GameState gameState;
+    private GameService gameService;
+
+    @Setup
+    public void setUp() {
+        start = BenchmarkFixtures.gameWithTraps(level, traps);
+        gameState = BenchmarkFixtures.gameWithTraps(level, traps);
+        gameService = new GameService(new GameSession(gameState), new PhysicsService(), new RunnerAIService());
+    }
+
+    @Benchmark
+    public double update() {
+        if (gameState.getStatus() != GameState.Status.RUNNING) {
+            gameState.copyFrom(start);
+        }
+        gameService.update(BenchmarkFixtures.STEP_SECONDS);
+        return gameState.getElapsedTime();
+    }
+}
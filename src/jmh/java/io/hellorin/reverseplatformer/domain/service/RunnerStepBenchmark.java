@@ -0,0 +1,82 @@
+package io.hellorin.reverseplatformer.domain.service;
+
+import io.hellorin.reverseplatformer.BenchmarkFixtures;
+import io.hellorin.reverseplatformer.domain.model.GameState;
+import io.hellorin.reverseplatformer.domain.model.Runner;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The two per-runner halves of a tick, physics and the AI decision, on every level and
+ * for growing trap counts. Each invocation restores the runner to the next position of a
+ * recorded game, so the numbers cover airborne and grounded steps alike.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RunnerStepBenchmark {
+
+    @Param({"1", "2", "3", "4", "5"})
+    private int level;
+
+    @Param({"0", "10", "100", "1000"})
+    private int traps;
+
+    private final PhysicsService physicsService = new PhysicsService();
+    private final RunnerAIService heuristics = new RunnerAIService();
+    private final RunnerAIService planned = new RunnerAIService(
+            RolloutPlanner.deterministic(6, BenchmarkFixtures.STEP_SECONDS));
+
+    private GameState gameState;
+    private Runner runner;
+    private Runner[] path;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        gameState = BenchmarkFixtures.gameWithTraps(level, traps);
+        runner = gameState.getRunner();
+        path = BenchmarkFixtures.runnerPath(level);
+    }
+
+    private Runner nextRunner() {
+        runner.copyFrom(path[next]);
+        next = next + 1 == path.length ? 0 : next + 1;
+        return runner;
+    }
+
+    @Benchmark
+    public double physicsUpdate() {
+        Runner current = nextRunner();
+        physicsService.update(current, gameState, BenchmarkFixtures.STEP_SECONDS);
+        return current.getY();
+    }
+
+    @Benchmark
+    public double think() {
+        Runner current = nextRunner();
+        heuristics.think(current, gameState);
+        return current.getVelocityY();
+    }
+
+    @Benchmark
+    public double thinkWithPlanner() {
+        Runner current = nextRunner();
+        planned.think(current, gameState);
+        return current.getVelocityY();
+    }
+}
@@ -0,0 +1,17 @@
+package io.hellorin.reverseplatformer.adapters.in.balance;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+@Configuration
+@Profile("balance")
+@EnableConfigurationProperties(BalanceProperties.class)
+public class BalanceConfig {
+
+    @Bean
+    public BalanceRunner balanceRunner(BalanceProperties properties) {
+        return new BalanceRunner(properties);
+    }
+}
@@ -0,0 +1,40 @@
+package io.hellorin.reverseplatformer.adapters.in.balance;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.List;
+
+/**
+ * @param levels              levels to sweep
+ * @param games               games played per level
+ * @param seed                base seed; game {@code i} of a level always plays the same way
+ * @param script              scripted traps as {@code seconds:TYPE:x:y} entries separated by
+ *                            {@code ;}, e.g. {@code 1.5:SPIKE:400:340}; empty to place them at random
+ * @param trapIntervalSeconds how often random traps are placed ahead of the runner
+ * @param maxSeconds          simulated time after which a game counts as a timeout
+ * @param simulationHz        fixed steps per simulated second
+ * @param plannerRollouts     rollouts per runner decision; {@code 0} for heuristics only
+ * @param parallelism         worker threads; {@code 0} means one per available core
+ * @param reportFile          where to write the report besides the log; empty for the log only
+ */
+@ConfigurationProperties(prefix = "saboteur.balance")
+public record BalanceProperties(@DefaultValue({"1", "2", "3", "4", "5"}) List<Integer> levels,
+                                @DefaultValue("1000") int games,
+                                @DefaultValue("1") long seed,
+                                @DefaultValue("") String script,
+                                @DefaultValue("2.0") double trapIntervalSeconds,
+                                @DefaultValue("120") int maxSeconds,
+                                @DefaultValue("60") int simulationHz,
+                                @DefaultValue("0") int plannerRollouts,
+                                @DefaultValue("0") int parallelism,
+                                @DefaultValue("") String reportFile) {
+
+    public int effectiveParallelism() {
+        return parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+    }
+
+    public double stepSeconds() {
+        return 1.0 / simulationHz;
+    }
+}
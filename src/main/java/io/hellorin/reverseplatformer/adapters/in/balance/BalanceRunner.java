@@ -0,0 +1,62 @@
+package io.hellorin.reverseplatformer.adapters.in.balance;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs one balancing sweep at startup and reports it, for the {@code balance} profile.
+ */
+public class BalanceRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(BalanceRunner.class);
+
+    private final BalanceProperties properties;
+
+    public BalanceRunner(BalanceProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        BalanceSimulator simulator = new BalanceSimulator(properties, TrapPlan.of(properties));
+        int parallelism = properties.effectiveParallelism();
+        log.info("Playing {} games on each of levels {} with {} threads", properties.games(), properties.levels(),
+                parallelism);
+
+        long started = System.nanoTime();
+        List<LevelStats> results;
+        try (ForkJoinPool pool = new ForkJoinPool(parallelism)) {
+            results = simulator.sweep(pool);
+        }
+        long elapsedNanos = System.nanoTime() - started;
+
+        String report = report(results, elapsedNanos);
+        log.info("Balance report{}{}", System.lineSeparator(), report);
+        if (!properties.reportFile().isBlank()) {
+            Files.writeString(Path.of(properties.reportFile()), report);
+        }
+    }
+
+    String report(List<LevelStats> results, long elapsedNanos) {
+        int games = results.stream().mapToInt(LevelStats::games).sum();
+        double seconds = elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1);
+        StringBuilder report = new StringBuilder();
+        report.append(String.format(Locale.ROOT, "%d games in %.1f s (%.0f games/s), seed %d, %s traps%n",
+                games, seconds, games / seconds, properties.seed(),
+                properties.script().isBlank() ? "random" : "scripted"));
+        for (LevelStats stats : results) {
+            stats.appendTo(report, properties.stepSeconds());
+        }
+        return report.toString();
+    }
+}
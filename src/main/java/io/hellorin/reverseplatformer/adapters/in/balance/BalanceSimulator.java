@@ -0,0 +1,116 @@
+package io.hellorin.reverseplatformer.adapters.in.balance;
+
+import io.hellorin.reverseplatformer.application.GameSession;
+import io.hellorin.reverseplatformer.application.GameSimulation;
+import io.hellorin.reverseplatformer.application.ports.in.GameCommand;
+import io.hellorin.reverseplatformer.application.service.GameService;
+import io.hellorin.reverseplatformer.application.service.LevelService;
+import io.hellorin.reverseplatformer.application.service.TrapService;
+import io.hellorin.reverseplatformer.domain.model.GameState;
+import io.hellorin.reverseplatformer.domain.service.PhysicsService;
+import io.hellorin.reverseplatformer.domain.service.RolloutPlanner;
+import io.hellorin.reverseplatformer.domain.service.RunnerAIService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Plays many games per level as fast as the CPU allows, splitting each level's games into
+ * fork/join tasks. Game {@code i} of a level is seeded from the base seed and {@code i}
+ * alone, so a sweep gives the same report whatever the parallelism.
+ */
+public class BalanceSimulator {
+
+    private static final int GAMES_PER_TASK = 16;
+
+    private final BalanceProperties properties;
+    private final TrapPlan trapPlan;
+
+    public BalanceSimulator(BalanceProperties properties, TrapPlan trapPlan) {
+        for (int level : properties.levels()) {
+            if (level < 1 || level > GameSession.MAX_LEVEL) {
+                throw new IllegalArgumentException("No level " + level);
+            }
+        }
+        this.properties = properties;
+        this.trapPlan = trapPlan;
+    }
+
+    /**
+     * Plays every configured level on the given pool, one result per level in configured order.
+     */
+    List<LevelStats> sweep(ForkJoinPool pool) {
+        List<GameRange> tasks = new ArrayList<>();
+        for (int level : properties.levels()) {
+            GameRange task = new GameRange(level, 0, properties.games());
+            tasks.add(task);
+            pool.execute(task);
+        }
+
+        List<LevelStats> results = new ArrayList<>();
+        for (GameRange task : tasks) {
+            results.add(task.join());
+        }
+        return results;
+    }
+
+    private LevelStats play(int level, int fromGame, int toGame) {
+        LevelStats stats = new LevelStats(level, properties.maxSeconds());
+        for (int game = fromGame; game < toGame; game++) {
+            play(level, game, stats);
+        }
+        return stats;
+    }
+
+    private void play(int level, int game, LevelStats stats) {
+        double stepSeconds = properties.stepSeconds();
+        GameSession session = new GameSession(level);
+        RunnerAIService runnerAIService = properties.plannerRollouts() > 0
+                ? new RunnerAIService(RolloutPlanner.deterministic(properties.plannerRollouts(), stepSeconds))
+                : new RunnerAIService();
+        GameSimulation simulation = new GameSimulation(
+                new GameService(session, new PhysicsService(), runnerAIService),
+                new LevelService(session), new TrapService(session));
+        SplittableRandom random = new SplittableRandom(properties.seed() + ((long) level << 32) + game);
+
+        simulation.execute(GameCommand.START);
+        GameState gameState = simulation.getGameState();
+        long maxTicks = (long) properties.maxSeconds() * properties.simulationHz();
+        while (gameState.getStatus() == GameState.Status.RUNNING && simulation.tick() < maxTicks) {
+            if (simulation.tick() % properties.simulationHz() == 0) {
+                stats.addPoints((int) (simulation.tick() / properties.simulationHz()), gameState.getPlayerPoints());
+            }
+            trapPlan.placeTraps(simulation, random);
+            simulation.step(stepSeconds);
+        }
+        stats.addGame(gameState.getStatus(), simulation.tick());
+    }
+
+    private final class GameRange extends RecursiveTask<LevelStats> {
+
+        private final int level;
+        private final int fromGame;
+        private final int toGame;
+
+        private GameRange(int level, int fromGame, int toGame) {
+            this.level = level;
+            this.fromGame = fromGame;
+            this.toGame = toGame;
+        }
+
+        @Override
+        protected LevelStats compute() {
+            if (toGame - fromGame <= GAMES_PER_TASK) {
+                return play(level, fromGame, toGame);
+            }
+            int middle = (fromGame + toGame) >>> 1;
+            GameRange upper = new GameRange(level, middle, toGame);
+            upper.fork();
+            LevelStats lower = new GameRange(level, fromGame, middle).compute();
+            return lower.merge(upper.join());
+        }
+    }
+}
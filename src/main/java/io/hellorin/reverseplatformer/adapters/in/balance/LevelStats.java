@@ -0,0 +1,136 @@
+package io.hellorin.reverseplatformer.adapters.in.balance;
+
+import io.hellorin.reverseplatformer.domain.model.GameState;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Results of a range of games on one level. Each worker fills its own instance and the
+ * instances are merged afterwards, so the totals do not depend on how games were split.
+ */
+final class LevelStats {
+
+    private static final double[] PERCENTILES = {0.10, 0.25, 0.50, 0.75, 0.90};
+    private static final int CURVE_POINTS = 12;
+
+    private final int level;
+    private int games;
+    private int runnerWins;
+    private int playerWins;
+    private int timeouts;
+    private long[] goalTicks = new long[16];
+    private int goalCount;
+    private final long[] pointSums;
+    private final int[] pointSamples;
+
+    LevelStats(int level, int maxSeconds) {
+        this.level = level;
+        this.pointSums = new long[maxSeconds + 1];
+        this.pointSamples = new int[maxSeconds + 1];
+    }
+
+    int level() {
+        return level;
+    }
+
+    int games() {
+        return games;
+    }
+
+    int runnerWins() {
+        return runnerWins;
+    }
+
+    int playerWins() {
+        return playerWins;
+    }
+
+    int timeouts() {
+        return timeouts;
+    }
+
+    void addPoints(int second, int points) {
+        if (second < pointSums.length) {
+            pointSums[second] += points;
+            pointSamples[second]++;
+        }
+    }
+
+    void addGame(GameState.Status status, long ticks) {
+        games++;
+        switch (status) {
+            case RUNNER_WINS -> {
+                runnerWins++;
+                if (goalCount == goalTicks.length) {
+                    goalTicks = Arrays.copyOf(goalTicks, goalCount * 2);
+                }
+                goalTicks[goalCount++] = ticks;
+            }
+            case PLAYER_WINS -> playerWins++;
+            default -> timeouts++;
+        }
+    }
+
+    LevelStats merge(LevelStats other) {
+        games += other.games;
+        runnerWins += other.runnerWins;
+        playerWins += other.playerWins;
+        timeouts += other.timeouts;
+        if (goalCount + other.goalCount > goalTicks.length) {
+            goalTicks = Arrays.copyOf(goalTicks, goalCount + other.goalCount);
+        }
+        System.arraycopy(other.goalTicks, 0, goalTicks, goalCount, other.goalCount);
+        goalCount += other.goalCount;
+        for (int i = 0; i < pointSums.length; i++) {
+            pointSums[i] += other.pointSums[i];
+            pointSamples[i] += other.pointSamples[i];
+        }
+        return this;
+    }
+
+    /**
+     * Simulated seconds until the runner reached the goal, at the given fraction of runner wins.
+     */
+    double goalSecondsAt(double fraction, double stepSeconds) {
+        long[] sorted = Arrays.copyOf(goalTicks, goalCount);
+        Arrays.sort(sorted);
+        int index = (int) Math.min(goalCount - 1, Math.max(0, Math.ceil(fraction * goalCount) - 1));
+        return sorted[index] * stepSeconds;
+    }
+
+    void appendTo(StringBuilder report, double stepSeconds) {
+        report.append(String.format(Locale.ROOT,
+                "Level %d: %d games, runner wins %.1f%%, player wins %.1f%%, timeouts %.1f%%%n",
+                level, games, percent(runnerWins), percent(playerWins), percent(timeouts)));
+
+        report.append("  time to goal (s):");
+        if (goalCount == 0) {
+            report.append(" -");
+        } else {
+            report.append(String.format(Locale.ROOT, " min %.2f", goalSecondsAt(0, stepSeconds)));
+            for (double fraction : PERCENTILES) {
+                report.append(String.format(Locale.ROOT, "  p%d %.2f",
+                        Math.round(fraction * 100), goalSecondsAt(fraction, stepSeconds)));
+            }
+            report.append(String.format(Locale.ROOT, "  max %.2f", goalSecondsAt(1, stepSeconds)));
+        }
+        report.append(System.lineSeparator());
+
+        int lastSecond = 0;
+        while (lastSecond + 1 < pointSamples.length && pointSamples[lastSecond + 1] > 0) {
+            lastSecond++;
+        }
+        int curveStep = Math.max(1, (lastSecond + CURVE_POINTS - 1) / CURVE_POINTS);
+        report.append("  mean points of running games:");
+        for (int second = 0; second <= lastSecond && pointSamples[second] > 0; second += curveStep) {
+            report.append(String.format(Locale.ROOT, "  %ds %.0f (%d)",
+                    second, (double) pointSums[second] / pointSamples[second], pointSamples[second]));
+        }
+        report.append(System.lineSeparator());
+    }
+
+    private double percent(int count) {
+        return games == 0 ? 0 : 100.0 * count / games;
+    }
+}
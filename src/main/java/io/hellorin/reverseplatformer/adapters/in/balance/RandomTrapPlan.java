@@ -0,0 +1,37 @@
+package io.hellorin.reverseplatformer.adapters.in.balance;
+
+import io.hellorin.reverseplatformer.application.GameSimulation;
+import io.hellorin.reverseplatformer.application.ports.in.GameCommand;
+import io.hellorin.reverseplatformer.domain.model.Runner;
+import io.hellorin.reverseplatformer.domain.model.TrapType;
+
+import java.util.SplittableRandom;
+
+/**
+ * Every interval, a random trap on the ground somewhat ahead of the runner, the way a
+ * player reacting to it would.
+ */
+final class RandomTrapPlan implements TrapPlan {
+
+    private static final TrapType[] TYPES = TrapType.values();
+    private static final double MIN_LEAD = 60;
+    private static final double MAX_LEAD = 300;
+    private static final double TRAP_SIZE = 30;
+
+    private final long intervalTicks;
+
+    RandomTrapPlan(double intervalSeconds, double stepSeconds) {
+        this.intervalTicks = Math.max(1, Math.round(intervalSeconds / stepSeconds));
+    }
+
+    @Override
+    public void placeTraps(GameSimulation simulation, SplittableRandom random) {
+        long tick = simulation.tick();
+        if (tick == 0 || tick % intervalTicks != 0) return;
+
+        Runner runner = simulation.getGameState().getRunner();
+        double x = runner.getX() + random.nextDouble(MIN_LEAD, MAX_LEAD);
+        double y = runner.getBottom() - TRAP_SIZE;
+        simulation.execute(new GameCommand.PlaceTrap(TYPES[random.nextInt(TYPES.length)], x, y));
+    }
+}
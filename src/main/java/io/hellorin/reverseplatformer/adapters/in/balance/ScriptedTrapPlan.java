@@ -0,0 +1,62 @@
+package io.hellorin.reverseplatformer.adapters.in.balance;
+
+import io.hellorin.reverseplatformer.application.GameSimulation;
+import io.hellorin.reverseplatformer.application.ports.in.GameCommand;
+import io.hellorin.reverseplatformer.domain.model.TrapType;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * The same traps at the same times in every game.
+ */
+final class ScriptedTrapPlan implements TrapPlan {
+
+    private record Entry(long tick, GameCommand.PlaceTrap command) {
+    }
+
+    private final List<Entry> entries;
+
+    private ScriptedTrapPlan(List<Entry> entries) {
+        this.entries = entries;
+    }
+
+    /**
+     * Parses {@code seconds:TYPE:x:y} entries separated by {@code ;}.
+     */
+    static ScriptedTrapPlan parse(String script, double stepSeconds) {
+        List<Entry> entries = new ArrayList<>();
+        for (String entry : script.split(";")) {
+            if (entry.isBlank()) continue;
+
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 4) {
+                throw new IllegalArgumentException("Expected seconds:TYPE:x:y but got '" + entry.trim() + "'");
+            }
+            long tick = Math.round(Double.parseDouble(parts[0]) / stepSeconds);
+            TrapType type = TrapType.valueOf(parts[1].trim().toUpperCase(Locale.ROOT));
+            entries.add(new Entry(tick, new GameCommand.PlaceTrap(type,
+                    Double.parseDouble(parts[2]), Double.parseDouble(parts[3]))));
+        }
+        entries.sort(Comparator.comparingLong(Entry::tick));
+        return new ScriptedTrapPlan(List.copyOf(entries));
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    @Override
+    public void placeTraps(GameSimulation simulation, SplittableRandom random) {
+        long tick = simulation.tick();
+        for (Entry entry : entries) {
+            if (entry.tick() > tick) break;
+            if (entry.tick() == tick) {
+                simulation.execute(entry.command());
+            }
+        }
+    }
+}
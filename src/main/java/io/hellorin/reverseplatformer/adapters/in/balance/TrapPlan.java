@@ -0,0 +1,20 @@
+package io.hellorin.reverseplatformer.adapters.in.balance;
+
+import io.hellorin.reverseplatformer.application.GameSimulation;
+
+import java.util.SplittableRandom;
+
+/**
+ * Where the simulated player puts traps. Called once per tick, before the step; a plan
+ * keeps no state of its own, so one instance serves every game on every thread.
+ */
+public interface TrapPlan {
+
+    void placeTraps(GameSimulation simulation, SplittableRandom random);
+
+    static TrapPlan of(BalanceProperties properties) {
+        return properties.script().isBlank()
+                ? new RandomTrapPlan(properties.trapIntervalSeconds(), properties.stepSeconds())
+                : ScriptedTrapPlan.parse(properties.script(), properties.stepSeconds());
+    }
+}
@@ -0,0 +1,350 @@
+package io.hellorin.reverseplatformer.adapters.in.loadtest;
+
+import io.hellorin.reverseplatformer.application.GameSession;
+import io.hellorin.reverseplatformer.domain.model.GameState;
+import io.hellorin.reverseplatformer.domain.model.TrapType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.WebSocket;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * One simulated player. {@link #play} runs on its own virtual thread and sends the
+ * commands: START, traps ahead of the runner at the configured rate while a game runs,
+ * and NEXT_LEVEL or RESTART once it ended. Frames arrive on the HTTP client's threads
+ * and are timed against those commands: a new game's first keyframe answers the last
+ * game command, and a trap at the placed position answers the placement.
+ */
+final class LoadClient implements WebSocket.Listener {
+
+    private static final GameState.Status[] STATUSES = GameState.Status.values();
+    private static final TrapType[] TRAP_TYPES = TrapType.values();
+    static final byte CMD_START = 1;
+    static final byte CMD_RESTART = 2;
+    private static final byte CMD_NEXT_LEVEL = 3;
+    private static final byte CMD_PLACE_TRAP = 4;
+    private static final byte OP_KEYFRAME = 1;
+    private static final byte OP_DELTA = 2;
+    private static final int FRAME_HEADER_BYTES = 13;
+    private static final int TRAP_BYTES = 9;
+    private static final int MAX_PENDING_TRAPS = 16;
+    private static final double MIN_LEAD = 80;
+    private static final double MAX_LEAD = 320;
+    private static final float SAME_POSITION = 0.01f;
+    private static final long MAX_IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final LoadTestProperties properties;
+    private final LoadStats stats;
+    private final ObjectMapper objectMapper;
+    private final long expectedFrameNanos;
+    private final SplittableRandom random;
+
+    private ByteBuffer binaryPart = ByteBuffer.allocate(1024);
+    private final StringBuilder textPart = new StringBuilder();
+    private volatile boolean closed;
+
+    // Guarded by this: written by the receiving side, read by the playing thread.
+    private GameState.Status status;
+    private int level;
+    private int points;
+    private double runnerX;
+    private double runnerY;
+    private long lastFrameAt;
+    private long gameCommandSentAt;
+    private long gameOverAt;
+    private boolean won;
+    private final float[] pendingTrapX = new float[MAX_PENDING_TRAPS];
+    private final long[] pendingTrapSentAt = new long[MAX_PENDING_TRAPS];
+    private int pendingTraps;
+
+    LoadClient(LoadTestProperties properties, LoadStats stats, ObjectMapper objectMapper, long expectedFrameNanos,
+               long seed) {
+        this.properties = properties;
+        this.stats = stats;
+        this.objectMapper = objectMapper;
+        this.expectedFrameNanos = expectedFrameNanos;
+        this.random = new SplittableRandom(seed);
+    }
+
+    /**
+     * Connects and plays until {@code deadline} ({@link System#nanoTime()}), then closes.
+     */
+    void play(HttpClient http, URI uri, long deadline) {
+        WebSocket webSocket;
+        try {
+            webSocket = http.newWebSocketBuilder().subprotocols(properties.subProtocol()).buildAsync(uri, this).join();
+        } catch (RuntimeException e) {
+            stats.failed.increment();
+            return;
+        }
+        stats.opened.increment();
+
+        try {
+            sendGameCommand(webSocket, CMD_START);
+            long nextTrap = System.nanoTime() + (long) (random.nextDouble() * properties.trapIntervalNanos());
+            long now;
+            while ((now = System.nanoTime()) < deadline && !closed) {
+                if (gameOverFor(now)) {
+                    sendGameCommand(webSocket, nextGameCommand());
+                } else if (now >= nextTrap) {
+                    placeTrap(webSocket, now);
+                    nextTrap = now + properties.trapIntervalNanos();
+                }
+                LockSupport.parkNanos(Math.min(MAX_IDLE_PARK_NANOS, Math.min(nextTrap, deadline) - now));
+            }
+        } catch (RuntimeException e) {
+            // The server closed the connection under us; counted in onClose or onError.
+        } finally {
+            if (!closed) {
+                closed = true;
+                webSocket.abort();
+            }
+        }
+    }
+
+    synchronized boolean gameOverFor(long now) {
+        return gameOverAt != 0 && now - gameOverAt >= TimeUnit.MILLISECONDS.toNanos(properties.gameOverPauseMs());
+    }
+
+    synchronized byte nextGameCommand() {
+        return won && level < GameSession.MAX_LEVEL ? CMD_NEXT_LEVEL : CMD_RESTART;
+    }
+
+    void sendGameCommand(WebSocket webSocket, byte command) {
+        synchronized (this) {
+            gameOverAt = 0;
+            gameCommandSentAt = System.nanoTime();
+        }
+        if (properties.binary()) {
+            webSocket.sendBinary(ByteBuffer.wrap(new byte[]{command}), true).join();
+        } else {
+            String type = switch (command) {
+                case CMD_START -> "START";
+                case CMD_NEXT_LEVEL -> "NEXT_LEVEL";
+                default -> "RESTART";
+            };
+            webSocket.sendText("{\"type\":\"" + type + "\"}", true).join();
+        }
+    }
+
+    void placeTrap(WebSocket webSocket, long now) {
+        TrapType type;
+        float x;
+        float y;
+        synchronized (this) {
+            if (status != GameState.Status.RUNNING || pendingTraps == MAX_PENDING_TRAPS) return;
+            type = affordableTrap();
+            if (type == null) return;
+            x = (float) (runnerX + random.nextDouble(MIN_LEAD, MAX_LEAD));
+            y = (float) runnerY;
+            pendingTrapX[pendingTraps] = x;
+            pendingTrapSentAt[pendingTraps] = now;
+            pendingTraps++;
+            points -= type.getCost();
+        }
+        stats.trapSent();
+        if (properties.binary()) {
+            byte[] command = new byte[10];
+            ByteBuffer.wrap(command).order(ByteOrder.LITTLE_ENDIAN)
+                    .put(CMD_PLACE_TRAP).put((byte) type.ordinal()).putFloat(x).putFloat(y);
+            // Sent in a big-endian buffer: the JDK client masks the payload in the buffer's
+            // byte order, which garbles little-endian ones.
+            webSocket.sendBinary(ByteBuffer.wrap(command), true).join();
+        } else {
+            webSocket.sendText(String.format(Locale.ROOT,
+                    "{\"type\":\"PLACE_TRAP\",\"trapType\":\"%s\",\"x\":%s,\"y\":%s}", type, x, y), true).join();
+        }
+    }
+
+    private TrapType affordableTrap() {
+        int affordable = 0;
+        for (TrapType type : TRAP_TYPES) {
+            if (points >= type.getCost()) affordable++;
+        }
+        if (affordable == 0) return null;
+        int pick = random.nextInt(affordable);
+        for (TrapType type : TRAP_TYPES) {
+            if (points >= type.getCost() && pick-- == 0) return type;
+        }
+        return null;
+    }
+
+    @Override
+    public void onOpen(WebSocket webSocket) {
+        webSocket.request(1);
+    }
+
+    @Override
+    public CompletionStage<?> onBinary(WebSocket webSocket, ByteBuffer data, boolean last) {
+        if (binaryPart.remaining() < data.remaining()) {
+            ByteBuffer larger = ByteBuffer.allocate(Math.max(binaryPart.capacity() * 2,
+                    binaryPart.position() + data.remaining()));
+            binaryPart.flip();
+            binaryPart = larger.put(binaryPart);
+        }
+        binaryPart.put(data);
+        if (last) {
+            binaryPart.flip();
+            onBinaryFrame(binaryPart.order(ByteOrder.LITTLE_ENDIAN), System.nanoTime());
+            binaryPart.clear();
+        }
+        webSocket.request(1);
+        return null;
+    }
+
+    @Override
+    public CompletionStage<?> onText(WebSocket webSocket, CharSequence data, boolean last) {
+        textPart.append(data);
+        if (last) {
+            try {
+                onJsonFrame(textPart.toString(), System.nanoTime());
+            } catch (Exception e) {
+                // Not a frame we understand; it still counts as traffic.
+            }
+            textPart.setLength(0);
+        }
+        webSocket.request(1);
+        return null;
+    }
+
+    @Override
+    public CompletionStage<?> onClose(WebSocket webSocket, int statusCode, String reason) {
+        connectionLost();
+        return null;
+    }
+
+    @Override
+    public void onError(WebSocket webSocket, Throwable error) {
+        connectionLost();
+    }
+
+    private void connectionLost() {
+        if (!closed) {
+            closed = true;
+            stats.dropped.increment();
+        }
+    }
+
+    /**
+     * Reads a frame of the binary protocol; see {@code BinaryFrameCodec} for the layout.
+     */
+    void onBinaryFrame(ByteBuffer frame, long receivedAt) {
+        int size = frame.remaining();
+        byte op = frame.get();
+        if (op != OP_KEYFRAME && op != OP_DELTA) return;
+        frame.position(FRAME_HEADER_BYTES);
+
+        synchronized (this) {
+            GameState.Status previous = status;
+            if (op == OP_KEYFRAME) {
+                GameState.Status keyframeStatus = STATUSES[frame.get()];
+                level = frame.get();
+                points = frame.getInt();
+                frame.getFloat();
+                readBinaryRunner(frame);
+                int platforms = Short.toUnsignedInt(frame.getShort());
+                frame.position(frame.position() + platforms);
+                keyframe(keyframeStatus, receivedAt);
+                readBinaryTraps(frame, receivedAt);
+            } else {
+                int fields = frame.get();
+                if ((fields & 1) != 0) status = STATUSES[frame.get()];
+                if ((fields & 1 << 1) != 0) points = frame.getInt();
+                if ((fields & 1 << 2) != 0) frame.getFloat();
+                if ((fields & 1 << 3) != 0) readBinaryRunner(frame);
+                if ((fields & 1 << 4) != 0) readBinaryTraps(frame, receivedAt);
+            }
+            frameReceived(op == OP_KEYFRAME, size, previous, receivedAt);
+        }
+    }
+
+    private void readBinaryRunner(ByteBuffer frame) {
+        runnerX = frame.getFloat();
+        runnerY = frame.getFloat();
+        frame.get();
+    }
+
+    private void readBinaryTraps(ByteBuffer frame, long receivedAt) {
+        int count = Short.toUnsignedInt(frame.getShort());
+        for (int i = 0; i < count; i++) {
+            trapSeen(frame.getFloat(frame.position() + 1), receivedAt);
+            frame.position(frame.position() + TRAP_BYTES);
+        }
+    }
+
+    /**
+     * Reads a frame of the JSON protocol; level messages only count as traffic.
+     */
+    void onJsonFrame(String text, long receivedAt) throws Exception {
+        JsonNode json = objectMapper.readTree(text);
+        String type = json.path("type").asText();
+        boolean keyframe = type.equals("KEYFRAME");
+        if (!keyframe && !type.equals("DELTA")) return;
+
+        synchronized (this) {
+            GameState.Status previous = status;
+            GameState.Status frameStatus = json.has("status") ? GameState.Status.valueOf(json.get("status").asText())
+                    : status;
+            if (json.has("level")) level = json.get("level").asInt();
+            if (json.has("playerPoints")) points = json.get("playerPoints").asInt();
+            if (json.has("runner")) {
+                runnerX = json.get("runner").get("x").asDouble();
+                runnerY = json.get("runner").get("y").asDouble();
+            }
+            if (keyframe) {
+                keyframe(frameStatus, receivedAt);
+            } else {
+                status = frameStatus;
+            }
+            for (JsonNode trap : json.path(keyframe ? "traps" : "addedTraps")) {
+                trapSeen((float) trap.get("x").asDouble(), receivedAt);
+            }
+            frameReceived(keyframe, text.length(), previous, receivedAt);
+        }
+    }
+
+    private void keyframe(GameState.Status keyframeStatus, long receivedAt) {
+        // Game commands are only sent while no game runs, so the next running keyframe
+        // is the game they started.
+        if (gameCommandSentAt != 0 && keyframeStatus == GameState.Status.RUNNING) {
+            stats.gameStarted(receivedAt - gameCommandSentAt);
+            gameCommandSentAt = 0;
+            stats.trapsLost(pendingTraps);
+            pendingTraps = 0;
+        }
+        status = keyframeStatus;
+    }
+
+    private void trapSeen(float x, long receivedAt) {
+        for (int i = 0; i < pendingTraps; i++) {
+            if (Math.abs(pendingTrapX[i] - x) < SAME_POSITION) {
+                stats.trapPlaced(receivedAt - pendingTrapSentAt[i]);
+                pendingTraps--;
+                pendingTrapX[i] = pendingTrapX[pendingTraps];
+                pendingTrapSentAt[i] = pendingTrapSentAt[pendingTraps];
+                return;
+            }
+        }
+    }
+
+    private void frameReceived(boolean keyframe, int size, GameState.Status previous, long receivedAt) {
+        stats.frame(keyframe, size);
+        if (previous == GameState.Status.RUNNING && lastFrameAt != 0) {
+            stats.frameGap(receivedAt - lastFrameAt, expectedFrameNanos);
+        }
+        if (previous == GameState.Status.RUNNING && status != GameState.Status.RUNNING) {
+            gameOverAt = receivedAt;
+            won = status == GameState.Status.PLAYER_WINS;
+        }
+        lastFrameAt = receivedAt;
+    }
+}
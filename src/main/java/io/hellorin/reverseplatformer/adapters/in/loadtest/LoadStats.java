@@ -0,0 +1,68 @@
+package io.hellorin.reverseplatformer.adapters.in.loadtest;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * What all connections of a load test observed. Connections record into the shared
+ * instances from their own threads; nothing is recorded until {@link #startMeasuring()},
+ * so the ramp-up does not skew the steady state.
+ */
+final class LoadStats {
+
+    final Histogram frameGapNanos = new Histogram();
+    final Histogram jitterNanos = new Histogram();
+    final Histogram gameCommandNanos = new Histogram();
+    final Histogram trapNanos = new Histogram();
+    final Histogram keyframeBytes = new Histogram();
+    final Histogram deltaBytes = new Histogram();
+
+    final LongAdder opened = new LongAdder();
+    final LongAdder failed = new LongAdder();
+    final LongAdder dropped = new LongAdder();
+    final LongAdder frames = new LongAdder();
+    final LongAdder bytes = new LongAdder();
+    final LongAdder gamesStarted = new LongAdder();
+    final LongAdder trapsSent = new LongAdder();
+    final LongAdder trapsLost = new LongAdder();
+
+    private volatile boolean measuring;
+
+    void startMeasuring() {
+        measuring = true;
+    }
+
+    boolean measuring() {
+        return measuring;
+    }
+
+    void frame(boolean keyframe, int size) {
+        if (!measuring) return;
+        frames.increment();
+        bytes.add(size);
+        (keyframe ? keyframeBytes : deltaBytes).record(size);
+    }
+
+    void frameGap(long gapNanos, long expectedNanos) {
+        if (!measuring) return;
+        frameGapNanos.record(gapNanos);
+        jitterNanos.record(Math.abs(gapNanos - expectedNanos));
+    }
+
+    void gameStarted(long latencyNanos) {
+        if (!measuring) return;
+        gamesStarted.increment();
+        gameCommandNanos.record(latencyNanos);
+    }
+
+    void trapSent() {
+        if (measuring) trapsSent.increment();
+    }
+
+    void trapPlaced(long latencyNanos) {
+        if (measuring) trapNanos.record(latencyNanos);
+    }
+
+    void trapsLost(int count) {
+        if (measuring) trapsLost.add(count);
+    }
+}
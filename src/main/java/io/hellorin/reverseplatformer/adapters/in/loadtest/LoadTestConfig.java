@@ -0,0 +1,26 @@
+package io.hellorin.reverseplatformer.adapters.in.loadtest;
+
+import io.hellorin.reverseplatformer.adapters.in.websocket.GameServerProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+@Profile("loadtest")
+@EnableConfigurationProperties(LoadTestProperties.class)
+public class LoadTestConfig {
+
+    @Bean
+    public LoadTestRunner loadTestRunner(LoadTestProperties properties, GameServerProperties serverProperties,
+                                         Environment environment, ConfigurableApplicationContext context) {
+        GameServerProperties.Tick tick = serverProperties.tick();
+        int snapshotHz = properties.snapshotHz() > 0 ? properties.snapshotHz() : tick.snapshotHz();
+        long expectedFrameNanos = tick.sendInterval(snapshotHz) * TimeUnit.SECONDS.toNanos(1) / tick.simulationHz();
+        return new LoadTestRunner(properties, expectedFrameNanos, environment, context);
+    }
+}
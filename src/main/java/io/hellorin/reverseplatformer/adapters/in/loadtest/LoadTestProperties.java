@@ -0,0 +1,43 @@
+package io.hellorin.reverseplatformer.adapters.in.loadtest;
+
+import io.hellorin.reverseplatformer.adapters.in.websocket.protocol.BinaryFrameCodec;
+import io.hellorin.reverseplatformer.adapters.in.websocket.protocol.JsonFrameCodec;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @param connections     concurrent connections, each played by its own virtual thread
+ * @param rampUpSeconds   time over which connections are opened; nothing is measured before it ends
+ * @param durationSeconds measured time after the ramp-up
+ * @param protocol        {@code binary} or {@code json}
+ * @param snapshotHz      frames per second asked from the server; {@code 0} for its default
+ * @param trapsPerSecond  trap placements per connection and second while a game runs
+ * @param gameOverPauseMs wait after a game ends before sending NEXT_LEVEL (won) or RESTART (lost)
+ * @param url             server to connect to; empty for the {@code /game} endpoint of this process
+ * @param reportFile      where to write the report besides the log; empty for the log only
+ */
+@ConfigurationProperties(prefix = "saboteur.loadtest")
+public record LoadTestProperties(@DefaultValue("1000") int connections,
+                                 @DefaultValue("10") int rampUpSeconds,
+                                 @DefaultValue("60") int durationSeconds,
+                                 @DefaultValue("binary") String protocol,
+                                 @DefaultValue("0") int snapshotHz,
+                                 @DefaultValue("0.5") double trapsPerSecond,
+                                 @DefaultValue("500") long gameOverPauseMs,
+                                 @DefaultValue("") String url,
+                                 @DefaultValue("") String reportFile) {
+
+    public boolean binary() {
+        return !"json".equalsIgnoreCase(protocol);
+    }
+
+    public String subProtocol() {
+        return binary() ? BinaryFrameCodec.SUB_PROTOCOL : JsonFrameCodec.SUB_PROTOCOL;
+    }
+
+    public long trapIntervalNanos() {
+        return trapsPerSecond > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) / trapsPerSecond) : Long.MAX_VALUE;
+    }
+}
@@ -0,0 +1,165 @@
+package io.hellorin.reverseplatformer.adapters.in.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs one load test against the server started in this process (or the configured
+ * {@code url}), reports it and shuts the application down, for the {@code loadtest} profile.
+ */
+public class LoadTestRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadTestRunner.class);
+    private static final int CONNECTIONS_PER_HTTP_CLIENT = 500;
+    private static final long SAMPLE_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final double[] PERCENTILES = {0.50, 0.90, 0.99, 0.999};
+    private static final String[] PERCENTILE_LABELS = {"p50", "p90", "p99", "p99.9"};
+    private static final double NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final double BYTES_PER_MB = 1024 * 1024;
+
+    private final LoadTestProperties properties;
+    private final long expectedFrameNanos;
+    private final Environment environment;
+    private final ConfigurableApplicationContext context;
+
+    public LoadTestRunner(LoadTestProperties properties, long expectedFrameNanos, Environment environment,
+                          ConfigurableApplicationContext context) {
+        this.properties = properties;
+        this.expectedFrameNanos = expectedFrameNanos;
+        this.environment = environment;
+        this.context = context;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException, InterruptedException {
+        URI uri = target();
+        LoadStats stats = new LoadStats();
+        ResourceSampler sampler = new ResourceSampler();
+        ObjectMapper objectMapper = new ObjectMapper();
+        log.info("Opening {} {} connections to {} over {} s, then measuring for {} s", properties.connections(),
+                properties.protocol(), uri, properties.rampUpSeconds(), properties.durationSeconds());
+
+        long started = System.nanoTime();
+        long measureFrom = started + TimeUnit.SECONDS.toNanos(properties.rampUpSeconds());
+        long deadline = measureFrom + TimeUnit.SECONDS.toNanos(properties.durationSeconds());
+        HttpClient[] httpClients = new HttpClient[Math.ceilDiv(Math.max(1, properties.connections()),
+                CONNECTIONS_PER_HTTP_CLIENT)];
+
+        try (ExecutorService network = Executors.newVirtualThreadPerTaskExecutor();
+             ExecutorService players = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < httpClients.length; i++) {
+                httpClients[i] = HttpClient.newBuilder().executor(network).build();
+            }
+            for (int i = 0; i < properties.connections(); i++) {
+                long startAt = started + (measureFrom - started) * i / properties.connections();
+                LoadClient client = new LoadClient(properties, stats, objectMapper, expectedFrameNanos, i);
+                HttpClient http = httpClients[i % httpClients.length];
+                players.execute(() -> {
+                    try {
+                        sleepUntil(startAt);
+                        client.play(http, uri, deadline);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            }
+
+            sleepUntil(measureFrom);
+            stats.startMeasuring();
+            sampler.start();
+            while (System.nanoTime() < deadline) {
+                sleepUntil(Math.min(deadline, System.nanoTime() + SAMPLE_INTERVAL_NANOS));
+                sampler.sample();
+            }
+            sampler.stop();
+
+            players.close();
+            for (HttpClient http : httpClients) {
+                http.shutdownNow();
+            }
+        }
+
+        String report = report(stats, sampler);
+        log.info("Load test report{}{}", System.lineSeparator(), report);
+        if (!properties.reportFile().isBlank()) {
+            Files.writeString(Path.of(properties.reportFile()), report);
+        }
+        context.close();
+    }
+
+    private URI target() {
+        if (!properties.url().isBlank()) {
+            return URI.create(properties.url());
+        }
+        String uri = "ws://localhost:" + environment.getProperty("local.server.port", "9000") + "/game";
+        return URI.create(properties.snapshotHz() > 0 ? uri + "?snapshotHz=" + properties.snapshotHz() : uri);
+    }
+
+    private static void sleepUntil(long nanoTime) throws InterruptedException {
+        long remaining = nanoTime - System.nanoTime();
+        if (remaining > 0) {
+            TimeUnit.NANOSECONDS.sleep(remaining);
+        }
+    }
+
+    String report(LoadStats stats, ResourceSampler sampler) {
+        double seconds = properties.durationSeconds();
+        StringBuilder report = new StringBuilder();
+        report.append(String.format(Locale.ROOT,
+                "%d %s connections: %d opened, %d failed, %d dropped; %d s ramp-up, %d s measured%n",
+                properties.connections(), properties.protocol(), stats.opened.sum(), stats.failed.sum(),
+                stats.dropped.sum(), properties.rampUpSeconds(), properties.durationSeconds()));
+        report.append(String.format(Locale.ROOT,
+                "frames: %d (%.0f/s), %.1f MB; games started %d; traps placed %d of %d sent, %d lost%n",
+                stats.frames.sum(), stats.frames.sum() / seconds, stats.bytes.sum() / BYTES_PER_MB,
+                stats.gamesStarted.sum(), stats.trapNanos.count(), stats.trapsSent.sum(), stats.trapsLost.sum()));
+
+        report.append(String.format(Locale.ROOT, "%-24s", ""));
+        for (String label : PERCENTILE_LABELS) {
+            report.append(String.format(Locale.ROOT, "%10s", label));
+        }
+        report.append(String.format(Locale.ROOT, "%10s%10s%n", "max", "mean"));
+        appendRow(report, "frame gap (ms)", stats.frameGapNanos, NANOS_PER_MILLI);
+        appendRow(report, "frame jitter (ms)", stats.jitterNanos, NANOS_PER_MILLI);
+        appendRow(report, "new game (ms)", stats.gameCommandNanos, NANOS_PER_MILLI);
+        appendRow(report, "trap placed (ms)", stats.trapNanos, NANOS_PER_MILLI);
+        appendRow(report, "keyframe size (bytes)", stats.keyframeBytes, 1);
+        appendRow(report, "delta size (bytes)", stats.deltaBytes, 1);
+        appendRow(report, "heap used (MB)", sampler.heapUsedBytes, BYTES_PER_MB);
+
+        double serverCores = sampler.serverCores();
+        report.append(String.format(Locale.ROOT,
+                "cpu: process %.2f cores, load generator %.2f, server %.2f; %.0f connections per server core%n",
+                sampler.processCores(), sampler.generatorCores(), serverCores,
+                serverCores > 0 ? (stats.opened.sum() - stats.dropped.sum()) / serverCores : 0));
+        report.append(String.format(Locale.ROOT, "gc: %d collections, %d ms%n", sampler.gcCount(), sampler.gcMillis()));
+        return report.toString();
+    }
+
+    private static void appendRow(StringBuilder report, String name, Histogram histogram, double unit) {
+        report.append(String.format(Locale.ROOT, "%-24s", name));
+        if (histogram.count() == 0) {
+            report.append(String.format(Locale.ROOT, "%10s%n", "-"));
+            return;
+        }
+        for (double fraction : PERCENTILES) {
+            report.append(String.format(Locale.ROOT, "%10.1f", histogram.valueAt(fraction) / unit));
+        }
+        report.append(String.format(Locale.ROOT, "%10.1f%10.1f%n", histogram.max() / unit, histogram.mean() / unit));
+    }
+}
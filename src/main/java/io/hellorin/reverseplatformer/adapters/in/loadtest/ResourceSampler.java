@@ -0,0 +1,120 @@
+package io.hellorin.reverseplatformer.adapters.in.loadtest;
+
+import com.sun.management.OperatingSystemMXBean;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Samples this process while a load test is measured: CPU time of the whole process and
+ * of the load generator's own threads (the HTTP clients and the carriers of the virtual
+ * threads), so the server's share is the difference, plus used heap and GC activity.
+ */
+final class ResourceSampler {
+
+    private static final String[] GENERATOR_THREADS = {"HttpClient-", "ForkJoinPool-"};
+
+    private final OperatingSystemMXBean os = (OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+    final Histogram heapUsedBytes = new Histogram();
+
+    private long startedAt;
+    private long startProcessCpu;
+    private long startGeneratorCpu;
+    private long startGcCount;
+    private long startGcMillis;
+
+    private long elapsedNanos;
+    private long processCpuNanos;
+    private long generatorCpuNanos;
+    private long gcCount;
+    private long gcMillis;
+
+    void start() {
+        startedAt = System.nanoTime();
+        startProcessCpu = os.getProcessCpuTime();
+        startGeneratorCpu = generatorCpuTime();
+        startGcCount = totalGcCount();
+        startGcMillis = totalGcMillis();
+        sample();
+    }
+
+    void sample() {
+        heapUsedBytes.record(memory.getHeapMemoryUsage().getUsed());
+    }
+
+    void stop() {
+        sample();
+        elapsedNanos = System.nanoTime() - startedAt;
+        processCpuNanos = os.getProcessCpuTime() - startProcessCpu;
+        generatorCpuNanos = generatorCpuTime() - startGeneratorCpu;
+        gcCount = totalGcCount() - startGcCount;
+        gcMillis = totalGcMillis() - startGcMillis;
+    }
+
+    /**
+     * CPU time of the load generator's live threads. Threads that ended in between are
+     * lost, which is fine for the long-lived pools it runs on.
+     */
+    private long generatorCpuTime() {
+        long total = 0;
+        for (ThreadInfo info : threads.getThreadInfo(threads.getAllThreadIds())) {
+            if (info == null || !isGeneratorThread(info.getThreadName())) continue;
+            long cpu = threads.getThreadCpuTime(info.getThreadId());
+            if (cpu > 0) total += cpu;
+        }
+        return total;
+    }
+
+    private static boolean isGeneratorThread(String name) {
+        for (String prefix : GENERATOR_THREADS) {
+            if (name.startsWith(prefix)) return true;
+        }
+        return false;
+    }
+
+    private static long totalGcCount() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(0, gc.getCollectionCount());
+        }
+        return total;
+    }
+
+    private static long totalGcMillis() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(0, gc.getCollectionTime());
+        }
+        return total;
+    }
+
+    double processCores() {
+        return cores(processCpuNanos);
+    }
+
+    double generatorCores() {
+        return cores(generatorCpuNanos);
+    }
+
+    double serverCores() {
+        return cores(Math.max(0, processCpuNanos - generatorCpuNanos));
+    }
+
+    private double cores(long cpuNanos) {
+        return elapsedNanos == 0 ? 0 : (double) cpuNanos / elapsedNanos;
+    }
+
+    long gcCount() {
+        return gcCount;
+    }
+
+    long gcMillis() {
+        return gcMillis;
+    }
+}
@@ -0,0 +1,122 @@
+package io.hellorin.reverseplatformer.adapters.in.websocket;
+
+import io.hellorin.reverseplatformer.adapters.in.websocket.protocol.FrameContent;
+import io.hellorin.reverseplatformer.domain.model.GameState;
+import io.hellorin.reverseplatformer.domain.model.Runner;
+
+/**
+ * Turns successive game states of one session into a stream of frames: a keyframe
+ * whenever a new game is created (START, RESTART, NEXT_LEVEL) or every
+ * {@link #KEYFRAME_INTERVAL} frames, and a delta carrying only the fields that changed
+ * otherwise. Only decides what goes into the frame; the codec writes it.
+ */
+class DeltaFrameEncoder {
+
+    static final int KEYFRAME_INTERVAL = 120;
+
+    private final FrameContent content = new FrameContent();
+    private GameState lastState;
+    private int framesSinceKeyframe;
+
+    private GameState.Status lastStatus;
+    private int lastPoints;
+    private double lastElapsedTime;
+    private double lastRunnerX;
+    private double lastRunnerY;
+    private boolean lastRunnerAlive;
+    private int sentTraps;
+    private int sentTrapsVersion;
+    private int sentPlatformsVersion;
+    private boolean[] lastPlatformActive = new boolean[0];
+
+    /**
+     * Describes the frame to send for the given state, or returns {@code null} when
+     * nothing changed since the previous frame. The returned content is reused by the
+     * next call.
+     */
+    FrameContent encode(GameState state, long tick, long serverTime) {
+        if (isNewGame(state) || framesSinceKeyframe >= KEYFRAME_INTERVAL) {
+            return keyframe(state, tick, serverTime);
+        }
+        framesSinceKeyframe++;
+        delta(state, tick, serverTime);
+        return content.isEmpty() ? null : content;
+    }
+
+    boolean isNewGame(GameState state) {
+        return state != lastState;
+    }
+
+    FrameContent keyframe(GameState state, long tick, long serverTime) {
+        lastState = state;
+        framesSinceKeyframe = 0;
+
+        lastStatus = state.getStatus();
+        lastPoints = state.getPlayerPoints();
+        lastElapsedTime = state.getElapsedTime();
+        Runner runner = state.getRunner();
+        lastRunnerX = runner.getX();
+        lastRunnerY = runner.getY();
+        lastRunnerAlive = runner.isAlive();
+        sentTraps = state.getTraps().size();
+        sentTrapsVersion = state.getTrapsVersion();
+        sentPlatformsVersion = state.getPlatformsVersion();
+
+        int platformCount = state.getLevel().getPlatforms().size();
+        if (lastPlatformActive.length != platformCount) {
+            lastPlatformActive = new boolean[platformCount];
+        }
+        for (int i = 0; i < platformCount; i++) {
+            lastPlatformActive[i] = state.isPlatformActive(i);
+        }
+
+        content.startKeyframe(tick, serverTime);
+        return content;
+    }
+
+    private void delta(GameState state, long tick, long serverTime) {
+        content.startDelta(tick, serverTime);
+
+        if (state.getStatus() != lastStatus) {
+            lastStatus = state.getStatus();
+            content.add(FrameContent.STATUS);
+        }
+
+        if (state.getPlayerPoints() != lastPoints) {
+            lastPoints = state.getPlayerPoints();
+            content.add(FrameContent.POINTS);
+        }
+
+        if (state.getElapsedTime() != lastElapsedTime) {
+            lastElapsedTime = state.getElapsedTime();
+            content.add(FrameContent.ELAPSED_TIME);
+        }
+
+        Runner runner = state.getRunner();
+        double x = runner.getX();
+        double y = runner.getY();
+        if (x != lastRunnerX || y != lastRunnerY || runner.isAlive() != lastRunnerAlive) {
+            lastRunnerX = x;
+            lastRunnerY = y;
+            lastRunnerAlive = runner.isAlive();
+            content.add(FrameContent.RUNNER);
+        }
+
+        if (state.getTrapsVersion() != sentTrapsVersion) {
+            sentTrapsVersion = state.getTrapsVersion();
+            content.addTrapsFrom(sentTraps);
+            sentTraps = state.getTraps().size();
+        }
+
+        if (state.getPlatformsVersion() == sentPlatformsVersion) return;
+
+        sentPlatformsVersion = state.getPlatformsVersion();
+        for (int i = 0; i < lastPlatformActive.length; i++) {
+            boolean active = state.isPlatformActive(i);
+            if (active != lastPlatformActive[i]) {
+                lastPlatformActive[i] = active;
+                content.addPlatformChange(i);
+            }
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package io.hellorin.reverseplatformer.adapters.in.websocket;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * @param engine how runners are simulated: {@code object} steps each session's runner on its
+ *               own, {@code batch} keeps all runners of a shard in primitive arrays stepped together
+ */
+@ConfigurationProperties(prefix = "saboteur")
+public record GameServerProperties(@DefaultValue Tick tick,
+                                   @DefaultValue Outbound outbound,
+                                   @DefaultValue Heartbeat heartbeat,
+                                   @DefaultValue("object") Engine engine,
+                                   @DefaultValue Ai ai,
+                                   @DefaultValue Computer computer) {
+
+    public enum Engine {
+        OBJECT, BATCH
+    }
+
+    /**
+     * @param shards          number of tick threads; {@code 0} means one per available core
+     * @param simulationHz    simulation steps per second
+     * @param snapshotHz      default state frames sent per second, overridable per connection
+     *                        with the {@code snapshotHz} query parameter
+     * @param maxCatchUpSteps most steps a late shard runs in one wakeup before dropping time
+     */
+    public record Tick(@DefaultValue("0") int shards,
+                       @DefaultValue("60") int simulationHz,
+                       @DefaultValue("20") int snapshotHz,
+                       @DefaultValue("5") int maxCatchUpSteps) {
+
+        public int effectiveShards() {
+            return shards > 0 ? shards : Runtime.getRuntime().availableProcessors();
+        }
+
+        /**
+         * Number of simulation ticks between two frames sent at the requested rate.
+         */
+        public int sendInterval(int requestedSnapshotHz) {
+            int hz = Math.clamp(requestedSnapshotHz, 1, simulationHz);
+            return Math.max(1, Math.round(simulationHz / (float) hz));
+        }
+    }
+
+    /**
+     * @param sendTimeLimitMs    longest a single send may block before the client is dropped
+     * @param maxCoalescedFrames frames in a row that may be replaced unsent before the client is dropped
+     * @param bufferSizeLimit    bytes of undelivered control messages before the client is dropped
+     */
+    public record Outbound(@DefaultValue("2000") long sendTimeLimitMs,
+                           @DefaultValue("120") int maxCoalescedFrames,
+                           @DefaultValue("65536") long bufferSizeLimit) {
+    }
+
+    /**
+     * @param plannerBudgetNanos CPU time the runner may spend looking ahead per decision;
+     *                           {@code 0} leaves it to the heuristics alone
+     * @param maxRollouts        most candidate plans played forward per decision
+     * @param deterministic      always play all {@code maxRollouts} plans, ignoring the budget, so
+     *                           that replaying a game's commands reproduces it exactly; replays
+     *                           are only recorded with it or with no budget
+     */
+    public record Ai(@DefaultValue("50000") long plannerBudgetNanos,
+                     @DefaultValue("6") int maxRollouts,
+                     @DefaultValue("false") boolean deterministic) {
+    }
+
+    /**
+     * @param always                  give every session a computer saboteur, e.g. to generate load;
+     *                                otherwise only connections asking with {@code opponent=computer} get one
+     * @param threads                 threads shared by all computer saboteurs; {@code 0} means a quarter of the cores
+     * @param queueCapacity           rollout tasks that may wait for a thread before decisions are skipped
+     * @param parallelism             rollout tasks per decision
+     * @param rolloutsPerDecision     most placements tried per decision
+     * @param budgetNanos             wall-clock time a decision may take
+     * @param horizonSeconds          how far each placement is played forward
+     * @param decisionIntervalSeconds simulated time between decisions
+     */
+    public record Computer(@DefaultValue("false") boolean always,
+                           @DefaultValue("0") int threads,
+                           @DefaultValue("256") int queueCapacity,
+                           @DefaultValue("2") int parallelism,
+                           @DefaultValue("24") int rolloutsPerDecision,
+                           @DefaultValue("2000000") long budgetNanos,
+                           @DefaultValue("3.0") double horizonSeconds,
+                           @DefaultValue("1.0") double decisionIntervalSeconds) {
+
+        public int effectiveThreads() {
+            return threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 4);
+        }
+    }
+
+    /**
+     * @param pingIntervalMs how often each connection is pinged
+     * @param idleTimeoutMs  how long a connection may stay silent (no pong, no command) before it is closed
+     */
+    public record Heartbeat(@DefaultValue("10000") long pingIntervalMs,
+                            @DefaultValue("30000") long idleTimeoutMs) {
+    }
+}
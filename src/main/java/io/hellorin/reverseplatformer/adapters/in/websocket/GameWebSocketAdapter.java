@@ -1,138 +1,228 @@
 package io.hellorin.reverseplatformer.adapters.in.websocket;
 
-import io.hellorin.reverseplatformer.adapters.in.websocket.dto.GameStateDto;
+import io.hellorin.reverseplatformer.adapters.in.websocket.metrics.GameServerMetrics;
+import io.hellorin.reverseplatformer.adapters.in.websocket.outbound.OutboundChannel;
+import io.hellorin.reverseplatformer.adapters.in.websocket.protocol.BinaryFrameCodec;
+import io.hellorin.reverseplatformer.adapters.in.websocket.protocol.FrameCodec;
+import io.hellorin.reverseplatformer.adapters.in.websocket.protocol.JsonFrameCodec;
+import io.hellorin.reverseplatformer.adapters.in.websocket.tick.TickEngine;
+import io.hellorin.reverseplatformer.application.ComputerSaboteur;
 import io.hellorin.reverseplatformer.application.GameSession;
+import io.hellorin.reverseplatformer.application.ports.in.GameCommand;
 import io.hellorin.reverseplatformer.application.ports.in.GameUseCase;
 import io.hellorin.reverseplatformer.application.ports.in.LevelUseCase;
 import io.hellorin.reverseplatformer.application.ports.in.TrapUseCase;
+import io.hellorin.reverseplatformer.application.ports.out.ReplayRecorder;
+import io.hellorin.reverseplatformer.application.service.BatchGameService;
 import io.hellorin.reverseplatformer.application.service.GameService;
 import io.hellorin.reverseplatformer.application.service.LevelService;
 import io.hellorin.reverseplatformer.application.service.TrapService;
-import io.hellorin.reverseplatformer.domain.model.TrapType;
+import io.hellorin.reverseplatformer.domain.model.Level;
 import io.hellorin.reverseplatformer.domain.service.PhysicsService;
+import io.hellorin.reverseplatformer.domain.service.RolloutPlanner;
 import io.hellorin.reverseplatformer.domain.service.RunnerAIService;
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.socket.BinaryMessage;
 import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.PongMessage;
+import org.springframework.web.socket.SubProtocolCapable;
 import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
 import org.springframework.web.socket.WebSocketSession;
-import org.springframework.web.socket.handler.TextWebSocketHandler;
+import org.springframework.web.socket.handler.AbstractWebSocketHandler;
+import org.springframework.web.util.UriComponentsBuilder;
 
-import java.io.IOException;
-import java.util.concurrent.*;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 
-public class GameWebSocketAdapter extends TextWebSocketHandler {
+public class GameWebSocketAdapter extends AbstractWebSocketHandler implements SubProtocolCapable {
 
-    private static final long TICK_RATE_MS = 16;
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private static final Logger log = LoggerFactory.getLogger(GameWebSocketAdapter.class);
+    private static final long LAG_WARN_MS = 250;
+
+    private final JsonFrameCodec jsonCodec = new JsonFrameCodec(new ObjectMapper());
+    private final BinaryFrameCodec binaryCodec = new BinaryFrameCodec();
     private final ConcurrentHashMap<String, PlayerSession> sessions = new ConcurrentHashMap<>();
-    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(1);
+    private final TickEngine tickEngine;
+    private final GameServerProperties.Tick tickProperties;
+    private final GameServerProperties.Outbound outboundProperties;
+    private final GameServerProperties.Heartbeat heartbeatProperties;
+    private final GameServerProperties.Engine engine;
+    private final GameServerProperties.Ai aiProperties;
+    private final GameServerProperties.Computer computerProperties;
+    private final ReplayRecorder replayRecorder;
+    private final Executor computerSaboteurExecutor;
+    private final GameServerMetrics metrics;
+
+    public GameWebSocketAdapter(TickEngine tickEngine, GameServerProperties properties) {
+        this(tickEngine, properties, ReplayRecorder.DISABLED, Runnable::run, GameServerMetrics.DISABLED);
+    }
+
+    public GameWebSocketAdapter(TickEngine tickEngine, GameServerProperties properties, ReplayRecorder replayRecorder,
+                                Executor computerSaboteurExecutor, GameServerMetrics metrics) {
+        this.tickEngine = tickEngine;
+        this.metrics = metrics;
+        this.computerSaboteurExecutor = computerSaboteurExecutor;
+        this.computerProperties = properties.computer();
+        this.tickProperties = properties.tick();
+        this.outboundProperties = properties.outbound();
+        this.heartbeatProperties = properties.heartbeat();
+        this.engine = properties.engine();
+        this.aiProperties = properties.ai();
+        // A budgeted planner decides by wall-clock time, so its games could not be replayed.
+        if (replayRecorder != ReplayRecorder.DISABLED && budgetedPlanner()) {
+            log.error("Replays are NOT recorded: the runner plans within {} ns, so its games cannot be replayed. "
+                    + "Set saboteur.ai.deterministic=true (or saboteur.ai.planner-budget-nanos=0) to record them",
+                    aiProperties.plannerBudgetNanos());
+            this.replayRecorder = ReplayRecorder.DISABLED;
+        } else {
+            this.replayRecorder = replayRecorder;
+        }
+        preloadLevelPayloads();
+    }
+
+    private boolean budgetedPlanner() {
+        return !aiProperties.deterministic() && aiProperties.plannerBudgetNanos() > 0;
+    }
+
+    private void preloadLevelPayloads() {
+        for (int levelNumber = 1; levelNumber <= GameSession.MAX_LEVEL; levelNumber++) {
+            Level level = Level.createLevel(levelNumber);
+            jsonCodec.levelMessage(level);
+            binaryCodec.levelMessage(level);
+        }
+    }
 
     @Override
     public void afterConnectionEstablished(WebSocketSession session) {
         PlayerSession playerSession = createPlayerSession(session);
         sessions.put(session.getId(), playerSession);
+        tickEngine.register(playerSession);
+    }
+
+    @Override
+    public List<String> getSubProtocols() {
+        return List.of(binaryCodec.subProtocol(), jsonCodec.subProtocol());
+    }
+
+    private FrameCodec negotiateCodec(WebSocketSession session) {
+        return binaryCodec.subProtocol().equals(session.getAcceptedProtocol()) ? binaryCodec : jsonCodec;
+    }
+
+    private static String queryParameter(WebSocketSession session, String name) {
+        if (session.getUri() == null) return null;
+        return UriComponentsBuilder.fromUri(session.getUri()).build().getQueryParams().getFirst(name);
+    }
 
-        ScheduledFuture<?> gameLoop = scheduler.scheduleAtFixedRate(
-                () -> gameLoop(session.getId()),
-                0,
-                TICK_RATE_MS,
-                TimeUnit.MILLISECONDS
-        );
-        playerSession.setGameLoop(gameLoop);
+    private int snapshotHz(WebSocketSession session) {
+        String requested = queryParameter(session, "snapshotHz");
+        try {
+            return requested != null ? Integer.parseInt(requested) : tickProperties.snapshotHz();
+        } catch (NumberFormatException e) {
+            return tickProperties.snapshotHz();
+        }
     }
 
     private PlayerSession createPlayerSession(WebSocketSession webSocketSession) {
         GameSession gameSession = new GameSession();
 
         PhysicsService physicsService = new PhysicsService();
-        RunnerAIService runnerAIService = new RunnerAIService();
+        double stepSeconds = 1.0 / tickProperties.simulationHz();
+        int plannerRollouts = plannerRollouts();
+        RunnerAIService runnerAIService = runnerAIService(stepSeconds);
 
-        GameUseCase gameUseCase = new GameService(gameSession, physicsService, runnerAIService);
+        GameUseCase gameUseCase = engine == GameServerProperties.Engine.BATCH
+                ? new BatchGameService(gameSession, physicsService, runnerAIService, metrics)
+                : new GameService(gameSession, physicsService, runnerAIService, metrics);
         LevelUseCase levelUseCase = new LevelService(gameSession);
         TrapUseCase trapUseCase = new TrapService(gameSession);
 
-        return new PlayerSession(webSocketSession, gameUseCase, levelUseCase, trapUseCase);
-    }
+        OutboundChannel outbound = new OutboundChannel(webSocketSession,
+                outboundProperties.sendTimeLimitMs(), outboundProperties.maxCoalescedFrames(),
+                outboundProperties.bufferSizeLimit(), metrics);
 
-    @Override
-    protected void handleTextMessage(WebSocketSession session, TextMessage message) throws Exception {
-        PlayerSession playerSession = sessions.get(session.getId());
-        if (playerSession == null) return;
+        int sendInterval = tickProperties.sendInterval(snapshotHz(webSocketSession));
 
-        JsonNode json = objectMapper.readTree(message.getPayload());
-        String type = json.get("type").asText();
-
-        switch (type) {
-            case "START" -> playerSession.gameUseCase().startGame();
-            case "RESTART" -> playerSession.levelUseCase().restartLevel();
-            case "NEXT_LEVEL" -> playerSession.levelUseCase().nextLevel();
-            case "PLACE_TRAP" -> {
-                String trapType = json.get("trapType").asText();
-                double x = json.get("x").asDouble();
-                double y = json.get("y").asDouble();
-                playerSession.trapUseCase().placeTrap(TrapType.valueOf(trapType), x, y);
-            }
-        }
-    }
+        ReplayRecorder.Recording recording = replayRecorder.start(webSocketSession.getId(),
+                new ReplayRecorder.Setup(stepSeconds, engine == GameServerProperties.Engine.BATCH, plannerRollouts,
+                        plannerRollouts > 0 && budgetedPlanner()));
 
-    private void gameLoop(String sessionId) {
-        PlayerSession playerSession = sessions.get(sessionId);
-        if (playerSession == null) return;
+        return new PlayerSession(webSocketSession, negotiateCodec(webSocketSession), outbound, sendInterval,
+                heartbeatProperties, gameUseCase, levelUseCase, trapUseCase, recording,
+                computerSaboteur(webSocketSession, stepSeconds), metrics);
+    }
 
-        WebSocketSession session = playerSession.webSocketSession();
+    private int plannerRollouts() {
+        return aiProperties.deterministic() || aiProperties.plannerBudgetNanos() > 0 ? aiProperties.maxRollouts() : 0;
+    }
 
-        if (!session.isOpen()) {
-            cleanup(sessionId);
-            return;
+    private RunnerAIService runnerAIService(double stepSeconds) {
+        int plannerRollouts = plannerRollouts();
+        if (plannerRollouts == 0) {
+            return new RunnerAIService();
+        } else if (budgetedPlanner()) {
+            return new RunnerAIService(new RolloutPlanner(aiProperties.plannerBudgetNanos(), plannerRollouts,
+                    stepSeconds));
+        } else {
+            return new RunnerAIService(RolloutPlanner.deterministic(plannerRollouts, stepSeconds));
         }
+    }
 
-        double deltaTime = TICK_RATE_MS / 1000.0;
-        playerSession.gameUseCase().update(deltaTime);
-
-        if (playerSession.gameUseCase().getGameState() != null) {
-            try {
-                GameStateDto dto = GameStateDto.fromDomain(playerSession.gameUseCase().getGameState());
-                String json = objectMapper.writeValueAsString(dto);
-                session.sendMessage(new TextMessage(json));
-            } catch (IOException e) {
-                // Session might be closed
-            }
+    private ComputerSaboteur computerSaboteur(WebSocketSession webSocketSession, double stepSeconds) {
+        if (!computerProperties.always() && !"computer".equals(queryParameter(webSocketSession, "opponent"))) {
+            return null;
         }
+        ComputerSaboteur.Settings settings = new ComputerSaboteur.Settings(computerProperties.parallelism(),
+                computerProperties.rolloutsPerDecision(), computerProperties.budgetNanos(),
+                computerProperties.horizonSeconds(),
+                Math.max(1, (int) Math.round(computerProperties.decisionIntervalSeconds() / stepSeconds)));
+        return new ComputerSaboteur(computerSaboteurExecutor, settings, stepSeconds, webSocketSession.getId().hashCode(),
+                () -> runnerAIService(stepSeconds));
     }
 
     @Override
-    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
-        cleanup(session.getId());
+    protected void handleTextMessage(WebSocketSession session, TextMessage message) throws Exception {
+        handleCommand(session, message);
+    }
+
+    @Override
+    protected void handleBinaryMessage(WebSocketSession session, BinaryMessage message) throws Exception {
+        handleCommand(session, message);
     }
 
-    private void cleanup(String sessionId) {
-        PlayerSession playerSession = sessions.remove(sessionId);
-        if (playerSession != null && playerSession.gameLoop() != null) {
-            playerSession.gameLoop().cancel(true);
+    @Override
+    protected void handlePongMessage(WebSocketSession session, PongMessage message) {
+        PlayerSession playerSession = sessions.get(session.getId());
+        if (playerSession != null) {
+            playerSession.markSeen();
         }
     }
 
-    private static class PlayerSession {
-        private final WebSocketSession webSocketSession;
-        private final GameUseCase gameUseCase;
-        private final LevelUseCase levelUseCase;
-        private final TrapUseCase trapUseCase;
-        private ScheduledFuture<?> gameLoop;
+    private void handleCommand(WebSocketSession session, WebSocketMessage<?> message) {
+        PlayerSession playerSession = sessions.get(session.getId());
+        if (playerSession == null) return;
 
-        public PlayerSession(WebSocketSession webSocketSession, GameUseCase gameUseCase,
-                            LevelUseCase levelUseCase, TrapUseCase trapUseCase) {
-            this.webSocketSession = webSocketSession;
-            this.gameUseCase = gameUseCase;
-            this.levelUseCase = levelUseCase;
-            this.trapUseCase = trapUseCase;
+        GameCommand command = playerSession.codec().decode(message);
+        if (command != null) {
+            metrics.commandReceived(command);
+            playerSession.submit(command);
         }
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        PlayerSession playerSession = sessions.remove(session.getId());
+        if (playerSession != null) {
+            playerSession.close();
 
-        public WebSocketSession webSocketSession() { return webSocketSession; }
-        public GameUseCase gameUseCase() { return gameUseCase; }
-        public LevelUseCase levelUseCase() { return levelUseCase; }
-        public TrapUseCase trapUseCase() { return trapUseCase; }
-        public ScheduledFuture<?> gameLoop() { return gameLoop; }
-        public void setGameLoop(ScheduledFuture<?> gameLoop) { this.gameLoop = gameLoop; }
+            long lagMs = TimeUnit.NANOSECONDS.toMillis(playerSession.lagNanos(System.nanoTime()));
+            if (lagMs > LAG_WARN_MS) {
+                log.warn("Session {} ended {} ms behind real time", session.getId(), lagMs);
+            }
+        }
     }
 }
@@ -0,0 +1,278 @@
+package io.hellorin.reverseplatformer.adapters.in.websocket;
+
+import io.hellorin.reverseplatformer.adapters.in.websocket.metrics.GameServerMetrics;
+import io.hellorin.reverseplatformer.adapters.in.websocket.outbound.OutboundChannel;
+import io.hellorin.reverseplatformer.adapters.in.websocket.protocol.FrameBuffer;
+import io.hellorin.reverseplatformer.adapters.in.websocket.protocol.FrameCodec;
+import io.hellorin.reverseplatformer.adapters.in.websocket.protocol.FrameContent;
+import io.hellorin.reverseplatformer.adapters.in.websocket.tick.Tickable;
+import io.hellorin.reverseplatformer.application.ComputerSaboteur;
+import io.hellorin.reverseplatformer.application.GameSimulation;
+import io.hellorin.reverseplatformer.application.ports.in.GameCommand;
+import io.hellorin.reverseplatformer.application.ports.in.GameUseCase;
+import io.hellorin.reverseplatformer.application.ports.in.LevelUseCase;
+import io.hellorin.reverseplatformer.application.ports.in.TrapUseCase;
+import io.hellorin.reverseplatformer.application.ports.out.ReplayRecorder;
+import io.hellorin.reverseplatformer.domain.model.GameState;
+import io.hellorin.reverseplatformer.domain.model.RunnerBatch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.PingMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One connected player, ticked by its shard. A session hibernates while there is nothing
+ * to simulate or send (no game yet, or a finished game whose last frame went out) and is
+ * woken by the next inbound command. Heartbeats keep running while hibernating so that
+ * silent connections are still reclaimed.
+ */
+class PlayerSession implements Tickable {
+
+    private static final Logger log = LoggerFactory.getLogger(PlayerSession.class);
+
+    // Sessions are only ever ticked on shard threads, so this is one scratch buffer per shard.
+    private static final ThreadLocal<FrameBuffer> SHARD_BUFFER = ThreadLocal.withInitial(FrameBuffer::new);
+    private static final ThreadLocal<RunnerBatch> SHARD_RUNNERS = ThreadLocal.withInitial(RunnerBatch::new);
+
+    private final WebSocketSession webSocketSession;
+    private final FrameCodec codec;
+    private final OutboundChannel outbound;
+    private final GameUseCase gameUseCase;
+    private final GameSimulation simulation;
+    private final ComputerSaboteur computerSaboteur;
+    private final GameServerMetrics metrics;
+    private final DeltaFrameEncoder frameEncoder = new DeltaFrameEncoder();
+    private final Queue<GameCommand> commands = new ConcurrentLinkedQueue<>();
+    private final int sendInterval;
+    private final long pingIntervalNanos;
+    private final long idleTimeoutNanos;
+    private int sentLevel;
+    private double simulatedSeconds;
+    private long activeNanosBefore;
+    private long activeSince;
+    private long nextPingAt;
+    private boolean hibernating = true;
+    private boolean prepared;
+    // Written by the owning shard on attach, read by the inbound threads in submit, so a
+    // command sent after a migration wakes the new shard rather than the old one.
+    private volatile Runnable wakeShard = () -> {};
+    private volatile long lastSeenNanos = System.nanoTime();
+    private volatile boolean closed;
+
+    PlayerSession(WebSocketSession webSocketSession, FrameCodec codec, OutboundChannel outbound, int sendInterval,
+                  GameServerProperties.Heartbeat heartbeat,
+                  GameUseCase gameUseCase, LevelUseCase levelUseCase, TrapUseCase trapUseCase) {
+        this(webSocketSession, codec, outbound, sendInterval, heartbeat, gameUseCase, levelUseCase, trapUseCase,
+                ReplayRecorder.Recording.DISABLED, null, GameServerMetrics.DISABLED);
+    }
+
+    /**
+     * @param computerSaboteur places traps alongside the player; {@code null} for none
+     */
+    PlayerSession(WebSocketSession webSocketSession, FrameCodec codec, OutboundChannel outbound, int sendInterval,
+                  GameServerProperties.Heartbeat heartbeat,
+                  GameUseCase gameUseCase, LevelUseCase levelUseCase, TrapUseCase trapUseCase,
+                  ReplayRecorder.Recording recording, ComputerSaboteur computerSaboteur, GameServerMetrics metrics) {
+        this.webSocketSession = webSocketSession;
+        this.codec = codec;
+        this.outbound = outbound;
+        this.sendInterval = sendInterval;
+        this.pingIntervalNanos = TimeUnit.MILLISECONDS.toNanos(heartbeat.pingIntervalMs());
+        this.idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(heartbeat.idleTimeoutMs());
+        this.nextPingAt = lastSeenNanos + pingIntervalNanos;
+        this.gameUseCase = gameUseCase;
+        // The shard integrates batched runners itself, ahead of all its sessions.
+        this.simulation = new GameSimulation(gameUseCase, levelUseCase, trapUseCase, recording, deltaTime -> {});
+        this.computerSaboteur = computerSaboteur;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Queues a command from the connection's inbound thread. It is applied by the owning
+     * tick thread at the start of its next tick, so all game state is only ever touched
+     * by that one thread.
+     */
+    void submit(GameCommand command) {
+        commands.add(command);
+        markSeen();
+        wakeShard.run();
+    }
+
+    /**
+     * Records that the client is still alive, e.g. on a pong.
+     */
+    void markSeen() {
+        lastSeenNanos = System.nanoTime();
+    }
+
+    @Override
+    public void attach(Runnable wakeShard) {
+        this.wakeShard = wakeShard;
+        gameUseCase.useRunnerBatch(SHARD_RUNNERS.get());
+    }
+
+    @Override
+    public void detach() {
+        gameUseCase.useRunnerBatch(null);
+    }
+
+    /**
+     * Integrates the runners of every batched session on the calling shard in one pass.
+     */
+    static void stepShardRunners(double deltaTime) {
+        SHARD_RUNNERS.get().stepAll(deltaTime);
+    }
+
+    /**
+     * {@link #stepShardRunners} timed as the shard's {@link GameServerMetrics.Phase#RUNNER_BATCH} phase.
+     */
+    static void stepShardRunners(double deltaTime, GameServerMetrics metrics) {
+        long phaseStart = metrics.start();
+        stepShardRunners(deltaTime);
+        metrics.lap(GameServerMetrics.Phase.RUNNER_BATCH, phaseStart);
+    }
+
+    @Override
+    public boolean isHibernating() {
+        return hibernating;
+    }
+
+    private void drainCommands() {
+        GameCommand command;
+        while ((command = commands.poll()) != null) {
+            simulation.execute(command);
+        }
+    }
+
+    /**
+     * Applies the tick's commands and lets the runner decide, ahead of the shard's runner
+     * batch integration, so that a batched runner sees this tick's traps like any other.
+     */
+    @Override
+    public void beforeTick(double deltaTime) {
+        if (prepared || closed) return;
+        if (hibernating) {
+            if (commands.isEmpty()) return;
+            hibernating = false;
+            activeSince = System.nanoTime();
+        }
+
+        long phaseStart = metrics.start();
+        drainCommands();
+        if (computerSaboteur != null) {
+            computerSaboteur.tick(simulation);
+        }
+        metrics.lap(GameServerMetrics.Phase.COMMANDS, phaseStart);
+        simulation.prepareStep(deltaTime);
+        prepared = true;
+    }
+
+    @Override
+    public boolean tick(double deltaTime) {
+        if (closed || outbound.isClosed() || !webSocketSession.isOpen()) {
+            outbound.close();
+            simulation.close();
+            return false;
+        }
+
+        long now = System.nanoTime();
+        if (outbound.isOverLimit(now)) {
+            log.info("Dropping session {}: client cannot keep up", webSocketSession.getId());
+            outbound.drop(CloseStatus.SESSION_NOT_RELIABLE);
+            simulation.close();
+            return false;
+        }
+
+        if (now - lastSeenNanos > idleTimeoutNanos) {
+            log.info("Dropping session {}: no heartbeat for {} ms", webSocketSession.getId(),
+                    TimeUnit.NANOSECONDS.toMillis(now - lastSeenNanos));
+            outbound.drop(CloseStatus.SESSION_NOT_RELIABLE);
+            simulation.close();
+            return false;
+        }
+
+        if (now - nextPingAt >= 0) {
+            outbound.sendControl(new PingMessage());
+            nextPingAt = now + pingIntervalNanos;
+        }
+
+        beforeTick(deltaTime);
+        if (!prepared) return true;
+        prepared = false;
+
+        simulation.step(deltaTime);
+        simulatedSeconds += deltaTime;
+
+        long tick = simulation.tick();
+        GameState gameState = simulation.getGameState();
+        if (gameState == null) {
+            hibernate(now);
+            return true;
+        }
+        boolean frameDue = tick % sendInterval == 0;
+        if (frameDue) {
+            metrics.lagged(lagNanos(now));
+        }
+        if (!frameDue && !frameEncoder.isNewGame(gameState)) return true;
+
+        long phaseStart = metrics.start();
+        long serverTime = System.currentTimeMillis();
+        FrameContent frame = frameEncoder.encode(gameState, tick, serverTime);
+        if (frame == null) {
+            // Nothing changed since the last frame and, outside RUNNING, nothing will
+            // until the client sends a command.
+            if (gameState.getStatus() != GameState.Status.RUNNING) {
+                hibernate(now);
+            }
+            return true;
+        }
+
+        // The writer still holds an unsent frame that this one will replace, so a delta
+        // against it would be lost: resync the client with a keyframe instead.
+        if (!frame.isKeyframe() && outbound.hasPending()) {
+            frame = frameEncoder.keyframe(gameState, tick, serverTime);
+        }
+
+        int level = gameState.getLevel().getLevelNumber();
+        if (frame.isKeyframe() && level != sentLevel) {
+            outbound.sendControl(codec.levelMessage(gameState.getLevel()));
+            sentLevel = level;
+        }
+        phaseStart = metrics.lap(GameServerMetrics.Phase.ENCODE, phaseStart);
+
+        FrameBuffer buffer = SHARD_BUFFER.get();
+        buffer.reset();
+        codec.write(gameState, frame, buffer);
+        phaseStart = metrics.lap(GameServerMetrics.Phase.SERIALIZE, phaseStart);
+        outbound.offer(codec.toMessage(buffer, outbound));
+        metrics.lap(GameServerMetrics.Phase.SEND, phaseStart);
+        return true;
+    }
+
+    private void hibernate(long now) {
+        hibernating = true;
+        activeNanosBefore += now - activeSince;
+    }
+
+    /**
+     * How far this session's simulated time trails the wall-clock time it spent awake.
+     */
+    long lagNanos(long nowNanos) {
+        long activeNanos = activeNanosBefore + (hibernating ? 0 : nowNanos - activeSince);
+        return activeNanos - (long) (simulatedSeconds * TimeUnit.SECONDS.toNanos(1));
+    }
+
+    void close() {
+        closed = true;
+        outbound.close();
+    }
+
+    FrameCodec codec() {
+        return codec;
+    }
+}
@@ -1,15 +1,37 @@
 package io.hellorin.reverseplatformer.adapters.in.websocket;
 
+import io.hellorin.reverseplatformer.adapters.in.websocket.metrics.GameServerMetrics;
+import io.hellorin.reverseplatformer.adapters.in.websocket.tick.TickEngine;
+import io.hellorin.reverseplatformer.application.ports.out.ReplayRecorder;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.socket.config.annotation.EnableWebSocket;
 import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
 import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
 
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
 @Configuration
 @EnableWebSocket
+@EnableConfigurationProperties(GameServerProperties.class)
 public class WebSocketConfig implements WebSocketConfigurer {
 
+    private final GameServerProperties properties;
+    private final ReplayRecorder replayRecorder;
+    private final MeterRegistry meterRegistry;
+
+    public WebSocketConfig(GameServerProperties properties, ReplayRecorder replayRecorder,
+                           MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.replayRecorder = replayRecorder;
+        this.meterRegistry = meterRegistry;
+    }
+
     @Override
     public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
         registry.addHandler(gameWebSocketAdapter(), "/game")
@@ -18,6 +40,38 @@ public class WebSocketConfig implements WebSocketConfigurer {
 
     @Bean
     public GameWebSocketAdapter gameWebSocketAdapter() {
-        return new GameWebSocketAdapter();
+        return new GameWebSocketAdapter(tickEngine(), properties, replayRecorder, computerSaboteurExecutor(),
+                gameServerMetrics());
+    }
+
+    @Bean
+    public GameServerMetrics gameServerMetrics() {
+        return new GameServerMetrics(meterRegistry);
+    }
+
+    /**
+     * Shared by every computer saboteur: a few low-priority threads and a bounded queue, so
+     * that rollouts can never take more than their share of the cores from the tick threads.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService computerSaboteurExecutor() {
+        GameServerProperties.Computer computer = properties.computer();
+        int threads = computer.effectiveThreads();
+        return new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(computer.queueCapacity()),
+                Thread.ofPlatform().name("computer-saboteur-", 0).daemon().priority(Thread.MIN_PRIORITY).factory());
+    }
+
+    @Bean(destroyMethod = "close")
+    public TickEngine tickEngine() {
+        GameServerProperties.Tick tick = properties.tick();
+        GameServerMetrics metrics = gameServerMetrics();
+        TickEngine engine = properties.engine() == GameServerProperties.Engine.BATCH
+                ? new TickEngine(tick.effectiveShards(), tick.simulationHz(), tick.maxCatchUpSteps(),
+                        deltaTime -> PlayerSession.stepShardRunners(deltaTime, metrics), metrics)
+                : new TickEngine(tick.effectiveShards(), tick.simulationHz(), tick.maxCatchUpSteps(),
+                        deltaTime -> {}, metrics);
+        metrics.bindTo(engine);
+        return engine;
     }
 }
@@ -0,0 +1,248 @@
+package io.hellorin.reverseplatformer.adapters.in.websocket.metrics;
+
+import io.hellorin.reverseplatformer.adapters.in.websocket.tick.TickEngine;
+import io.hellorin.reverseplatformer.adapters.in.websocket.tick.TickObserver;
+import io.hellorin.reverseplatformer.application.ports.in.GameCommand;
+import io.hellorin.reverseplatformer.application.ports.out.TickPhaseRecorder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Meters of the game server. Every meter is registered up front, so recording from the
+ * tick and writer threads only updates an existing meter and never allocates.
+ *
+ * <p>Per-session work is timed by phase under {@code saboteur.tick.phase}: the game
+ * update's phases come through {@link TickPhaseRecorder}, the adapter's own phases
+ * through {@link #lap(Phase, long)}.
+ */
+public class GameServerMetrics implements TickPhaseRecorder, TickObserver {
+
+    /**
+     * Records nothing and skips the clock reads.
+     */
+    public static final GameServerMetrics DISABLED = new GameServerMetrics(new CompositeMeterRegistry(), false);
+
+    private static final Duration MIN_EXPECTED_TIME = Duration.ofNanos(500);
+    private static final Duration MAX_EXPECTED_TIME = Duration.ofMillis(100);
+    private static final Duration MAX_EXPECTED_LAG = Duration.ofSeconds(10);
+
+    /**
+     * Phases of a session tick that happen in the adapter rather than in the game update.
+     */
+    public enum Phase {
+        /** Applying queued player and computer saboteur commands. */
+        COMMANDS,
+        /** Integrating all batched runners of a shard, once per shard step. */
+        RUNNER_BATCH,
+        /** Deciding what goes into the next frame. */
+        ENCODE,
+        /** Writing the frame in the connection's protocol. */
+        SERIALIZE,
+        /** Copying the frame for the writer and handing it over. */
+        SEND
+    }
+
+    private final MeterRegistry registry;
+    private final boolean enabled;
+    private final Timer[] gamePhases = new Timer[TickPhaseRecorder.Phase.values().length];
+    private final Timer[] adapterPhases = new Timer[Phase.values().length];
+    private final Timer stepDuration;
+    private final Timer lateness;
+    private final Timer sessionLag;
+    private final Counter framesSent;
+    private final Counter controlMessagesSent;
+    private final Counter bytesSent;
+    private final Counter coalescedFrames;
+    private final Timer writeDuration;
+    private final DistributionSummary queueDepth;
+    private final Counter startCommands;
+    private final Counter restartCommands;
+    private final Counter nextLevelCommands;
+    private final Counter placeTrapCommands;
+
+    public GameServerMetrics(MeterRegistry registry) {
+        this(registry, true);
+    }
+
+    private GameServerMetrics(MeterRegistry registry, boolean enabled) {
+        this.registry = registry;
+        this.enabled = enabled;
+        for (TickPhaseRecorder.Phase phase : TickPhaseRecorder.Phase.values()) {
+            gamePhases[phase.ordinal()] = phaseTimer(phase.name());
+        }
+        for (Phase phase : Phase.values()) {
+            adapterPhases[phase.ordinal()] = phaseTimer(phase.name());
+        }
+        stepDuration = timer("saboteur.tick.duration", "Time a shard takes to tick all of its sessions once");
+        lateness = timer("saboteur.tick.lateness", "How long after it was due a shard started its next step");
+        sessionLag = Timer.builder("saboteur.session.lag")
+                .description("How far a session's simulated time trails the real time it was awake, "
+                        + "sampled whenever it is due a frame")
+                .minimumExpectedValue(MIN_EXPECTED_TIME)
+                .maximumExpectedValue(MAX_EXPECTED_LAG)
+                .register(registry);
+        framesSent = Counter.builder("saboteur.outbound.messages")
+                .description("Messages written to clients")
+                .tag("kind", "frame")
+                .register(registry);
+        controlMessagesSent = Counter.builder("saboteur.outbound.messages")
+                .description("Messages written to clients")
+                .tag("kind", "control")
+                .register(registry);
+        bytesSent = Counter.builder("saboteur.outbound.bytes")
+                .description("Payload bytes written to clients")
+                .baseUnit("bytes")
+                .register(registry);
+        coalescedFrames = Counter.builder("saboteur.outbound.coalesced")
+                .description("Frames replaced before they were sent")
+                .register(registry);
+        writeDuration = timer("saboteur.outbound.write", "Time a connection's writer spends in one blocking send");
+        queueDepth = DistributionSummary.builder("saboteur.outbound.queue.depth")
+                .description("Messages waiting for a connection's writer, sampled whenever one is queued")
+                .minimumExpectedValue(1.0)
+                .maximumExpectedValue(64.0)
+                .register(registry);
+        startCommands = commandCounter("start");
+        restartCommands = commandCounter("restart");
+        nextLevelCommands = commandCounter("next-level");
+        placeTrapCommands = commandCounter("place-trap");
+    }
+
+    private Timer phaseTimer(String phase) {
+        return Timer.builder("saboteur.tick.phase")
+                .description("Time one session spends in each phase of a tick")
+                .tag("phase", phase.toLowerCase(Locale.ROOT).replace('_', '-'))
+                .minimumExpectedValue(MIN_EXPECTED_TIME)
+                .maximumExpectedValue(MAX_EXPECTED_TIME)
+                .register(registry);
+    }
+
+    private Timer timer(String name, String description) {
+        return Timer.builder(name)
+                .description(description)
+                .minimumExpectedValue(MIN_EXPECTED_TIME)
+                .maximumExpectedValue(MAX_EXPECTED_TIME)
+                .register(registry);
+    }
+
+    private Counter commandCounter(String type) {
+        return Counter.builder("saboteur.commands")
+                .description("Commands received from clients")
+                .tag("type", type)
+                .register(registry);
+    }
+
+    /**
+     * Adds the gauges read from the tick engine: sessions by state, real time dropped
+     * by overloaded shards and heap allocated per step.
+     */
+    public void bindTo(TickEngine engine) {
+        Gauge.builder("saboteur.sessions", engine, TickEngine::activeSessionCount)
+                .description("Connected sessions")
+                .tag("state", "active")
+                .register(registry);
+        Gauge.builder("saboteur.sessions", engine, e -> Math.max(0, e.sessionCount() - e.activeSessionCount()))
+                .description("Connected sessions")
+                .tag("state", "idle")
+                .register(registry);
+        FunctionCounter.builder("saboteur.tick.dropped", engine, e -> e.droppedNanos() / 1e9)
+                .description("Real time the shards gave up because they could not keep pace")
+                .baseUnit("seconds")
+                .register(registry);
+        Gauge.builder("saboteur.tick.allocated", engine, TickEngine::allocatedBytesPerStep)
+                .description("Heap allocated by the shard threads per step")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    @Override
+    public long start() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    @Override
+    public long lap(TickPhaseRecorder.Phase phase, long startedAt) {
+        if (!enabled) return 0;
+        long now = System.nanoTime();
+        record(phase, now - startedAt);
+        return now;
+    }
+
+    @Override
+    public void record(TickPhaseRecorder.Phase phase, long nanos) {
+        gamePhases[phase.ordinal()].record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Records an adapter phase that began at {@code startedAt} and ends now.
+     *
+     * @return the start of the next phase
+     */
+    public long lap(Phase phase, long startedAt) {
+        if (!enabled) return 0;
+        long now = System.nanoTime();
+        adapterPhases[phase.ordinal()].record(now - startedAt, TimeUnit.NANOSECONDS);
+        return now;
+    }
+
+    @Override
+    public void woke(long latenessNanos) {
+        lateness.record(latenessNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void stepped(long durationNanos) {
+        stepDuration.record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * A session's simulated time trails the real time it was awake by this much; ahead of it
+     * counts as no lag.
+     */
+    public void lagged(long lagNanos) {
+        sessionLag.record(Math.max(0, lagNanos), TimeUnit.NANOSECONDS);
+    }
+
+    public void commandReceived(GameCommand command) {
+        Counter counter = switch (command) {
+            case GameCommand.Start start -> startCommands;
+            case GameCommand.Restart restart -> restartCommands;
+            case GameCommand.NextLevel nextLevel -> nextLevelCommands;
+            case GameCommand.PlaceTrap placeTrap -> placeTrapCommands;
+        };
+        counter.increment();
+    }
+
+    /**
+     * A connection's writer sent one message.
+     *
+     * @param frame {@code true} for a state frame, {@code false} for a control message
+     */
+    public void sent(boolean frame, int bytes, long nanos) {
+        (frame ? framesSent : controlMessagesSent).increment();
+        bytesSent.increment(bytes);
+        writeDuration.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * A message was queued for a connection's writer.
+     *
+     * @param depth messages now waiting for that writer, the new one included
+     * @param coalesced whether the message replaced an unsent frame
+     */
+    public void queued(int depth, boolean coalesced) {
+        queueDepth.record(depth);
+        if (coalesced) {
+            coalescedFrames.increment();
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package io.hellorin.reverseplatformer.adapters.in.websocket.outbound;
+
+import io.hellorin.reverseplatformer.adapters.in.websocket.metrics.GameServerMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Sends frames for one connection from its own virtual thread, so a slow client only
+ * ever blocks itself. The tick thread hands over the newest frame through a single
+ * slot: if the writer has not picked up the previous frame yet, that frame is
+ * replaced (coalesced) rather than queued. Control messages such as pings must not be
+ * lost, so they go through a separate bounded queue that is always sent first.
+ *
+ * <p>Binary frames are copied into a small set of payload buffers owned by the
+ * connection and recycled once sent or replaced, so steady-state sending does not
+ * allocate. One frame can be queued and one in flight, so three buffers always leave
+ * one free for the tick thread.
+ */
+public class OutboundChannel {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboundChannel.class);
+    private static final int FRAME_SLOTS = 3;
+    private static final int MIN_FRAME_CAPACITY = 512;
+
+    private final WebSocketSession session;
+    private final long sendTimeLimitNanos;
+    private final int maxCoalescedFrames;
+    private final long bufferSizeLimit;
+    private final AtomicReference<WebSocketMessage<?>> pending = new AtomicReference<>();
+    private final Queue<WebSocketMessage<?>> control = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger controlMessages = new AtomicInteger();
+    private final AtomicLong controlBytes = new AtomicLong();
+    private final AtomicInteger coalescedFrames = new AtomicInteger();
+    private final BinaryMessage[] frameSlots = new BinaryMessage[FRAME_SLOTS];
+    private final GameServerMetrics metrics;
+    private final Thread writer;
+    private volatile WebSocketMessage<?> inFlight;
+    private volatile long sendStartedAt;
+    private volatile boolean closed;
+
+    public OutboundChannel(WebSocketSession session, long sendTimeLimitMs, int maxCoalescedFrames,
+                           long bufferSizeLimit) {
+        this(session, sendTimeLimitMs, maxCoalescedFrames, bufferSizeLimit, GameServerMetrics.DISABLED);
+    }
+
+    public OutboundChannel(WebSocketSession session, long sendTimeLimitMs, int maxCoalescedFrames,
+                           long bufferSizeLimit, GameServerMetrics metrics) {
+        this.session = session;
+        this.metrics = metrics;
+        this.sendTimeLimitNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeLimitMs);
+        this.maxCoalescedFrames = maxCoalescedFrames;
+        this.bufferSizeLimit = bufferSizeLimit;
+        this.writer = Thread.ofVirtual()
+                .name("ws-writer-" + session.getId())
+                .start(this::writeLoop);
+    }
+
+    /**
+     * Hands a frame to the writer.
+     *
+     * @return {@code true} if an older frame that was never sent got replaced
+     */
+    public boolean offer(WebSocketMessage<?> message) {
+        WebSocketMessage<?> replaced = pending.getAndSet(message);
+        if (replaced != null) {
+            coalescedFrames.incrementAndGet();
+        }
+        metrics.queued(controlMessages.get() + 1, replaced != null);
+        LockSupport.unpark(writer);
+        return replaced != null;
+    }
+
+    /**
+     * Copies an encoded binary frame into a payload buffer that is neither queued nor
+     * being sent. Must only be called by the thread that offers frames.
+     */
+    public BinaryMessage binaryFrame(byte[] bytes, int length) {
+        // Read the queued frame before the in-flight one: the writer publishes a frame as
+        // in flight before taking it off the queue, so one of the two reads sees it.
+        WebSocketMessage<?> queued = pending.get();
+        WebSocketMessage<?> sending = inFlight;
+        for (int i = 0; i < FRAME_SLOTS; i++) {
+            BinaryMessage slot = frameSlots[i];
+            if (slot != null && (slot == queued || slot == sending)) continue;
+
+            if (slot == null || slot.getPayload().capacity() < length) {
+                slot = new BinaryMessage(ByteBuffer.allocate(Math.max(length, MIN_FRAME_CAPACITY)));
+                frameSlots[i] = slot;
+            }
+            ByteBuffer payload = slot.getPayload();
+            payload.clear();
+            payload.put(bytes, 0, length).flip();
+            return slot;
+        }
+        throw new IllegalStateException("No free frame buffer for session " + session.getId());
+    }
+
+    /**
+     * Queues a message that must be delivered, ahead of any state frame.
+     */
+    public void sendControl(WebSocketMessage<?> message) {
+        controlBytes.addAndGet(message.getPayloadLength());
+        int queued = controlMessages.incrementAndGet();
+        control.add(message);
+        metrics.queued(queued + (hasPending() ? 1 : 0), false);
+        LockSupport.unpark(writer);
+    }
+
+    public boolean hasPending() {
+        return pending.get() != null;
+    }
+
+    /**
+     * Whether the client has fallen too far behind: a single send has been blocked for
+     * longer than the send time limit, too many frames in a row were coalesced, or the
+     * queued control messages exceed the buffer size limit.
+     */
+    public boolean isOverLimit(long nowNanos) {
+        long startedAt = sendStartedAt;
+        boolean sendStalled = startedAt != 0 && nowNanos - startedAt > sendTimeLimitNanos;
+        return sendStalled
+                || coalescedFrames.get() > maxCoalescedFrames
+                || controlBytes.get() > bufferSizeLimit;
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    public void close() {
+        closed = true;
+        LockSupport.unpark(writer);
+    }
+
+    /**
+     * Closes the channel and the underlying connection. The WebSocket close happens on a
+     * virtual thread because it may block on the same stalled socket.
+     */
+    public void drop(CloseStatus status) {
+        close();
+        Thread.ofVirtual().start(() -> {
+            try {
+                session.close(status);
+            } catch (IOException e) {
+                log.debug("Failed to close session {}", session.getId(), e);
+            }
+        });
+    }
+
+    private void writeLoop() {
+        while (!closed) {
+            WebSocketMessage<?> controlMessage = control.poll();
+            if (controlMessage != null) {
+                controlBytes.addAndGet(-controlMessage.getPayloadLength());
+                controlMessages.decrementAndGet();
+                send(controlMessage, false);
+                continue;
+            }
+
+            WebSocketMessage<?> message = pending.get();
+            if (message == null) {
+                LockSupport.park(this);
+                continue;
+            }
+            inFlight = message;
+            if (!pending.compareAndSet(message, null)) {
+                continue;
+            }
+            coalescedFrames.set(0);
+            send(message, true);
+            inFlight = null;
+        }
+    }
+
+    private void send(WebSocketMessage<?> message, boolean frame) {
+        // Read before sending: sending may consume a binary payload.
+        int bytes = message.getPayloadLength();
+        long startedAt = System.nanoTime();
+        sendStartedAt = startedAt;
+        try {
+            session.sendMessage(message);
+            metrics.sent(frame, bytes, System.nanoTime() - startedAt);
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Send failed for session {}, closing its channel", session.getId(), e);
+            close();
+        } finally {
+            sendStartedAt = 0;
+        }
+    }
+}
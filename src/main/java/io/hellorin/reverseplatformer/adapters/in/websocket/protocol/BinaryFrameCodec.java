@@ -0,0 +1,183 @@
+package io.hellorin.reverseplatformer.adapters.in.websocket.protocol;
+
+import io.hellorin.reverseplatformer.adapters.in.websocket.outbound.OutboundChannel;
+import io.hellorin.reverseplatformer.application.ports.in.GameCommand;
+import io.hellorin.reverseplatformer.domain.model.GameState;
+import io.hellorin.reverseplatformer.domain.model.Level;
+import io.hellorin.reverseplatformer.domain.model.Platform;
+import io.hellorin.reverseplatformer.domain.model.Rectangle;
+import io.hellorin.reverseplatformer.domain.model.Runner;
+import io.hellorin.reverseplatformer.domain.model.Trap;
+import io.hellorin.reverseplatformer.domain.model.TrapType;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.WebSocketMessage;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Compact little-endian encoding, mirrored by the DataView decoder in game.js.
+ *
+ * <pre>
+ * LEVEL     u8 op (3), u8 level, f32 width, f32 height, f32 speedMultiplier,
+ *           goal (f32 x, y, width, height), u16 platformCount, platform[] (f32 x, y, width, height)
+ *
+ * header    u8 op, u32 tick, f64 serverTime (epoch millis)
+ * KEYFRAME  header (op=1), u8 status, u8 level, i32 points, f32 elapsedTime, runner,
+ *           u16 platformCount, u8 active[] (in LEVEL order), u16 trapCount, trap[]
+ * DELTA     header (op=2), u8 fieldMask ({@link FrameContent} field bits), then only the fields
+ *           whose bit is set, in bit order:
+ *           u8 status, i32 points, f32 elapsedTime, runner,
+ *           u16 count + trap[] (added traps), u16 count + (u16 index, u8 active)[] (platform changes)
+ *
+ * runner    f32 x, f32 y, u8 alive
+ * trap      u8 type, f32 x, f32 y
+ *
+ * Client commands: u8 op (1 START, 2 RESTART, 3 NEXT_LEVEL, 4 PLACE_TRAP),
+ *                  PLACE_TRAP is followed by u8 trapType, f32 x, f32 y.
+ * </pre>
+ *
+ * Status and trap type bytes are the ordinals of {@link GameState.Status} and {@link TrapType}.
+ */
+public class BinaryFrameCodec implements FrameCodec {
+
+    public static final String SUB_PROTOCOL = "saboteur.binary.v1";
+
+    static final byte OP_KEYFRAME = 1;
+    static final byte OP_DELTA = 2;
+    static final byte OP_LEVEL = 3;
+
+    static final byte CMD_START = 1;
+    static final byte CMD_RESTART = 2;
+    static final byte CMD_NEXT_LEVEL = 3;
+    static final byte CMD_PLACE_TRAP = 4;
+
+    private static final TrapType[] TRAP_TYPES = TrapType.values();
+
+    private final LevelPayloadCache<byte[]> levelPayloads = new LevelPayloadCache<>(this::serializeLevel);
+
+    @Override
+    public String subProtocol() {
+        return SUB_PROTOCOL;
+    }
+
+    @Override
+    public void write(GameState state, FrameContent content, FrameBuffer out) {
+        out.put(content.isKeyframe() ? OP_KEYFRAME : OP_DELTA);
+        out.putInt((int) content.tick());
+        out.putDouble(content.serverTime());
+
+        if (content.isKeyframe()) {
+            writeKeyframe(state, out);
+        } else {
+            writeDelta(state, content, out);
+        }
+    }
+
+    private void writeKeyframe(GameState state, FrameBuffer out) {
+        out.put((byte) state.getStatus().ordinal());
+        out.put((byte) state.getLevel().getLevelNumber());
+        out.putInt(state.getPlayerPoints());
+        out.putFloat(state.getElapsedTime());
+        writeRunner(state.getRunner(), out);
+
+        int platformCount = state.getLevel().getPlatforms().size();
+        out.putShort(platformCount);
+        for (int i = 0; i < platformCount; i++) {
+            out.put(state.isPlatformActive(i));
+        }
+
+        writeTraps(state.getTraps(), 0, out);
+    }
+
+    private void writeDelta(GameState state, FrameContent content, FrameBuffer out) {
+        out.put((byte) content.fields());
+        if (content.has(FrameContent.STATUS)) out.put((byte) state.getStatus().ordinal());
+        if (content.has(FrameContent.POINTS)) out.putInt(state.getPlayerPoints());
+        if (content.has(FrameContent.ELAPSED_TIME)) out.putFloat(state.getElapsedTime());
+        if (content.has(FrameContent.RUNNER)) writeRunner(state.getRunner(), out);
+        if (content.has(FrameContent.ADDED_TRAPS)) writeTraps(state.getTraps(), content.addedTrapsFrom(), out);
+        if (content.has(FrameContent.PLATFORM_CHANGES)) {
+            out.putShort(content.changedPlatformCount());
+            for (int i = 0; i < content.changedPlatformCount(); i++) {
+                int index = content.changedPlatform(i);
+                out.putShort(index);
+                out.put(state.isPlatformActive(index));
+            }
+        }
+    }
+
+    private void writeRunner(Runner runner, FrameBuffer out) {
+        out.putFloat(runner.getX());
+        out.putFloat(runner.getY());
+        out.put(runner.isAlive());
+    }
+
+    private void writeTraps(List<Trap> traps, int from, FrameBuffer out) {
+        out.putShort(traps.size() - from);
+        for (int i = from; i < traps.size(); i++) {
+            Trap trap = traps.get(i);
+            out.put((byte) trap.getType().ordinal());
+            out.putFloat(trap.getBounds().x());
+            out.putFloat(trap.getBounds().y());
+        }
+    }
+
+    /**
+     * Copies the frame into one of the connection's recycled payload buffers.
+     */
+    @Override
+    public WebSocketMessage<?> toMessage(FrameBuffer frame, OutboundChannel outbound) {
+        return outbound.binaryFrame(frame.array(), frame.length());
+    }
+
+    @Override
+    public WebSocketMessage<?> levelMessage(Level level) {
+        // Wraps the shared bytes in a fresh buffer, since sending consumes its position
+        return new BinaryMessage(levelPayloads.get(level));
+    }
+
+    private byte[] serializeLevel(Level level) {
+        FrameBuffer out = new FrameBuffer();
+        out.put(OP_LEVEL);
+        out.put((byte) level.getLevelNumber());
+        out.putFloat(level.getWidth()).putFloat(level.getHeight());
+        out.putFloat(level.getRunnerSpeedMultiplier());
+
+        Rectangle goal = level.getGoal();
+        out.putFloat(goal.x()).putFloat(goal.y()).putFloat(goal.width()).putFloat(goal.height());
+
+        List<Platform> platforms = level.getPlatforms();
+        out.putShort(platforms.size());
+        for (Platform platform : platforms) {
+            Rectangle bounds = platform.getBounds();
+            out.putFloat(bounds.x()).putFloat(bounds.y()).putFloat(bounds.width()).putFloat(bounds.height());
+        }
+        return Arrays.copyOf(out.array(), out.length());
+    }
+
+    @Override
+    public GameCommand decode(WebSocketMessage<?> message) {
+        if (!(message instanceof BinaryMessage binaryMessage)) return null;
+
+        ByteBuffer payload = binaryMessage.getPayload().duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        try {
+            return switch (payload.get()) {
+                case CMD_START -> GameCommand.START;
+                case CMD_RESTART -> GameCommand.RESTART;
+                case CMD_NEXT_LEVEL -> GameCommand.NEXT_LEVEL;
+                case CMD_PLACE_TRAP -> {
+                    int type = payload.get();
+                    if (type < 0 || type >= TRAP_TYPES.length) yield null;
+                    yield FrameCodec.placeTrap(TRAP_TYPES[type], payload.getFloat(), payload.getFloat());
+                }
+                default -> null;
+            };
+        } catch (BufferUnderflowException e) {
+            return null;
+        }
+    }
+}
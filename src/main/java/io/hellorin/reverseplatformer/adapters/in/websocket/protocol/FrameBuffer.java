@@ -0,0 +1,197 @@
+package io.hellorin.reverseplatformer.adapters.in.websocket.protocol;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Growable byte buffer that frames are written into, reused across frames so that steady
+ * state encoding does not allocate. Offers both little-endian binary writes and the
+ * handful of text writes the JSON codec needs. Not thread-safe: each tick thread owns one.
+ */
+public final class FrameBuffer {
+
+    private static final VarHandle SHORT = MethodHandles.byteArrayViewVarHandle(short[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle INT = MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle FLOAT = MethodHandles.byteArrayViewVarHandle(float[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle DOUBLE = MethodHandles.byteArrayViewVarHandle(double[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] LONG_MIN_DIGITS = "9223372036854775808".getBytes(StandardCharsets.US_ASCII);
+    private static final int DECIMALS_SCALE = 1000;
+    private static final double MAX_SCALED_VALUE = 1e15;
+
+    private byte[] bytes;
+    private int length;
+
+    public FrameBuffer() {
+        this(1024);
+    }
+
+    public FrameBuffer(int initialCapacity) {
+        this.bytes = new byte[initialCapacity];
+    }
+
+    public void reset() {
+        length = 0;
+    }
+
+    public byte[] array() {
+        return bytes;
+    }
+
+    public int length() {
+        return length;
+    }
+
+    public String toUtf8String() {
+        return new String(bytes, 0, length, StandardCharsets.UTF_8);
+    }
+
+    private void ensure(int extra) {
+        if (length + extra > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + extra));
+        }
+    }
+
+    public FrameBuffer put(byte value) {
+        ensure(1);
+        bytes[length++] = value;
+        return this;
+    }
+
+    public FrameBuffer put(boolean value) {
+        return put(value ? (byte) 1 : (byte) 0);
+    }
+
+    public FrameBuffer putShort(int value) {
+        ensure(2);
+        SHORT.set(bytes, length, (short) value);
+        length += 2;
+        return this;
+    }
+
+    public FrameBuffer putInt(int value) {
+        ensure(4);
+        INT.set(bytes, length, value);
+        length += 4;
+        return this;
+    }
+
+    public FrameBuffer putFloat(double value) {
+        ensure(4);
+        FLOAT.set(bytes, length, (float) value);
+        length += 4;
+        return this;
+    }
+
+    public FrameBuffer putDouble(double value) {
+        ensure(8);
+        DOUBLE.set(bytes, length, value);
+        length += 8;
+        return this;
+    }
+
+    /**
+     * Appends pre-encoded bytes, e.g. a JSON field name.
+     */
+    public FrameBuffer put(byte[] fragment) {
+        ensure(fragment.length);
+        System.arraycopy(fragment, 0, bytes, length, fragment.length);
+        length += fragment.length;
+        return this;
+    }
+
+    /**
+     * Appends a decimal integer.
+     */
+    public FrameBuffer putText(long value) {
+        if (value < 0) {
+            put((byte) '-');
+            if (value == Long.MIN_VALUE) {
+                return put(LONG_MIN_DIGITS);
+            }
+            value = -value;
+        }
+        int digits = 1;
+        for (long rest = value / 10; rest != 0; rest /= 10) {
+            digits++;
+        }
+        ensure(digits);
+        for (int i = length + digits - 1; i >= length; i--) {
+            bytes[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        length += digits;
+        return this;
+    }
+
+    /**
+     * Appends a JSON number rounded to three decimals, without trailing zeros.
+     * Non-finite values, which JSON cannot represent, are written as {@code 0}.
+     */
+    public FrameBuffer putText(double value) {
+        if (!Double.isFinite(value)) {
+            return put((byte) '0');
+        }
+        if (Math.abs(value) >= MAX_SCALED_VALUE) {
+            return putText((long) value);
+        }
+
+        long scaled = Math.round(value * DECIMALS_SCALE);
+        if (scaled < 0) {
+            put((byte) '-');
+            scaled = -scaled;
+        }
+        putText(scaled / DECIMALS_SCALE);
+
+        int fraction = (int) (scaled % DECIMALS_SCALE);
+        if (fraction != 0) {
+            put((byte) '.');
+            for (int unit = DECIMALS_SCALE / 10; fraction != 0; unit /= 10) {
+                put((byte) ('0' + fraction / unit));
+                fraction %= unit;
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Appends a quoted, escaped JSON string encoded as UTF-8.
+     */
+    public FrameBuffer putJsonString(String value) {
+        put((byte) '"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                put((byte) '\\').put((byte) c);
+            } else if (c < 0x20) {
+                put((byte) '\\').put((byte) 'u').put((byte) '0').put((byte) '0')
+                        .put(HEX[c >> 4]).put(HEX[c & 0xF]);
+            } else if (c < 0x80) {
+                put((byte) c);
+            } else {
+                i = putUtf8(value, i);
+            }
+        }
+        return put((byte) '"');
+    }
+
+    private int putUtf8(String value, int index) {
+        int codePoint = value.codePointAt(index);
+        if (codePoint < 0x800) {
+            put((byte) (0xC0 | codePoint >> 6));
+        } else if (codePoint < 0x10000) {
+            put((byte) (0xE0 | codePoint >> 12));
+            put((byte) (0x80 | codePoint >> 6 & 0x3F));
+        } else {
+            put((byte) (0xF0 | codePoint >> 18));
+            put((byte) (0x80 | codePoint >> 12 & 0x3F));
+            put((byte) (0x80 | codePoint >> 6 & 0x3F));
+        }
+        put((byte) (0x80 | codePoint & 0x3F));
+        return index + Character.charCount(codePoint) - 1;
+    }
+}
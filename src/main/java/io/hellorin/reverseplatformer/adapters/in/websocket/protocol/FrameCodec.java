@@ -0,0 +1,49 @@
+package io.hellorin.reverseplatformer.adapters.in.websocket.protocol;
+
+import io.hellorin.reverseplatformer.adapters.in.websocket.outbound.OutboundChannel;
+import io.hellorin.reverseplatformer.application.ports.in.GameCommand;
+import io.hellorin.reverseplatformer.domain.model.GameState;
+import io.hellorin.reverseplatformer.domain.model.Level;
+import io.hellorin.reverseplatformer.domain.model.TrapType;
+import org.springframework.web.socket.WebSocketMessage;
+
+/**
+ * Wire format of one connection, chosen once during the handshake from the
+ * WebSocket sub-protocol the client asked for.
+ */
+public interface FrameCodec {
+
+    String subProtocol();
+
+    /**
+     * Appends the frame described by {@code content} to {@code out}, reading the values
+     * straight from {@code state}.
+     */
+    void write(GameState state, FrameContent content, FrameBuffer out);
+
+    /**
+     * Wraps a written frame into a message for the given connection.
+     */
+    WebSocketMessage<?> toMessage(FrameBuffer frame, OutboundChannel outbound);
+
+    /**
+     * The static part of a level (size, speed, goal and platform geometry), serialized
+     * once and shared by every connection. Sent once per level start, before the level's
+     * first keyframe; keyframes only carry the platforms' active flags.
+     */
+    WebSocketMessage<?> levelMessage(Level level);
+
+    /**
+     * Returns the command carried by the message, or {@code null} if it is not one we know
+     * or is malformed. Never throws on client input.
+     */
+    GameCommand decode(WebSocketMessage<?> message);
+
+    /**
+     * A trap placement, or {@code null} when a coordinate is NaN or infinite.
+     */
+    static GameCommand.PlaceTrap placeTrap(TrapType trapType, double x, double y) {
+        if (!Double.isFinite(x) || !Double.isFinite(y)) return null;
+        return new GameCommand.PlaceTrap(trapType, x, y);
+    }
+}
@@ -0,0 +1,98 @@
+package io.hellorin.reverseplatformer.adapters.in.websocket.protocol;
+
+import java.util.Arrays;
+
+/**
+ * Describes the next frame of a session without copying any game state: whether it is a
+ * keyframe and, for a delta, which fields changed. Codecs read the actual values from the
+ * {@code GameState} while writing. One instance is reused for every frame of a session.
+ */
+public final class FrameContent {
+
+    public static final int STATUS = 1;
+    public static final int POINTS = 1 << 1;
+    public static final int ELAPSED_TIME = 1 << 2;
+    public static final int RUNNER = 1 << 3;
+    public static final int ADDED_TRAPS = 1 << 4;
+    public static final int PLATFORM_CHANGES = 1 << 5;
+
+    private boolean keyframe;
+    private long tick;
+    private long serverTime;
+    private int fields;
+    private int addedTrapsFrom;
+    private int[] changedPlatforms = new int[8];
+    private int changedPlatformCount;
+
+    public void startKeyframe(long tick, long serverTime) {
+        start(true, tick, serverTime);
+    }
+
+    public void startDelta(long tick, long serverTime) {
+        start(false, tick, serverTime);
+    }
+
+    private void start(boolean keyframe, long tick, long serverTime) {
+        this.keyframe = keyframe;
+        this.tick = tick;
+        this.serverTime = serverTime;
+        this.fields = 0;
+        this.changedPlatformCount = 0;
+    }
+
+    public void add(int field) {
+        fields |= field;
+    }
+
+    /**
+     * Marks the traps from the given index to the end of the trap list as added.
+     */
+    public void addTrapsFrom(int index) {
+        fields |= ADDED_TRAPS;
+        addedTrapsFrom = index;
+    }
+
+    public void addPlatformChange(int index) {
+        fields |= PLATFORM_CHANGES;
+        if (changedPlatformCount == changedPlatforms.length) {
+            changedPlatforms = Arrays.copyOf(changedPlatforms, changedPlatformCount * 2);
+        }
+        changedPlatforms[changedPlatformCount++] = index;
+    }
+
+    public boolean isKeyframe() {
+        return keyframe;
+    }
+
+    public long tick() {
+        return tick;
+    }
+
+    public long serverTime() {
+        return serverTime;
+    }
+
+    public int fields() {
+        return fields;
+    }
+
+    public boolean has(int field) {
+        return (fields & field) != 0;
+    }
+
+    public boolean isEmpty() {
+        return !keyframe && fields == 0;
+    }
+
+    public int addedTrapsFrom() {
+        return addedTrapsFrom;
+    }
+
+    public int changedPlatformCount() {
+        return changedPlatformCount;
+    }
+
+    public int changedPlatform(int i) {
+        return changedPlatforms[i];
+    }
+}
@@ -0,0 +1,240 @@
+package io.hellorin.reverseplatformer.adapters.in.websocket.protocol;
+
+import io.hellorin.reverseplatformer.adapters.in.websocket.outbound.OutboundChannel;
+import io.hellorin.reverseplatformer.application.ports.in.GameCommand;
+import io.hellorin.reverseplatformer.domain.model.GameState;
+import io.hellorin.reverseplatformer.domain.model.Level;
+import io.hellorin.reverseplatformer.domain.model.Platform;
+import io.hellorin.reverseplatformer.domain.model.Rectangle;
+import io.hellorin.reverseplatformer.domain.model.Runner;
+import io.hellorin.reverseplatformer.domain.model.Trap;
+import io.hellorin.reverseplatformer.domain.model.TrapType;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * JSON frames written by hand from pre-encoded fragments. Numbers are rounded to three
+ * decimals.
+ */
+public class JsonFrameCodec implements FrameCodec {
+
+    public static final String SUB_PROTOCOL = "saboteur.json.v1";
+
+    private static final byte[] KEYFRAME_START = ascii("{\"type\":\"KEYFRAME\",\"tick\":");
+    private static final byte[] DELTA_START = ascii("{\"type\":\"DELTA\",\"tick\":");
+    private static final byte[] LEVEL_START = ascii("{\"type\":\"LEVEL\",\"level\":");
+    private static final byte[] SERVER_TIME = ascii(",\"serverTime\":");
+    private static final byte[] STATUS = ascii(",\"status\":");
+    private static final byte[] PLAYER_POINTS = ascii(",\"playerPoints\":");
+    private static final byte[] ELAPSED_TIME = ascii(",\"elapsedTime\":");
+    private static final byte[] LEVEL = ascii(",\"level\":");
+    private static final byte[] SPEED_MULTIPLIER = ascii(",\"speedMultiplier\":");
+    private static final byte[] RUNNER = ascii(",\"runner\":");
+    private static final byte[] PLATFORMS = ascii(",\"platforms\":[");
+    private static final byte[] PLATFORM_ACTIVE = ascii(",\"platformActive\":[");
+    private static final byte[] TRAPS = ascii(",\"traps\":[");
+    private static final byte[] ADDED_TRAPS = ascii(",\"addedTraps\":[");
+    private static final byte[] PLATFORM_CHANGES = ascii(",\"platformChanges\":[");
+    private static final byte[] GOAL = ascii(",\"goal\":{\"x\":");
+    private static final byte[] ID_FIRST = ascii("{\"id\":");
+    private static final byte[] ID_NEXT = ascii(",{\"id\":");
+    private static final byte[] ID = ascii(",\"id\":");
+    private static final byte[] INDEX_FIRST = ascii("{\"index\":");
+    private static final byte[] INDEX_NEXT = ascii(",{\"index\":");
+    private static final byte[] TYPE = ascii(",\"type\":");
+    private static final byte[] X_FIRST = ascii("{\"x\":");
+    private static final byte[] X = ascii(",\"x\":");
+    private static final byte[] Y = ascii(",\"y\":");
+    private static final byte[] WIDTH = ascii(",\"width\":");
+    private static final byte[] HEIGHT = ascii(",\"height\":");
+    private static final byte[] ACTIVE = ascii(",\"active\":");
+    private static final byte[] ALIVE = ascii(",\"alive\":");
+    private static final byte[] TRUE = ascii("true");
+    private static final byte[] FALSE = ascii("false");
+    private static final byte[][] STATUS_NAMES = quotedNames(GameState.Status.values());
+    private static final byte[][] TRAP_TYPE_NAMES = quotedNames(TrapType.values());
+
+    private final LevelPayloadCache<TextMessage> levelPayloads = new LevelPayloadCache<>(this::serializeLevel);
+    private final ObjectMapper objectMapper;
+
+    public JsonFrameCodec(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    private static byte[] ascii(String fragment) {
+        return fragment.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static byte[][] quotedNames(Enum<?>[] values) {
+        byte[][] names = new byte[values.length][];
+        for (Enum<?> value : values) {
+            names[value.ordinal()] = ascii('"' + value.name() + '"');
+        }
+        return names;
+    }
+
+    @Override
+    public String subProtocol() {
+        return SUB_PROTOCOL;
+    }
+
+    @Override
+    public void write(GameState state, FrameContent content, FrameBuffer out) {
+        out.put(content.isKeyframe() ? KEYFRAME_START : DELTA_START).putText(content.tick());
+        out.put(SERVER_TIME).putText(content.serverTime());
+
+        if (content.isKeyframe()) {
+            writeKeyframe(state, out);
+        } else {
+            writeDelta(state, content, out);
+        }
+        out.put((byte) '}');
+    }
+
+    private void writeKeyframe(GameState state, FrameBuffer out) {
+        out.put(STATUS).put(STATUS_NAMES[state.getStatus().ordinal()]);
+        out.put(PLAYER_POINTS).putText(state.getPlayerPoints());
+        out.put(ELAPSED_TIME).putText(state.getElapsedTime());
+        out.put(LEVEL).putText(state.getLevel().getLevelNumber());
+        out.put(RUNNER);
+        writeRunner(state.getRunner(), out);
+
+        out.put(PLATFORM_ACTIVE);
+        List<Platform> platforms = state.getLevel().getPlatforms();
+        for (int i = 0; i < platforms.size(); i++) {
+            if (i > 0) out.put((byte) ',');
+            out.put(state.isPlatformActive(i) ? TRUE : FALSE);
+        }
+        out.put((byte) ']');
+
+        out.put(TRAPS);
+        writeTraps(state.getTraps(), 0, out);
+    }
+
+    private void writeDelta(GameState state, FrameContent content, FrameBuffer out) {
+        if (content.has(FrameContent.STATUS)) {
+            out.put(STATUS).put(STATUS_NAMES[state.getStatus().ordinal()]);
+        }
+        if (content.has(FrameContent.POINTS)) {
+            out.put(PLAYER_POINTS).putText(state.getPlayerPoints());
+        }
+        if (content.has(FrameContent.ELAPSED_TIME)) {
+            out.put(ELAPSED_TIME).putText(state.getElapsedTime());
+        }
+        if (content.has(FrameContent.RUNNER)) {
+            out.put(RUNNER);
+            writeRunner(state.getRunner(), out);
+        }
+        if (content.has(FrameContent.ADDED_TRAPS)) {
+            out.put(ADDED_TRAPS);
+            writeTraps(state.getTraps(), content.addedTrapsFrom(), out);
+        }
+        if (content.has(FrameContent.PLATFORM_CHANGES)) {
+            List<Platform> platforms = state.getLevel().getPlatforms();
+            out.put(PLATFORM_CHANGES);
+            for (int i = 0; i < content.changedPlatformCount(); i++) {
+                int index = content.changedPlatform(i);
+                Platform platform = platforms.get(index);
+                out.put(i == 0 ? INDEX_FIRST : INDEX_NEXT).putText(index);
+                out.put(ID).putJsonString(platform.getId());
+                out.put(ACTIVE).put(state.isPlatformActive(index) ? TRUE : FALSE).put((byte) '}');
+            }
+            out.put((byte) ']');
+        }
+    }
+
+    private void writeRunner(Runner runner, FrameBuffer out) {
+        out.put(X_FIRST).putText(runner.getX());
+        out.put(Y).putText(runner.getY());
+        out.put(ALIVE).put(runner.isAlive() ? TRUE : FALSE).put((byte) '}');
+    }
+
+    private void writeTraps(List<Trap> traps, int from, FrameBuffer out) {
+        for (int i = from; i < traps.size(); i++) {
+            Trap trap = traps.get(i);
+            out.put(i == from ? ID_FIRST : ID_NEXT).putJsonString(trap.getId());
+            out.put(TYPE).put(TRAP_TYPE_NAMES[trap.getType().ordinal()]);
+            out.put(X).putText(trap.getBounds().x()).put(Y).putText(trap.getBounds().y()).put((byte) '}');
+        }
+        out.put((byte) ']');
+    }
+
+    @Override
+    public WebSocketMessage<?> levelMessage(Level level) {
+        return levelPayloads.get(level);
+    }
+
+    private TextMessage serializeLevel(Level level) {
+        FrameBuffer out = new FrameBuffer();
+        out.put(LEVEL_START).putText(level.getLevelNumber());
+        out.put(WIDTH).putText(level.getWidth()).put(HEIGHT).putText(level.getHeight());
+        out.put(SPEED_MULTIPLIER).putText(level.getRunnerSpeedMultiplier());
+
+        Rectangle goal = level.getGoal();
+        out.put(GOAL).putText(goal.x()).put(Y).putText(goal.y());
+        out.put(WIDTH).putText(goal.width()).put(HEIGHT).putText(goal.height()).put((byte) '}');
+
+        out.put(PLATFORMS);
+        List<Platform> platforms = level.getPlatforms();
+        for (int i = 0; i < platforms.size(); i++) {
+            Platform platform = platforms.get(i);
+            Rectangle bounds = platform.getBounds();
+            out.put(i == 0 ? ID_FIRST : ID_NEXT).putJsonString(platform.getId());
+            out.put(X).putText(bounds.x()).put(Y).putText(bounds.y());
+            out.put(WIDTH).putText(bounds.width()).put(HEIGHT).putText(bounds.height()).put((byte) '}');
+        }
+        out.put((byte) ']').put((byte) '}');
+        return new TextMessage(out.toUtf8String());
+    }
+
+    /**
+     * Spring only sends text frames from a {@code String}, so this is the one copy the
+     * JSON path cannot avoid; the binary protocol reuses per-connection buffers instead.
+     */
+    @Override
+    public WebSocketMessage<?> toMessage(FrameBuffer frame, OutboundChannel outbound) {
+        return new TextMessage(frame.toUtf8String());
+    }
+
+    @Override
+    public GameCommand decode(WebSocketMessage<?> message) {
+        if (!(message instanceof TextMessage textMessage)) return null;
+
+        JsonNode json;
+        try {
+            json = objectMapper.readTree(textMessage.getPayload());
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+        if (json == null) return null;
+
+        return switch (json.path("type").asText()) {
+            case "START" -> GameCommand.START;
+            case "RESTART" -> GameCommand.RESTART;
+            case "NEXT_LEVEL" -> GameCommand.NEXT_LEVEL;
+            case "PLACE_TRAP" -> decodePlaceTrap(json);
+            default -> null;
+        };
+    }
+
+    private static GameCommand decodePlaceTrap(JsonNode json) {
+        JsonNode x = json.path("x");
+        JsonNode y = json.path("y");
+        TrapType trapType = trapType(json.path("trapType").asText());
+        if (trapType == null || !x.isNumber() || !y.isNumber()) return null;
+        return FrameCodec.placeTrap(trapType, x.asDouble(), y.asDouble());
+    }
+
+    private static TrapType trapType(String name) {
+        for (TrapType type : TrapType.values()) {
+            if (type.name().equals(name)) return type;
+        }
+        return null;
+    }
+}
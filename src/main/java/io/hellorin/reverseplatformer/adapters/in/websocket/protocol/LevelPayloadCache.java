@@ -0,0 +1,27 @@
+package io.hellorin.reverseplatformer.adapters.in.websocket.protocol;
+
+import io.hellorin.reverseplatformer.domain.model.Level;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Serialized static level payloads keyed by level number. Levels are built from fixed
+ * layouts, so every connection playing the same level shares one immutable copy.
+ */
+final class LevelPayloadCache<T> {
+
+    private final Map<Integer, T> payloads = new ConcurrentHashMap<>();
+    private final Function<Level, T> serializer;
+
+    LevelPayloadCache(Function<Level, T> serializer) {
+        this.serializer = serializer;
+    }
+
+    T get(Level level) {
+        T payload = payloads.get(level.getLevelNumber());
+        if (payload != null) return payload;
+        return payloads.computeIfAbsent(level.getLevelNumber(), levelNumber -> serializer.apply(level));
+    }
+}
@@ -0,0 +1,69 @@
+package io.hellorin.reverseplatformer.adapters.in.websocket.tick;
+
+/**
+ * Fixed-timestep clock driven by measured time. Real time accumulates and is paid out
+ * in whole simulation steps; if a wakeup is so late that more than
+ * {@code maxCatchUpSteps} are owed, the excess is dropped (the game slows down
+ * instead of spiralling) and recorded so overload stays visible.
+ */
+public class SimulationClock {
+
+    private final long stepNanos;
+    private final int maxCatchUpSteps;
+    private long lastNanos;
+    private long accumulatorNanos;
+    private volatile long droppedNanos;
+    private long steps;
+
+    public SimulationClock(long stepNanos, int maxCatchUpSteps) {
+        this.stepNanos = stepNanos;
+        this.maxCatchUpSteps = maxCatchUpSteps;
+    }
+
+    public void start(long nowNanos) {
+        lastNanos = nowNanos;
+        accumulatorNanos = 0;
+    }
+
+    /**
+     * Accumulates the time since the previous call and returns how many fixed steps to run now.
+     */
+    public int advance(long nowNanos) {
+        accumulatorNanos += nowNanos - lastNanos;
+        lastNanos = nowNanos;
+
+        long owed = accumulatorNanos / stepNanos;
+        if (owed > maxCatchUpSteps) {
+            long dropped = (owed - maxCatchUpSteps) * stepNanos;
+            droppedNanos += dropped;
+            accumulatorNanos -= dropped;
+            owed = maxCatchUpSteps;
+        }
+
+        accumulatorNanos -= owed * stepNanos;
+        steps += owed;
+        return (int) owed;
+    }
+
+    /**
+     * Time at which the next step becomes due.
+     */
+    public long nextStepAt() {
+        return lastNanos + stepNanos - accumulatorNanos;
+    }
+
+    public long stepNanos() {
+        return stepNanos;
+    }
+
+    public long steps() {
+        return steps;
+    }
+
+    /**
+     * Total real time that was given up because the shard could not catch up.
+     */
+    public long droppedNanos() {
+        return droppedNanos;
+    }
+}
@@ -0,0 +1,133 @@
+package io.hellorin.reverseplatformer.adapters.in.websocket.tick;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleConsumer;
+
+/**
+ * Drives every session from a fixed set of shard threads instead of one timer per
+ * session. Each shard steps all of its sessions in a single pass per tick; new
+ * sessions go to the least loaded shard and shards are evened out again whenever
+ * sessions leave.
+ */
+public class TickEngine implements AutoCloseable {
+
+    private final TickShard[] shards;
+    private final Thread[] threads;
+
+    public TickEngine(int shardCount, int simulationHz, int maxCatchUpSteps) {
+        this(shardCount, simulationHz, maxCatchUpSteps, deltaTime -> {});
+    }
+
+    /**
+     * @param beforeMembers run on each shard thread at every step, after its sessions'
+     *                      {@link Tickable#beforeTick} and before they are ticked; for
+     *                      work shared by all sessions of a shard
+     */
+    public TickEngine(int shardCount, int simulationHz, int maxCatchUpSteps, DoubleConsumer beforeMembers) {
+        this(shardCount, simulationHz, maxCatchUpSteps, beforeMembers, TickObserver.NONE);
+    }
+
+    public TickEngine(int shardCount, int simulationHz, int maxCatchUpSteps, DoubleConsumer beforeMembers,
+                      TickObserver observer) {
+        this.shards = new TickShard[shardCount];
+        this.threads = new Thread[shardCount];
+        long stepNanos = TimeUnit.SECONDS.toNanos(1) / simulationHz;
+
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new TickShard(i, this, stepNanos, maxCatchUpSteps, beforeMembers, observer);
+            threads[i] = Thread.ofPlatform()
+                    .name("tick-shard-" + i)
+                    .daemon(true)
+                    .start(shards[i]);
+        }
+    }
+
+    public void register(Tickable tickable) {
+        leastLoaded().add(tickable);
+    }
+
+    public int shardCount() {
+        return shards.length;
+    }
+
+    public int sessionCount() {
+        int count = 0;
+        for (TickShard shard : shards) {
+            count += shard.size();
+        }
+        return count;
+    }
+
+    /**
+     * Sessions that were simulated or sent to in the last step of their shard, as opposed
+     * to hibernating ones.
+     */
+    public int activeSessionCount() {
+        int count = 0;
+        for (TickShard shard : shards) {
+            count += shard.activeMembers();
+        }
+        return count;
+    }
+
+    /**
+     * Real time the shards have given up so far because they could not keep pace.
+     */
+    public long droppedNanos() {
+        long dropped = 0;
+        for (TickShard shard : shards) {
+            dropped += shard.droppedNanos();
+        }
+        return dropped;
+    }
+
+    /**
+     * Average heap bytes the shard threads allocated per simulation step, sessions and
+     * frame encoding included. Ideally close to zero: whatever is allocated here ends up
+     * as young-GC pauses that players see as stutter.
+     */
+    public double allocatedBytesPerStep() {
+        long bytes = 0;
+        long steps = 0;
+        for (TickShard shard : shards) {
+            bytes += shard.allocatedBytes();
+            steps += shard.measuredSteps();
+        }
+        return steps == 0 ? 0 : bytes / (double) steps;
+    }
+
+    synchronized void rebalance() {
+        TickShard smallest = leastLoaded();
+        TickShard largest = shards[0];
+        for (TickShard shard : shards) {
+            if (shard.size() > largest.size()) {
+                largest = shard;
+            }
+        }
+
+        int surplus = (largest.size() - smallest.size()) / 2;
+        if (surplus > 0) {
+            largest.migrateTo(smallest, surplus);
+        }
+    }
+
+    private TickShard leastLoaded() {
+        TickShard smallest = shards[0];
+        for (TickShard shard : shards) {
+            if (shard.size() < smallest.size()) {
+                smallest = shard;
+            }
+        }
+        return smallest;
+    }
+
+    @Override
+    public void close() {
+        for (TickShard shard : shards) {
+            shard.stop();
+        }
+        for (Thread thread : threads) {
+            thread.interrupt();
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package io.hellorin.reverseplatformer.adapters.in.websocket.tick;
+
+/**
+ * Told how punctual and how long every shard step is, e.g. for metrics. Called on the
+ * shard threads, so implementations must be cheap and must not allocate.
+ */
+public interface TickObserver {
+
+    TickObserver NONE = new TickObserver() {
+        @Override
+        public void woke(long latenessNanos) {
+        }
+
+        @Override
+        public void stepped(long durationNanos) {
+        }
+    };
+
+    /**
+     * A shard resumed after waiting for its next step, this long after the step was due.
+     */
+    void woke(long latenessNanos);
+
+    /**
+     * A shard ticked all of its sessions once.
+     */
+    void stepped(long durationNanos);
+}
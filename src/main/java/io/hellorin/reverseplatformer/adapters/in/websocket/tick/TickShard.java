@@ -0,0 +1,252 @@
+package io.hellorin.reverseplatformer.adapters.in.websocket.tick;
+
+import com.sun.management.ThreadMXBean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.DoubleConsumer;
+
+/**
+ * One tick thread and the sessions it owns. Membership is only ever changed by the
+ * shard thread itself; other threads hand over work through lock-free queues that
+ * are drained at the start of every tick.
+ */
+class TickShard implements Runnable {
+
+    private static final Logger log = LoggerFactory.getLogger(TickShard.class);
+    private static final long SPIN_THRESHOLD_NANOS = TimeUnit.MICROSECONDS.toNanos(200);
+    private static final long LAG_REPORT_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(5);
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final ThreadMXBean THREADS = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private final int index;
+    private final TickEngine engine;
+    private final SimulationClock clock;
+    private final double deltaTime;
+    private final DoubleConsumer beforeMembers;
+    private final TickObserver observer;
+    private final List<Tickable> members = new ArrayList<>();
+    private final Queue<Tickable> arrivals = new ConcurrentLinkedQueue<>();
+    private final AtomicReference<Migration> pendingMigration = new AtomicReference<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final Runnable wake = this::wake;
+    private volatile boolean running = true;
+    private volatile Thread thread;
+    private volatile int activeMembers;
+
+    private record Migration(TickShard target, int count) {}
+
+    private long reportedDroppedNanos;
+    private long lastLagReport;
+    private volatile long allocatedBytes;
+    private volatile long measuredSteps;
+
+    TickShard(int index, TickEngine engine, long stepNanos, int maxCatchUpSteps, DoubleConsumer beforeMembers,
+              TickObserver observer) {
+        this.index = index;
+        this.engine = engine;
+        this.beforeMembers = beforeMembers;
+        this.observer = observer;
+        this.clock = new SimulationClock(stepNanos, maxCatchUpSteps);
+        this.deltaTime = stepNanos / (double) TimeUnit.SECONDS.toNanos(1);
+    }
+
+    void add(Tickable tickable) {
+        size.incrementAndGet();
+        arrivals.add(tickable);
+        wake();
+    }
+
+    void migrateTo(TickShard target, int count) {
+        pendingMigration.compareAndSet(null, new Migration(target, count));
+    }
+
+    int size() {
+        return size.get();
+    }
+
+    int index() {
+        return index;
+    }
+
+    void stop() {
+        running = false;
+        wake();
+    }
+
+    private void wake() {
+        Thread shardThread = thread;
+        if (shardThread != null) {
+            LockSupport.unpark(shardThread);
+        }
+    }
+
+    int activeMembers() {
+        return activeMembers;
+    }
+
+    long droppedNanos() {
+        return clock.droppedNanos();
+    }
+
+    long allocatedBytes() {
+        return allocatedBytes;
+    }
+
+    long measuredSteps() {
+        return measuredSteps;
+    }
+
+    /**
+     * Heap bytes allocated by the calling thread so far, or {@code -1} when the JVM
+     * cannot tell.
+     */
+    private static long allocatedByThisThread() {
+        return THREADS.isThreadAllocatedMemoryEnabled() ? THREADS.getCurrentThreadAllocatedBytes() : -1;
+    }
+
+    @Override
+    public void run() {
+        thread = Thread.currentThread();
+        clock.start(System.nanoTime());
+        long dueAt = 0;
+        while (running) {
+            long now = System.nanoTime();
+            if (dueAt != 0) {
+                observer.woke(now - dueAt);
+            }
+            int steps = clock.advance(now);
+            long allocatedBefore = allocatedByThisThread();
+            for (int i = 0; i < steps; i++) {
+                long stepStart = System.nanoTime();
+                step();
+                observer.stepped(System.nanoTime() - stepStart);
+            }
+            if (steps > 0 && allocatedBefore >= 0) {
+                allocatedBytes += allocatedByThisThread() - allocatedBefore;
+                measuredSteps += steps;
+            }
+            reportLag();
+
+            if (activeMembers == 0 && arrivals.isEmpty()) {
+                sleepWhileIdle();
+                dueAt = 0;
+            } else {
+                dueAt = clock.nextStepAt();
+                waitUntil(dueAt);
+            }
+        }
+    }
+
+    /**
+     * Parks for most of the wait and spins for the last stretch, since parkNanos alone
+     * can overshoot by more than a tenth of a 60 Hz step.
+     */
+    private void waitUntil(long deadline) {
+        long remaining = deadline - System.nanoTime();
+        if (remaining > SPIN_THRESHOLD_NANOS) {
+            LockSupport.parkNanos(remaining - SPIN_THRESHOLD_NANOS);
+        }
+        while (running && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Nothing on this shard needs simulating: park until a participant wakes us (or a
+     * heartbeat round is due), then step right away and restart the clock so the idle
+     * time is not mistaken for lag.
+     */
+    private void sleepWhileIdle() {
+        LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+        step();
+        clock.start(System.nanoTime());
+    }
+
+    private void reportLag() {
+        long dropped = clock.droppedNanos();
+        if (dropped == reportedDroppedNanos) return;
+
+        long now = System.nanoTime();
+        if (now - lastLagReport < LAG_REPORT_INTERVAL_NANOS) return;
+
+        log.warn("Tick shard {} is overloaded: fell {} ms behind real time since the last report ({} sessions)",
+                index, TimeUnit.NANOSECONDS.toMillis(dropped - reportedDroppedNanos), size());
+        reportedDroppedNanos = dropped;
+        lastLagReport = now;
+    }
+
+    void step() {
+        Tickable arrival;
+        while ((arrival = arrivals.poll()) != null) {
+            arrival.attach(wake);
+            members.add(arrival);
+        }
+
+        Migration migration = pendingMigration.getAndSet(null);
+        if (migration != null) {
+            for (int i = 0; i < migration.count() && !members.isEmpty(); i++) {
+                Tickable moved = members.removeLast();
+                detach(moved);
+                size.decrementAndGet();
+                migration.target().add(moved);
+            }
+        }
+
+        for (int i = 0; i < members.size(); i++) {
+            members.get(i).beforeTick(deltaTime);
+        }
+        beforeMembers.accept(deltaTime);
+
+        boolean dropped = false;
+        int active = 0;
+        for (int i = 0; i < members.size(); ) {
+            Tickable member = members.get(i);
+            if (tick(member)) {
+                if (!member.isHibernating()) {
+                    active++;
+                }
+                i++;
+            } else {
+                detach(member);
+                Tickable last = members.removeLast();
+                if (i < members.size()) {
+                    members.set(i, last);
+                }
+                size.decrementAndGet();
+                dropped = true;
+            }
+        }
+        activeMembers = active;
+
+        if (dropped) {
+            engine.rebalance();
+        }
+    }
+
+    private boolean tick(Tickable tickable) {
+        try {
+            return tickable.tick(deltaTime);
+        } catch (RuntimeException e) {
+            log.error("Dropping session after tick failure on shard {}", index, e);
+            return false;
+        }
+    }
+
+    private void detach(Tickable tickable) {
+        try {
+            tickable.detach();
+        } catch (RuntimeException e) {
+            log.error("Session failed to detach from shard {}", index, e);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package io.hellorin.reverseplatformer.adapters.in.websocket.tick;
+
+public interface Tickable {
+
+    /**
+     * Advances this participant by one tick on its owning shard thread.
+     *
+     * @return {@code false} once the participant is finished and should be dropped from its shard
+     */
+    boolean tick(double deltaTime);
+
+    /**
+     * Called on every participant of a shard before the shard's shared work and before any
+     * participant's {@link #tick}, e.g. to apply input that the shared work must see.
+     */
+    default void beforeTick(double deltaTime) {
+    }
+
+    /**
+     * Whether this participant currently has nothing to simulate or send. A shard whose
+     * participants are all hibernating sleeps until one of them wakes it.
+     */
+    default boolean isHibernating() {
+        return false;
+    }
+
+    /**
+     * Called on the shard thread when this participant joins a shard, with a callback
+     * that wakes that shard from any thread.
+     */
+    default void attach(Runnable wakeShard) {
+    }
+
+    /**
+     * Called on the shard thread when this participant leaves it, either to move to
+     * another shard or because it was dropped.
+     */
+    default void detach() {
+    }
+}
@@ -0,0 +1,174 @@
+package io.hellorin.reverseplatformer.adapters.out.replay;
+
+import io.hellorin.reverseplatformer.application.ports.in.GameCommand;
+import io.hellorin.reverseplatformer.application.ports.in.TickedCommand;
+import io.hellorin.reverseplatformer.application.ports.out.ReplayRecorder;
+import io.hellorin.reverseplatformer.domain.model.GameState;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * One session's replay file. The tick thread only queues entries; the recorder's flush
+ * thread opens the file, appends them to its mapping and forces them out in batches.
+ */
+final class MappedReplayLog implements ReplayRecorder.Recording {
+
+    private static final long OPEN = -1;
+
+    private record GameStart(long tick, int level) {
+    }
+
+    private record Outcome(long tick, int level, GameState.Status status) {
+    }
+
+    private final Path path;
+    private final ReplayRecorder.Setup setup;
+    private final long startedAtMillis;
+    private final int initialBytes;
+    private final Queue<Object> pending = new ConcurrentLinkedQueue<>();
+    private volatile long closedAtTick = OPEN;
+
+    // Owned by the flush thread.
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+
+    MappedReplayLog(Path path, ReplayRecorder.Setup setup, long startedAtMillis, int initialBytes) {
+        this.path = path;
+        this.setup = setup;
+        this.startedAtMillis = startedAtMillis;
+        this.initialBytes = Math.max(initialBytes, ReplayFormat.HEADER_BYTES + ReplayFormat.MAX_RECORD_BYTES);
+    }
+
+    Path path() {
+        return path;
+    }
+
+    @Override
+    public void command(long tick, GameCommand command) {
+        pending.add(new TickedCommand(tick, command));
+    }
+
+    @Override
+    public void gameStarted(long tick, int level) {
+        pending.add(new GameStart(tick, level));
+    }
+
+    @Override
+    public void outcome(long tick, int level, GameState.Status status) {
+        pending.add(new Outcome(tick, level, status));
+    }
+
+    @Override
+    public void close(long tick) {
+        if (closedAtTick == OPEN) {
+            closedAtTick = tick;
+        }
+    }
+
+    /**
+     * Writes out everything queued so far. Returns {@code true} once the log is closed
+     * and complete on disk.
+     */
+    boolean flush() throws IOException {
+        long closedAt = closedAtTick;
+        if (channel == null) {
+            open();
+        }
+
+        boolean written = false;
+        Object entry;
+        while ((entry = pending.poll()) != null) {
+            write(entry);
+            written = true;
+        }
+
+        if (closedAt != OPEN) {
+            ensure(ReplayFormat.MAX_RECORD_BYTES);
+            buffer.put(ReplayFormat.END).putLong(closedAt);
+            finish();
+            return true;
+        }
+        if (written) {
+            buffer.force();
+        }
+        return false;
+    }
+
+    /**
+     * Ends the file without an {@code END} record, e.g. on shutdown: a replay of it stops
+     * at the last recorded tick.
+     */
+    void abandon() throws IOException {
+        if (channel == null) return;
+
+        Object entry;
+        while ((entry = pending.poll()) != null) {
+            write(entry);
+        }
+        finish();
+    }
+
+    private void open() throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        map(initialBytes, 0);
+        buffer.putInt(ReplayFormat.MAGIC)
+                .putShort(ReplayFormat.VERSION)
+                .put(setup.batchEngine() ? (byte) 1 : (byte) 0)
+                .putInt(setup.plannerRollouts())
+                .put(setup.budgetedPlanner() ? (byte) 1 : (byte) 0)
+                .putDouble(setup.stepSeconds())
+                .putLong(startedAtMillis);
+    }
+
+    private void write(Object entry) {
+        ensure(ReplayFormat.MAX_RECORD_BYTES);
+        switch (entry) {
+            case TickedCommand(long tick, GameCommand command) -> {
+                switch (command) {
+                    case GameCommand.Start start -> buffer.put(ReplayFormat.START).putLong(tick);
+                    case GameCommand.Restart restart -> buffer.put(ReplayFormat.RESTART).putLong(tick);
+                    case GameCommand.NextLevel nextLevel -> buffer.put(ReplayFormat.NEXT_LEVEL).putLong(tick);
+                    case GameCommand.PlaceTrap placeTrap -> buffer.put(ReplayFormat.PLACE_TRAP).putLong(tick)
+                            .put((byte) placeTrap.trapType().ordinal())
+                            .putDouble(placeTrap.x())
+                            .putDouble(placeTrap.y());
+                }
+            }
+            case GameStart(long tick, int level) -> buffer.put(ReplayFormat.GAME_START).putLong(tick).putInt(level);
+            case Outcome(long tick, int level, GameState.Status status) ->
+                    buffer.put(ReplayFormat.OUTCOME).putLong(tick).putInt(level).put((byte) status.ordinal());
+            default -> throw new IllegalArgumentException("Unknown replay entry: " + entry);
+        }
+    }
+
+    private void ensure(int bytes) {
+        if (buffer.remaining() < bytes) {
+            try {
+                map(buffer.capacity() * 2L, buffer.position());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private void map(long size, int position) throws IOException {
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        buffer.position(position);
+    }
+
+    private void finish() throws IOException {
+        buffer.force();
+        channel.truncate(buffer.position());
+        channel.close();
+    }
+}
@@ -0,0 +1,102 @@
+package io.hellorin.reverseplatformer.adapters.out.replay;
+
+import io.hellorin.reverseplatformer.application.ports.out.ReplayRecorder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Writes one memory-mapped, append-only replay file per session into a directory. All
+ * file work happens on a single flush thread that wakes every {@code flushIntervalMs},
+ * so tick threads never wait on the disk.
+ */
+public class MappedReplayRecorder implements ReplayRecorder, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(MappedReplayRecorder.class);
+
+    private final Path directory;
+    private final int initialFileBytes;
+    private final long flushIntervalNanos;
+    private final Queue<MappedReplayLog> logs = new ConcurrentLinkedQueue<>();
+    private final Thread flusher;
+    private volatile boolean running = true;
+
+    public MappedReplayRecorder(Path directory, int initialFileBytes, long flushIntervalMs) {
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create replay directory " + directory, e);
+        }
+        this.directory = directory;
+        this.initialFileBytes = initialFileBytes;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        this.flusher = Thread.ofPlatform()
+                .name("replay-flush")
+                .daemon()
+                .start(this::run);
+    }
+
+    @Override
+    public Recording start(String sessionId, Setup setup) {
+        long now = System.currentTimeMillis();
+        MappedReplayLog replayLog = new MappedReplayLog(directory.resolve(now + "-" + sessionId + ".replay"),
+                setup, now, initialFileBytes);
+        logs.add(replayLog);
+        return replayLog;
+    }
+
+    private void run() {
+        while (running) {
+            LockSupport.parkNanos(flushIntervalNanos);
+            flushAll();
+        }
+    }
+
+    private void flushAll() {
+        for (Iterator<MappedReplayLog> it = logs.iterator(); it.hasNext(); ) {
+            MappedReplayLog replayLog = it.next();
+            try {
+                if (replayLog.flush()) {
+                    it.remove();
+                }
+            } catch (IOException | UncheckedIOException e) {
+                log.warn("Giving up on replay {}", replayLog.path(), e);
+                it.remove();
+            }
+        }
+    }
+
+    /**
+     * Stops the flush thread, then writes out what is queued. Logs still open are left
+     * without an end marker.
+     */
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(flusher);
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        flushAll();
+        for (MappedReplayLog replayLog : logs) {
+            try {
+                replayLog.abandon();
+            } catch (IOException | UncheckedIOException e) {
+                log.warn("Could not finish replay {}", replayLog.path(), e);
+            }
+        }
+        logs.clear();
+    }
+}
@@ -0,0 +1,22 @@
+package io.hellorin.reverseplatformer.adapters.out.replay;
+
+import io.hellorin.reverseplatformer.application.ports.out.ReplayRecorder;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+@Configuration
+@EnableConfigurationProperties(ReplayProperties.class)
+public class ReplayConfig {
+
+    @Bean
+    public ReplayRecorder replayRecorder(ReplayProperties properties) {
+        if (!properties.enabled()) {
+            return ReplayRecorder.DISABLED;
+        }
+        return new MappedReplayRecorder(Path.of(properties.directory()), properties.initialFileBytes(),
+                properties.flushIntervalMs());
+    }
+}
@@ -0,0 +1,177 @@
+package io.hellorin.reverseplatformer.adapters.out.replay;
+
+import io.hellorin.reverseplatformer.application.ports.in.GameCommand;
+import io.hellorin.reverseplatformer.application.ports.in.TickedCommand;
+import io.hellorin.reverseplatformer.application.ports.out.ReplayRecorder;
+import io.hellorin.reverseplatformer.domain.model.GameState;
+import io.hellorin.reverseplatformer.domain.model.TrapType;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A parsed replay file: the session's setup, its commands in tick order, the outcome of
+ * each game and a seek index of where each game started.
+ */
+public final class ReplayFile {
+
+    /**
+     * A game start: a fresh game on {@code level} at {@code tick}, with the commands after it
+     * starting at {@code commandIndex}. Nothing before it affects the game.
+     */
+    public record Checkpoint(long tick, int commandIndex, int level) {
+    }
+
+    public record Outcome(long tick, int level, GameState.Status status) {
+    }
+
+    private final ReplayRecorder.Setup setup;
+    private final long startedAtMillis;
+    private final List<TickedCommand> commands;
+    private final List<Checkpoint> checkpoints;
+    private final List<Outcome> outcomes;
+    private final long endTick;
+    private final boolean complete;
+
+    private ReplayFile(ReplayRecorder.Setup setup, long startedAtMillis, List<TickedCommand> commands,
+                       List<Checkpoint> checkpoints, List<Outcome> outcomes, long endTick, boolean complete) {
+        this.setup = setup;
+        this.startedAtMillis = startedAtMillis;
+        this.commands = Collections.unmodifiableList(commands);
+        this.checkpoints = Collections.unmodifiableList(checkpoints);
+        this.outcomes = Collections.unmodifiableList(outcomes);
+        this.endTick = endTick;
+        this.complete = complete;
+    }
+
+    public static ReplayFile read(Path path) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+        if (buffer.remaining() < ReplayFormat.HEADER_BYTES || buffer.getInt() != ReplayFormat.MAGIC) {
+            throw new IOException("Not a replay file: " + path);
+        }
+        short version = buffer.getShort();
+        if (version != ReplayFormat.VERSION) {
+            throw new IOException("Unsupported replay version " + version + ": " + path);
+        }
+        boolean batchEngine = buffer.get() != 0;
+        int plannerRollouts = buffer.getInt();
+        boolean budgetedPlanner = buffer.get() != 0;
+        double stepSeconds = buffer.getDouble();
+        long startedAtMillis = buffer.getLong();
+
+        List<TickedCommand> commands = new ArrayList<>();
+        List<Checkpoint> checkpoints = new ArrayList<>();
+        List<Outcome> outcomes = new ArrayList<>();
+        long endTick = 0;
+        boolean complete = false;
+        TrapType[] trapTypes = TrapType.values();
+        GameState.Status[] statuses = GameState.Status.values();
+
+        while (!complete && buffer.remaining() > 0) {
+            int offset = buffer.position();
+            byte type = buffer.get();
+            if (type == ReplayFormat.NONE) break;
+
+            int payloadBytes = switch (type) {
+                case ReplayFormat.START, ReplayFormat.RESTART, ReplayFormat.NEXT_LEVEL, ReplayFormat.END -> 0;
+                case ReplayFormat.PLACE_TRAP -> 1 + 8 + 8;
+                case ReplayFormat.GAME_START -> 4;
+                case ReplayFormat.OUTCOME -> 4 + 1;
+                default -> throw new IOException("Corrupt replay record type " + type + " at offset " + offset
+                        + " in " + path);
+            };
+            if (buffer.remaining() < 8 + payloadBytes) {
+                throw new IOException("Truncated replay record at offset " + offset + " in " + path);
+            }
+
+            long tick = buffer.getLong();
+            endTick = Math.max(endTick, tick);
+            switch (type) {
+                case ReplayFormat.START -> commands.add(new TickedCommand(tick, GameCommand.START));
+                case ReplayFormat.RESTART -> commands.add(new TickedCommand(tick, GameCommand.RESTART));
+                case ReplayFormat.NEXT_LEVEL -> commands.add(new TickedCommand(tick, GameCommand.NEXT_LEVEL));
+                case ReplayFormat.PLACE_TRAP -> commands.add(new TickedCommand(tick, new GameCommand.PlaceTrap(
+                        ordinal(trapTypes, buffer.get(), offset, path), buffer.getDouble(), buffer.getDouble())));
+                case ReplayFormat.GAME_START -> checkpoints.add(new Checkpoint(tick, commands.size(), buffer.getInt()));
+                case ReplayFormat.OUTCOME -> outcomes.add(new Outcome(tick, buffer.getInt(),
+                        ordinal(statuses, buffer.get(), offset, path)));
+                default -> complete = true;
+            }
+        }
+
+        ReplayRecorder.Setup setup = new ReplayRecorder.Setup(stepSeconds, batchEngine, plannerRollouts,
+                budgetedPlanner);
+        return new ReplayFile(setup, startedAtMillis, commands, checkpoints, outcomes, endTick, complete);
+    }
+
+    private static <T> T ordinal(T[] values, byte ordinal, int offset, Path path) throws IOException {
+        if (ordinal < 0 || ordinal >= values.length) {
+            throw new IOException("Corrupt replay record at offset " + offset + " in " + path + ": no "
+                    + values.getClass().getComponentType().getSimpleName() + " " + ordinal);
+        }
+        return values[ordinal];
+    }
+
+    public ReplayRecorder.Setup setup() {
+        return setup;
+    }
+
+    public long startedAtMillis() {
+        return startedAtMillis;
+    }
+
+    public List<TickedCommand> commands() {
+        return commands;
+    }
+
+    public List<Checkpoint> checkpoints() {
+        return checkpoints;
+    }
+
+    public List<Outcome> outcomes() {
+        return outcomes;
+    }
+
+    /**
+     * The tick the session was closed at or, for a log cut short, its last recorded tick.
+     */
+    public long endTick() {
+        return endTick;
+    }
+
+    /**
+     * Whether the log was closed cleanly rather than cut short.
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * The last game start applied before step {@code tick}, or {@code null} if there was none.
+     */
+    public Checkpoint checkpointAt(long tick) {
+        int low = 0;
+        int high = checkpoints.size() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (checkpoints.get(mid).tick() < tick) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return high >= 0 ? checkpoints.get(high) : null;
+    }
+}
@@ -0,0 +1,35 @@
+package io.hellorin.reverseplatformer.adapters.out.replay;
+
+/**
+ * Layout of a replay file, all little-endian.
+ * <pre>
+ * header:  int magic, short version, byte batchEngine, int plannerRollouts,
+ *          byte budgetedPlanner, double stepSeconds, long startedAtMillis
+ * records: byte type, long tick, then by type:
+ *          PLACE_TRAP  byte trapType, double x, double y
+ *          GAME_START  int level
+ *          OUTCOME     int level, byte status
+ * </pre>
+ * A type of {@code 0} ends the data: the file is mapped ahead of what is written, and a
+ * log cut short by a crash simply stops there. A cleanly closed log ends with {@code END}.
+ */
+final class ReplayFormat {
+
+    static final int MAGIC = 0x4C505253;
+    static final short VERSION = 2;
+    static final int HEADER_BYTES = 4 + 2 + 1 + 4 + 1 + 8 + 8;
+
+    static final byte NONE = 0;
+    static final byte START = 1;
+    static final byte RESTART = 2;
+    static final byte NEXT_LEVEL = 3;
+    static final byte PLACE_TRAP = 4;
+    static final byte GAME_START = 5;
+    static final byte OUTCOME = 6;
+    static final byte END = 7;
+
+    static final int MAX_RECORD_BYTES = 1 + 8 + 1 + 8 + 8;
+
+    private ReplayFormat() {
+    }
+}
@@ -0,0 +1,17 @@
+package io.hellorin.reverseplatformer.adapters.out.replay;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * @param enabled          whether sessions are recorded at all
+ * @param directory        where replay files are written, one per session
+ * @param flushIntervalMs  how often queued records are written out and forced to disk
+ * @param initialFileBytes size each file is first mapped with; it doubles whenever it fills up
+ */
+@ConfigurationProperties(prefix = "saboteur.replay")
+public record ReplayProperties(@DefaultValue("false") boolean enabled,
+                               @DefaultValue("replays") String directory,
+                               @DefaultValue("200") long flushIntervalMs,
+                               @DefaultValue("4096") int initialFileBytes) {
+}
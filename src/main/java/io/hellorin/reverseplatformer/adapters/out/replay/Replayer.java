@@ -0,0 +1,112 @@
+package io.hellorin.reverseplatformer.adapters.out.replay;
+
+import io.hellorin.reverseplatformer.application.GameSession;
+import io.hellorin.reverseplatformer.application.GameSimulation;
+import io.hellorin.reverseplatformer.application.ports.in.GameCommand;
+import io.hellorin.reverseplatformer.application.ports.in.GameUseCase;
+import io.hellorin.reverseplatformer.application.ports.in.TickedCommand;
+import io.hellorin.reverseplatformer.application.ports.out.ReplayRecorder;
+import io.hellorin.reverseplatformer.application.service.BatchGameService;
+import io.hellorin.reverseplatformer.application.service.GameService;
+import io.hellorin.reverseplatformer.application.service.LevelService;
+import io.hellorin.reverseplatformer.application.service.TrapService;
+import io.hellorin.reverseplatformer.domain.model.GameState;
+import io.hellorin.reverseplatformer.domain.model.RunnerBatch;
+import io.hellorin.reverseplatformer.domain.service.PhysicsService;
+import io.hellorin.reverseplatformer.domain.service.RolloutPlanner;
+import io.hellorin.reverseplatformer.domain.service.RunnerAIService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.DoubleConsumer;
+
+/**
+ * Reconstructs recorded games headlessly by re-simulating their commands as fast as the
+ * CPU allows. A planner runner is replayed with the deterministic planner, so recordings
+ * made with a time-budgeted planner are rejected: any decision cut short by its budget
+ * would come out differently.
+ */
+public class Replayer {
+
+    private final ReplayFile file;
+
+    public Replayer(ReplayFile file) {
+        if (file.setup().budgetedPlanner()) {
+            throw new IllegalArgumentException("Recorded with a time-budgeted planner, which cannot be replayed");
+        }
+        this.file = file;
+    }
+
+    /**
+     * A simulation that has taken {@code tick} steps of the recording, i.e. applied the
+     * commands recorded before that tick. It is started from the last game start before
+     * it rather than from the beginning of the session.
+     */
+    public GameSimulation seek(long tick) {
+        List<TickedCommand> commands = file.commands();
+        ReplayFile.Checkpoint checkpoint = file.checkpointAt(tick);
+        if (checkpoint == null) {
+            GameSimulation simulation = newSimulation(1, ReplayRecorder.Recording.DISABLED);
+            simulation.replay(commands, tick, file.setup().stepSeconds());
+            return simulation;
+        }
+
+        GameSimulation simulation = newSimulation(checkpoint.level(), ReplayRecorder.Recording.DISABLED);
+        simulation.resetTick(checkpoint.tick());
+        simulation.execute(GameCommand.RESTART);
+        simulation.replay(commands.subList(checkpoint.commandIndex(), commands.size()), tick,
+                file.setup().stepSeconds());
+        return simulation;
+    }
+
+    /**
+     * Re-simulates the whole session and returns the outcomes it reaches, which match
+     * {@link ReplayFile#outcomes()} for a faithful recording.
+     */
+    public List<ReplayFile.Outcome> replayOutcomes() {
+        List<ReplayFile.Outcome> outcomes = new ArrayList<>();
+        ReplayRecorder.Recording collector = new ReplayRecorder.Recording() {
+            @Override
+            public void command(long tick, GameCommand command) {
+            }
+
+            @Override
+            public void gameStarted(long tick, int level) {
+            }
+
+            @Override
+            public void outcome(long tick, int level, GameState.Status status) {
+                outcomes.add(new ReplayFile.Outcome(tick, level, status));
+            }
+
+            @Override
+            public void close(long tick) {
+            }
+        };
+        newSimulation(1, collector).replay(file.commands(), file.endTick(), file.setup().stepSeconds());
+        return outcomes;
+    }
+
+    private GameSimulation newSimulation(int level, ReplayRecorder.Recording recording) {
+        ReplayRecorder.Setup setup = file.setup();
+        GameSession gameSession = new GameSession(level);
+        PhysicsService physicsService = new PhysicsService();
+        RunnerAIService runnerAIService = setup.plannerRollouts() > 0
+                ? new RunnerAIService(RolloutPlanner.deterministic(setup.plannerRollouts(), setup.stepSeconds()))
+                : new RunnerAIService();
+
+        GameUseCase gameUseCase;
+        DoubleConsumer beforeStep;
+        if (setup.batchEngine()) {
+            RunnerBatch batch = new RunnerBatch();
+            gameUseCase = new BatchGameService(gameSession, physicsService, runnerAIService);
+            gameUseCase.useRunnerBatch(batch);
+            beforeStep = batch::stepAll;
+        } else {
+            gameUseCase = new GameService(gameSession, physicsService, runnerAIService);
+            beforeStep = deltaTime -> {};
+        }
+        return new GameSimulation(gameUseCase, new LevelService(gameSession), new TrapService(gameSession),
+                recording, beforeStep);
+    }
+}
@@ -0,0 +1,328 @@
+package io.hellorin.reverseplatformer.application;
+
+import io.hellorin.reverseplatformer.application.ports.in.GameCommand;
+import io.hellorin.reverseplatformer.application.service.GameService;
+import io.hellorin.reverseplatformer.domain.model.GameState;
+import io.hellorin.reverseplatformer.domain.model.Level;
+import io.hellorin.reverseplatformer.domain.model.Platform;
+import io.hellorin.reverseplatformer.domain.model.Rectangle;
+import io.hellorin.reverseplatformer.domain.model.Runner;
+import io.hellorin.reverseplatformer.domain.model.SpatialIndex;
+import io.hellorin.reverseplatformer.domain.model.Trap;
+import io.hellorin.reverseplatformer.domain.model.TrapType;
+import io.hellorin.reverseplatformer.domain.service.PhysicsService;
+import io.hellorin.reverseplatformer.domain.service.RunnerAIService;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Computer opponent placing traps in one player's game. Every decision copies the game on
+ * the tick thread, then plays random affordable placements forward on further copies, in
+ * parallel on a shared bounded executor, and keeps the one that hurts the runner most. A
+ * decision stops at its time budget with the rollouts that finished. The tick thread picks
+ * the result up later and applies it like any other command, so the game itself is only
+ * ever touched by that thread. While a decision is in flight, or when the executor is
+ * full, further decisions are skipped rather than queued. The rollouts play the runner
+ * with the same AI as the game they decide for.
+ */
+public class ComputerSaboteur {
+
+    /**
+     * @param parallelism           rollout tasks per decision
+     * @param rolloutsPerDecision   most placements tried per decision
+     * @param budgetNanos           time a decision may take, from the snapshot to its last rollout
+     * @param horizonSeconds        how far each placement is played forward
+     * @param decisionIntervalTicks ticks between decisions
+     */
+    public record Settings(int parallelism, int rolloutsPerDecision, long budgetNanos, double horizonSeconds,
+                           int decisionIntervalTicks) {
+    }
+
+    private static final int CLOCK_CHECK_STEPS = 16;
+    private static final double WON = 1_000_000;
+    private static final double MIN_LEAD = 40;
+    private static final double MAX_LEAD = 360;
+    private static final double TRAP_SIZE = 30;
+    private static final TrapType[] TYPES = TrapType.values();
+
+    private final Executor executor;
+    private final Settings settings;
+    private final double stepSeconds;
+    private final int horizonSteps;
+    private final long seed;
+    private final LongSupplier nanoClock;
+    private final Supplier<RunnerAIService> runnerAI;
+    private final Worker[] workers;
+    private final AtomicInteger runningWorkers = new AtomicInteger();
+
+    private final AtomicLong rollouts = new AtomicLong();
+    private volatile long decisions;
+    private volatile long placements;
+    private volatile long skipped;
+
+    // Written by the tick thread before workers start, read-only while they run.
+    private GameState snapshot;
+    private long deadline;
+
+    // Tick thread only.
+    private GameState decidingFor;
+
+    // Guarded by this while workers run.
+    private double baselineScore;
+    private double bestScore;
+    private GameCommand.PlaceTrap bestPlacement;
+
+    private volatile boolean thinking;
+    private volatile GameCommand.PlaceTrap decision;
+
+    public ComputerSaboteur(Executor executor, Settings settings, double stepSeconds, long seed) {
+        this(executor, settings, stepSeconds, seed, RunnerAIService::new, System::nanoTime);
+    }
+
+    /**
+     * @param runnerAI creates the runner AI for one rollout worker, configured like the
+     *                 game's own
+     */
+    public ComputerSaboteur(Executor executor, Settings settings, double stepSeconds, long seed,
+                            Supplier<RunnerAIService> runnerAI) {
+        this(executor, settings, stepSeconds, seed, runnerAI, System::nanoTime);
+    }
+
+    ComputerSaboteur(Executor executor, Settings settings, double stepSeconds, long seed, LongSupplier nanoClock) {
+        this(executor, settings, stepSeconds, seed, RunnerAIService::new, nanoClock);
+    }
+
+    private ComputerSaboteur(Executor executor, Settings settings, double stepSeconds, long seed,
+                             Supplier<RunnerAIService> runnerAI, LongSupplier nanoClock) {
+        this.executor = executor;
+        this.settings = settings;
+        this.stepSeconds = stepSeconds;
+        this.horizonSteps = (int) Math.ceil(settings.horizonSeconds() / stepSeconds);
+        this.seed = seed;
+        this.nanoClock = nanoClock;
+        this.runnerAI = runnerAI;
+        this.workers = new Worker[Math.max(1, settings.parallelism())];
+        for (int i = 0; i < workers.length; i++) {
+            workers[i] = new Worker(i);
+        }
+    }
+
+    /**
+     * Called by the tick thread once per tick, before the step: applies a finished
+     * decision and starts the next one when it is due.
+     */
+    public void tick(GameSimulation simulation) {
+        GameState gameState = simulation.getGameState();
+        if (gameState == null || gameState.getStatus() != GameState.Status.RUNNING) return;
+
+        if (!thinking) {
+            GameCommand.PlaceTrap placement = decision;
+            if (placement != null) {
+                decision = null;
+                if (decidingFor == gameState) {
+                    simulation.execute(placement);
+                    placements++;
+                }
+            }
+        }
+
+        if (simulation.tick() % settings.decisionIntervalTicks() == 0) {
+            decide(gameState);
+        }
+    }
+
+    private void decide(GameState gameState) {
+        if (thinking) {
+            skipped++;
+            return;
+        }
+        if (!canAffordAny(gameState)) return;
+
+        if (snapshot == null || snapshot.getLevel() != gameState.getLevel()) {
+            snapshot = new GameState(gameState.getLevel());
+        }
+        snapshot.copyFrom(gameState);
+        decidingFor = gameState;
+        deadline = nanoClock.getAsLong() + settings.budgetNanos();
+        baselineScore = Double.NaN;
+        bestScore = Double.NEGATIVE_INFINITY;
+        bestPlacement = null;
+        decisions++;
+
+        thinking = true;
+        runningWorkers.set(workers.length);
+        for (Worker worker : workers) {
+            try {
+                executor.execute(worker);
+            } catch (RejectedExecutionException e) {
+                skipped++;
+                workerDone();
+            }
+        }
+    }
+
+    private static boolean canAffordAny(GameState gameState) {
+        for (TrapType type : TYPES) {
+            if (gameState.canAffordTrap(type)) return true;
+        }
+        return false;
+    }
+
+    private synchronized void offer(double score, GameCommand.PlaceTrap placement) {
+        if (placement == null) {
+            baselineScore = score;
+        } else if (score > bestScore) {
+            bestScore = score;
+            bestPlacement = placement;
+        }
+    }
+
+    private void workerDone() {
+        if (runningWorkers.decrementAndGet() > 0) return;
+
+        synchronized (this) {
+            // Only spend points on a trap that does better than placing none.
+            boolean worthIt = bestPlacement != null && !Double.isNaN(baselineScore) && bestScore > baselineScore;
+            decision = worthIt ? bestPlacement : null;
+        }
+        thinking = false;
+    }
+
+    public long decisions() {
+        return decisions;
+    }
+
+    /**
+     * Decisions that ended in a trap being placed.
+     */
+    public long placements() {
+        return placements;
+    }
+
+    public long rollouts() {
+        return rollouts.get();
+    }
+
+    /**
+     * Decisions, or parts of them, dropped because the previous one was still running or
+     * the executor was full.
+     */
+    public long skipped() {
+        return skipped;
+    }
+
+    private final class Worker implements Runnable {
+
+        private final int index;
+        private final SpatialIndex.Hits platforms = new SpatialIndex.Hits();
+        private final RunnerAIService runnerAIService = runnerAI.get();
+        private GameState scratch;
+        private GameService game;
+
+        private Worker(int index) {
+            this.index = index;
+        }
+
+        @Override
+        public void run() {
+            try {
+                Level level = snapshot.getLevel();
+                if (scratch == null || scratch.getLevel() != level) {
+                    scratch = new GameState(level);
+                    game = new GameService(new GameSession(scratch), new PhysicsService(), runnerAIService);
+                }
+                SplittableRandom random = new SplittableRandom(seed + decisions * workers.length + index);
+
+                if (index == 0) {
+                    double score = rollout(null);
+                    if (Double.isNaN(score)) return;
+                    offer(score, null);
+                }
+                for (int i = index; i < settings.rolloutsPerDecision(); i += workers.length) {
+                    GameCommand.PlaceTrap placement = sample(random);
+                    if (placement == null) return;
+
+                    double score = rollout(placement);
+                    if (Double.isNaN(score)) return;
+                    offer(score, placement);
+                }
+            } finally {
+                workerDone();
+            }
+        }
+
+        /**
+         * A random affordable trap on a platform somewhat ahead of the runner, or on its
+         * current ground level when there is no platform there.
+         */
+        private GameCommand.PlaceTrap sample(SplittableRandom random) {
+            int affordable = 0;
+            for (TrapType type : TYPES) {
+                if (snapshot.canAffordTrap(type)) affordable++;
+            }
+            if (affordable == 0) return null;
+
+            int pick = random.nextInt(affordable);
+            TrapType type = null;
+            for (TrapType candidate : TYPES) {
+                if (snapshot.canAffordTrap(candidate) && pick-- == 0) {
+                    type = candidate;
+                    break;
+                }
+            }
+
+            Runner runner = snapshot.getRunner();
+            double x = runner.getX() + random.nextDouble(MIN_LEAD, MAX_LEAD);
+            double y = runner.getBottom() - TRAP_SIZE;
+            snapshot.getLevel().queryPlatforms(x, x, platforms);
+            if (platforms.count() > 0) {
+                int chosen = platforms.get(random.nextInt(platforms.count()));
+                Platform platform = snapshot.getLevel().getPlatforms().get(chosen);
+                Rectangle bounds = platform.getBounds();
+                if (snapshot.isPlatformActive(chosen) && x >= bounds.x() && x <= bounds.right()) {
+                    y = bounds.y() - TRAP_SIZE;
+                }
+            }
+            return new GameCommand.PlaceTrap(type, x, y);
+        }
+
+        /**
+         * Plays the snapshot forward with the placement, or without a trap when it is
+         * {@code null}. Higher is better for the saboteur; {@code NaN} when out of time.
+         */
+        private double rollout(GameCommand.PlaceTrap placement) {
+            if (nanoClock.getAsLong() >= deadline) return Double.NaN;
+
+            scratch.copyFrom(snapshot);
+            if (placement != null) {
+                scratch.addTrap(new Trap("candidate", placement.trapType(), placement.x(), placement.y()));
+            }
+            for (int step = 0; step < horizonSteps; step++) {
+                if (step % CLOCK_CHECK_STEPS == CLOCK_CHECK_STEPS - 1 && nanoClock.getAsLong() >= deadline) {
+                    return Double.NaN;
+                }
+                game.update(stepSeconds);
+                switch (scratch.getStatus()) {
+                    case PLAYER_WINS -> {
+                        rollouts.incrementAndGet();
+                        return WON - step;
+                    }
+                    case RUNNER_WINS -> {
+                        rollouts.incrementAndGet();
+                        return -WON + step;
+                    }
+                    default -> {
+                    }
+                }
+            }
+            rollouts.incrementAndGet();
+            return -scratch.getRunner().getX();
+        }
+    }
+}
@@ -5,10 +5,29 @@ import io.hellorin.reverseplatformer.domain.model.Level;
 
 public class GameSession {
 
-    private static final int MAX_LEVEL = 5;
+    public static final int MAX_LEVEL = 5;
 
     private GameState gameState;
-    private int currentLevel = 1;
+    private int currentLevel;
+
+    public GameSession() {
+        this(1);
+    }
+
+    /**
+     * A session whose next game is played on the given level, e.g. to resume a replay.
+     */
+    public GameSession(int currentLevel) {
+        this.currentLevel = currentLevel;
+    }
+
+    /**
+     * A session around an existing game, e.g. a scratch copy to play forward.
+     */
+    public GameSession(GameState gameState) {
+        this(gameState.getLevel().getLevelNumber());
+        this.gameState = gameState;
+    }
 
     public void createNewGame() {
         Level level = Level.createLevel(currentLevel);
@@ -0,0 +1,129 @@
+package io.hellorin.reverseplatformer.application;
+
+import io.hellorin.reverseplatformer.application.ports.in.GameCommand;
+import io.hellorin.reverseplatformer.application.ports.in.GameUseCase;
+import io.hellorin.reverseplatformer.application.ports.in.LevelUseCase;
+import io.hellorin.reverseplatformer.application.ports.in.TickedCommand;
+import io.hellorin.reverseplatformer.application.ports.in.TrapUseCase;
+import io.hellorin.reverseplatformer.application.ports.out.ReplayRecorder;
+import io.hellorin.reverseplatformer.domain.model.GameState;
+import io.hellorin.reverseplatformer.domain.model.RunnerBatch;
+
+import java.util.List;
+import java.util.function.DoubleConsumer;
+
+/**
+ * Deterministic core of one player's game: commands applied at tick boundaries and fixed
+ * steps in between. Two simulations given the same commands at the same ticks and the
+ * same step size reach bit-identical states (see "Determinism" in the README).
+ */
+public class GameSimulation {
+
+    private final GameUseCase gameUseCase;
+    private final LevelUseCase levelUseCase;
+    private final TrapUseCase trapUseCase;
+    private final ReplayRecorder.Recording recording;
+    private final DoubleConsumer beforeStep;
+    private long tick;
+    private GameState finishedGame;
+
+    public GameSimulation(GameUseCase gameUseCase, LevelUseCase levelUseCase, TrapUseCase trapUseCase) {
+        this(gameUseCase, levelUseCase, trapUseCase, ReplayRecorder.Recording.DISABLED, deltaTime -> {});
+    }
+
+    /**
+     * @param recording  receives every command, game start and outcome
+     * @param beforeStep runs ahead of each step, e.g. to integrate a runner batch the game is bound to
+     */
+    public GameSimulation(GameUseCase gameUseCase, LevelUseCase levelUseCase, TrapUseCase trapUseCase,
+                          ReplayRecorder.Recording recording, DoubleConsumer beforeStep) {
+        this.gameUseCase = gameUseCase;
+        this.levelUseCase = levelUseCase;
+        this.trapUseCase = trapUseCase;
+        this.recording = recording;
+        this.beforeStep = beforeStep;
+    }
+
+    /**
+     * Applies a command before the next step, i.e. at tick {@link #tick()}.
+     */
+    public void execute(GameCommand command) {
+        recording.command(tick, command);
+        GameState before = gameUseCase.getGameState();
+        switch (command) {
+            case GameCommand.Start start -> gameUseCase.startGame();
+            case GameCommand.Restart restart -> levelUseCase.restartLevel();
+            case GameCommand.NextLevel nextLevel -> levelUseCase.nextLevel();
+            case GameCommand.PlaceTrap placeTrap ->
+                    trapUseCase.placeTrap(placeTrap.trapType(), placeTrap.x(), placeTrap.y());
+        }
+        GameState after = gameUseCase.getGameState();
+        if (after != before) {
+            recording.gameStarted(tick, after.getLevel().getLevelNumber());
+        }
+    }
+
+    /**
+     * Runs the first part of the next step, after its commands and before any shared work
+     * such as integrating a runner batch. {@link #step} does it itself if nobody did.
+     */
+    public void prepareStep(double deltaTime) {
+        gameUseCase.prepareStep(deltaTime);
+    }
+
+    public void step(double deltaTime) {
+        gameUseCase.prepareStep(deltaTime);
+        beforeStep.accept(deltaTime);
+        gameUseCase.update(deltaTime);
+        tick++;
+
+        GameState gameState = gameUseCase.getGameState();
+        if (gameState != null && gameState != finishedGame && gameState.getStatus() != GameState.Status.RUNNING) {
+            finishedGame = gameState;
+            recording.outcome(tick, gameState.getLevel().getLevelNumber(), gameState.getStatus());
+        }
+    }
+
+    /**
+     * Steps taken so far.
+     */
+    public long tick() {
+        return tick;
+    }
+
+    /**
+     * Sets the step count of a simulation resumed from a recorded game start.
+     */
+    public void resetTick(long tick) {
+        this.tick = tick;
+    }
+
+    public GameState getGameState() {
+        return gameUseCase.getGameState();
+    }
+
+    public void useRunnerBatch(RunnerBatch batch) {
+        gameUseCase.useRunnerBatch(batch);
+    }
+
+    /**
+     * Plays recorded commands, ordered by tick, from this simulation's current tick up to
+     * {@code untilTick}.
+     */
+    public void replay(List<TickedCommand> commands, long untilTick, double deltaTime) {
+        int next = 0;
+        while (next < commands.size() && commands.get(next).tick() < tick) {
+            next++;
+        }
+        while (tick < untilTick) {
+            while (next < commands.size() && commands.get(next).tick() == tick) {
+                execute(commands.get(next++).command());
+            }
+            step(deltaTime);
+        }
+    }
+
+    public void close() {
+        recording.close(tick);
+    }
+}
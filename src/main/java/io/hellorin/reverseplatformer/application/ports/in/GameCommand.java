@@ -0,0 +1,15 @@
+package io.hellorin.reverseplatformer.application.ports.in;
+
+import io.hellorin.reverseplatformer.domain.model.TrapType;
+
+public sealed interface GameCommand {
+
+    GameCommand START = new Start();
+    GameCommand RESTART = new Restart();
+    GameCommand NEXT_LEVEL = new NextLevel();
+
+    record Start() implements GameCommand {}
+    record Restart() implements GameCommand {}
+    record NextLevel() implements GameCommand {}
+    record PlaceTrap(TrapType trapType, double x, double y) implements GameCommand {}
+}
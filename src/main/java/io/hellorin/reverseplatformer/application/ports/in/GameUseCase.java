@@ -1,9 +1,25 @@
 package io.hellorin.reverseplatformer.application.ports.in;
 
 import io.hellorin.reverseplatformer.domain.model.GameState;
+import io.hellorin.reverseplatformer.domain.model.RunnerBatch;
 
 public interface GameUseCase {
     void startGame();
     void update(double deltaTime);
     GameState getGameState();
+
+    /**
+     * Hands the runner over to a batch whose owner integrates all of its runners at once,
+     * or takes it back with {@code null}. Engines that step each runner themselves ignore it.
+     */
+    default void useRunnerBatch(RunnerBatch batch) {
+    }
+
+    /**
+     * Runs the part of the next {@link #update} that must come before a batch integrates the
+     * runner, once the step's commands are applied. Engines that step each runner themselves
+     * do everything in {@link #update}.
+     */
+    default void prepareStep(double deltaTime) {
+    }
 }
@@ -0,0 +1,8 @@
+package io.hellorin.reverseplatformer.application.ports.in;
+
+/**
+ * A command together with the simulation tick it was applied at, i.e. the number of
+ * steps the game had taken before it.
+ */
+public record TickedCommand(long tick, GameCommand command) {
+}
@@ -0,0 +1,63 @@
+package io.hellorin.reverseplatformer.application.ports.out;
+
+import io.hellorin.reverseplatformer.application.ports.in.GameCommand;
+import io.hellorin.reverseplatformer.domain.model.GameState;
+
+/**
+ * Keeps an input log of every session: the commands applied at each tick plus the level
+ * and outcome of each game, which is all a deterministic re-simulation needs.
+ */
+public interface ReplayRecorder {
+
+    ReplayRecorder DISABLED = (sessionId, setup) -> Recording.DISABLED;
+
+    Recording start(String sessionId, Setup setup);
+
+    /**
+     * What a replay has to simulate with to reproduce the session.
+     *
+     * @param stepSeconds     fixed simulation step
+     * @param batchEngine     whether runners were stepped by the batch engine
+     * @param plannerRollouts rollouts per runner decision; {@code 0} for heuristics only
+     * @param budgetedPlanner whether decisions could stop early when out of time, which a
+     *                        replay cannot reproduce
+     */
+    record Setup(double stepSeconds, boolean batchEngine, int plannerRollouts, boolean budgetedPlanner) {
+    }
+
+    /**
+     * One session's log. Called from the session's tick thread only, and expected to
+     * return without blocking on I/O.
+     */
+    interface Recording {
+
+        Recording DISABLED = new Recording() {
+            @Override
+            public void command(long tick, GameCommand command) {
+            }
+
+            @Override
+            public void gameStarted(long tick, int level) {
+            }
+
+            @Override
+            public void outcome(long tick, int level, GameState.Status status) {
+            }
+
+            @Override
+            public void close(long tick) {
+            }
+        };
+
+        void command(long tick, GameCommand command);
+
+        void gameStarted(long tick, int level);
+
+        void outcome(long tick, int level, GameState.Status status);
+
+        /**
+         * Ends the log after {@code tick} steps. Safe to call more than once, from any thread.
+         */
+        void close(long tick);
+    }
+}
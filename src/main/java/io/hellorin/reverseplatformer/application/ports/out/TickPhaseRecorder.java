@@ -0,0 +1,46 @@
+package io.hellorin.reverseplatformer.application.ports.out;
+
+/**
+ * Receives how long each phase of a game update took, e.g. for metrics. Called from the
+ * tick thread on every step, so implementations must be cheap and must not allocate.
+ */
+public interface TickPhaseRecorder {
+
+    TickPhaseRecorder DISABLED = new TickPhaseRecorder() {
+        @Override
+        public long start() {
+            return 0;
+        }
+
+        @Override
+        public long lap(Phase phase, long startedAt) {
+            return 0;
+        }
+
+        @Override
+        public void record(Phase phase, long nanos) {
+        }
+    };
+
+    enum Phase { AI, PHYSICS, TRAP_COLLISIONS }
+
+    void record(Phase phase, long nanos);
+
+    /**
+     * @return the start of the first phase, in {@link System#nanoTime()} units
+     */
+    default long start() {
+        return System.nanoTime();
+    }
+
+    /**
+     * Records a phase that began at {@code startedAt} and ends now.
+     *
+     * @return the start of the next phase
+     */
+    default long lap(Phase phase, long startedAt) {
+        long now = System.nanoTime();
+        record(phase, now - startedAt);
+        return now;
+    }
+}
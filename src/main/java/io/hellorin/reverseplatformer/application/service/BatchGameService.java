@@ -0,0 +1,93 @@
+package io.hellorin.reverseplatformer.application.service;
+
+import io.hellorin.reverseplatformer.application.GameSession;
+import io.hellorin.reverseplatformer.application.ports.out.TickPhaseRecorder;
+import io.hellorin.reverseplatformer.domain.model.GameState;
+import io.hellorin.reverseplatformer.domain.model.Runner;
+import io.hellorin.reverseplatformer.domain.model.RunnerBatch;
+import io.hellorin.reverseplatformer.domain.service.PhysicsService;
+import io.hellorin.reverseplatformer.domain.service.RunnerAIService;
+
+/**
+ * Game engine whose runner lives in a shared {@link RunnerBatch}: the batch owner
+ * integrates every runner in one loop before the sessions update, and {@link #update}
+ * only resolves collisions and rules. The runner decides its next jump in
+ * {@link #prepareStep}, which the batch owner calls after the step's commands and before
+ * integrating, so each step runs in the same order as in {@link GameService}.
+ * Without a batch the runner is integrated here, like {@link GameService} does.
+ */
+public class BatchGameService extends GameService {
+
+    private RunnerBatch batch;
+    private Runner batchedRunner;
+    private boolean prepared;
+
+    public BatchGameService(GameSession session, PhysicsService physicsService, RunnerAIService runnerAIService) {
+        super(session, physicsService, runnerAIService);
+    }
+
+    public BatchGameService(GameSession session, PhysicsService physicsService, RunnerAIService runnerAIService,
+                            TickPhaseRecorder phases) {
+        super(session, physicsService, runnerAIService, phases);
+    }
+
+    @Override
+    public void useRunnerBatch(RunnerBatch batch) {
+        leaveBatch();
+        this.batch = batch;
+    }
+
+    @Override
+    public void prepareStep(double deltaTime) {
+        if (prepared || !session.isRunning()) return;
+
+        GameState gameState = session.getGameState();
+        gameState.incrementTime(deltaTime);
+        long phaseStart = phases.start();
+        runnerAIService.think(gameState.getRunner(), gameState);
+        phases.lap(TickPhaseRecorder.Phase.AI, phaseStart);
+        prepared = true;
+    }
+
+    @Override
+    public void update(double deltaTime) {
+        if (!session.isRunning()) {
+            prepared = false;
+            leaveBatch();
+            return;
+        }
+        prepareStep(deltaTime);
+        prepared = false;
+
+        GameState gameState = session.getGameState();
+        Runner runner = gameState.getRunner();
+
+        long phaseStart = phases.start();
+        if (runner != batchedRunner) {
+            // Not stepped by the batch yet: integrate this step here, the batch takes over from the next one.
+            leaveBatch();
+            runner.update(deltaTime);
+            if (batch != null) {
+                runner.moveTo(batch);
+                batchedRunner = runner;
+            }
+        }
+
+        physicsService.resolvePlatformCollisions(runner, gameState);
+        phaseStart = phases.lap(TickPhaseRecorder.Phase.PHYSICS, phaseStart);
+        handleTrapCollisions(gameState);
+        phases.lap(TickPhaseRecorder.Phase.TRAP_COLLISIONS, phaseStart);
+        checkGameOver(gameState);
+
+        if (!session.isRunning()) {
+            leaveBatch();
+        }
+    }
+
+    private void leaveBatch() {
+        if (batchedRunner != null) {
+            batchedRunner.moveTo(null);
+            batchedRunner = null;
+        }
+    }
+}
@@ -2,20 +2,31 @@ package io.hellorin.reverseplatformer.application.service;
 
 import io.hellorin.reverseplatformer.application.GameSession;
 import io.hellorin.reverseplatformer.application.ports.in.GameUseCase;
+import io.hellorin.reverseplatformer.application.ports.out.TickPhaseRecorder;
 import io.hellorin.reverseplatformer.domain.model.*;
 import io.hellorin.reverseplatformer.domain.service.PhysicsService;
 import io.hellorin.reverseplatformer.domain.service.RunnerAIService;
 
+import java.util.List;
+
 public class GameService implements GameUseCase {
 
-    private final GameSession session;
-    private final PhysicsService physicsService;
-    private final RunnerAIService runnerAIService;
+    protected final GameSession session;
+    protected final PhysicsService physicsService;
+    protected final RunnerAIService runnerAIService;
+    protected final TickPhaseRecorder phases;
+    private final SpatialIndex.Hits nearbyTraps = new SpatialIndex.Hits();
 
     public GameService(GameSession session, PhysicsService physicsService, RunnerAIService runnerAIService) {
+        this(session, physicsService, runnerAIService, TickPhaseRecorder.DISABLED);
+    }
+
+    public GameService(GameSession session, PhysicsService physicsService, RunnerAIService runnerAIService,
+                       TickPhaseRecorder phases) {
         this.session = session;
         this.physicsService = physicsService;
         this.runnerAIService = runnerAIService;
+        this.phases = phases;
     }
 
     @Override
@@ -31,12 +42,15 @@ public class GameService implements GameUseCase {
 
         GameState gameState = session.getGameState();
         Runner runner = gameState.getRunner();
-        Level level = gameState.getLevel();
 
         gameState.incrementTime(deltaTime);
-        runnerAIService.think(runner, level.getPlatforms(), gameState.getTraps());
-        physicsService.update(runner, level.getPlatforms(), deltaTime);
+        long phaseStart = phases.start();
+        runnerAIService.think(runner, gameState);
+        phaseStart = phases.lap(TickPhaseRecorder.Phase.AI, phaseStart);
+        physicsService.update(runner, gameState, deltaTime);
+        phaseStart = phases.lap(TickPhaseRecorder.Phase.PHYSICS, phaseStart);
         handleTrapCollisions(gameState);
+        phases.lap(TickPhaseRecorder.Phase.TRAP_COLLISIONS, phaseStart);
         checkGameOver(gameState);
     }
 
@@ -45,10 +59,14 @@ public class GameService implements GameUseCase {
         return session.getGameState();
     }
 
-    private void handleTrapCollisions(GameState gameState) {
+    protected void handleTrapCollisions(GameState gameState) {
         Runner runner = gameState.getRunner();
+        List<Trap> traps = gameState.getTraps();
 
-        for (Trap trap : gameState.getTraps()) {
+        gameState.getTrapIndex().query(PhysicsService.sweptLeft(runner), PhysicsService.sweptRight(runner),
+                nearbyTraps);
+        for (int i = 0; i < nearbyTraps.count(); i++) {
+            Trap trap = traps.get(nearbyTraps.get(i));
             if (physicsService.checkTrapCollision(runner, trap)) {
                 applyTrapEffect(runner, trap, gameState);
             }
@@ -56,17 +74,13 @@ public class GameService implements GameUseCase {
     }
 
     private void applyTrapEffect(Runner runner, Trap trap, GameState gameState) {
-        switch (trap.getType()) {
-            case SPIKE -> {
-                runner.die();
-                gameState.addPoints(100);
-            }
-            case BOUNCE_PAD -> runner.bounce();
-            case SLOW_ZONE -> runner.setSpeedMultiplier(0.5);
+        physicsService.applyTrapEffect(runner, trap);
+        if (trap.getType() == TrapType.SPIKE) {
+            gameState.addPoints(100);
         }
     }
 
-    private void checkGameOver(GameState gameState) {
+    protected void checkGameOver(GameState gameState) {
         Runner runner = gameState.getRunner();
         Level level = gameState.getLevel();
 
@@ -23,8 +23,7 @@ public class TrapService implements TrapUseCase {
         GameState gameState = session.getGameState();
 
         if (gameState.canAffordTrap(type)) {
-            String id = "trap_" + System.currentTimeMillis();
-            Trap trap = new Trap(id, type, x, y);
+            Trap trap = new Trap(gameState.nextTrapId(), type, x, y);
             gameState.addTrap(trap);
         }
     }
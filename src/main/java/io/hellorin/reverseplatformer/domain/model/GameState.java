@@ -1,10 +1,14 @@
 package io.hellorin.reverseplatformer.domain.model;
 
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
 import java.util.List;
 
 public class GameState {
 
+    private static final double POINT_INTERVAL = 0.5;
+
     public enum Status {
         WAITING,
         RUNNING,
@@ -16,12 +20,21 @@ public class GameState {
     private final Level level;
     private Runner runner;
     private final List<Trap> traps;
+    private final List<Trap> trapsView;
+    private final SpatialIndex trapIndex;
+    private final BitSet inactivePlatforms;
+    private int trapsVersion;
+    private int platformsVersion;
+    private int trapSequence;
     private int playerPoints;
     private double elapsedTime;
 
     public GameState(Level level) {
         this.level = level;
         this.traps = new ArrayList<>();
+        this.trapsView = Collections.unmodifiableList(traps);
+        this.trapIndex = new SpatialIndex(level.getWidth());
+        this.inactivePlatforms = new BitSet(level.getPlatforms().size());
         this.playerPoints = level.getStartingPoints();
         this.elapsedTime = 0;
         this.status = Status.WAITING;
@@ -36,6 +49,31 @@ public class GameState {
         );
     }
 
+    /**
+     * Makes this state a copy of {@code other}, a game on the same level, e.g. to play a
+     * game forward without touching the original. Traps are immutable and shared; only
+     * the lists and index that hold them are copied, into this state's existing storage.
+     */
+    public void copyFrom(GameState other) {
+        if (other.level != level) {
+            throw new IllegalArgumentException("Cannot copy a game on a different level");
+        }
+        status = other.status;
+        runner.copyFrom(other.runner);
+        traps.clear();
+        for (int i = 0; i < other.traps.size(); i++) {
+            traps.add(other.traps.get(i));
+        }
+        trapIndex.copyFrom(other.trapIndex);
+        inactivePlatforms.clear();
+        inactivePlatforms.or(other.inactivePlatforms);
+        trapsVersion = other.trapsVersion;
+        platformsVersion = other.platformsVersion;
+        trapSequence = other.trapSequence;
+        playerPoints = other.playerPoints;
+        elapsedTime = other.elapsedTime;
+    }
+
     public void start() {
         this.status = Status.RUNNING;
     }
@@ -43,10 +81,20 @@ public class GameState {
     public void addTrap(Trap trap) {
         if (playerPoints >= trap.getType().getCost()) {
             traps.add(trap);
+            trapIndex.add(trap.getBounds().x(), trap.getBounds().right());
+            trapsVersion++;
             playerPoints -= trap.getType().getCost();
         }
     }
 
+    /**
+     * Next trap id of this game. Ids only depend on how many were handed out before, so
+     * a replayed game gets the same ones.
+     */
+    public String nextTrapId() {
+        return "trap_" + ++trapSequence;
+    }
+
     public boolean canAffordTrap(TrapType type) {
         return playerPoints >= type.getCost();
     }
@@ -56,10 +104,9 @@ public class GameState {
     }
 
     public void incrementTime(double deltaTime) {
+        double previousTime = elapsedTime;
         this.elapsedTime += deltaTime;
-        if (elapsedTime % 0.5 < deltaTime) {
-            playerPoints += 1;
-        }
+        playerPoints += (int) (Math.floor(elapsedTime / POINT_INTERVAL) - Math.floor(previousTime / POINT_INTERVAL));
     }
 
     public void setStatus(Status status) {
@@ -79,7 +126,44 @@ public class GameState {
     }
 
     public List<Trap> getTraps() {
-        return new ArrayList<>(traps);
+        return trapsView;
+    }
+
+    /**
+     * Traps by x position, indexed like {@link #getTraps()}.
+     */
+    public SpatialIndex getTrapIndex() {
+        return trapIndex;
+    }
+
+    /**
+     * Whether the level's platform at {@code index} is active in this game. The level
+     * geometry is shared between games; only this overlay is per game.
+     */
+    public boolean isPlatformActive(int index) {
+        return !inactivePlatforms.get(index);
+    }
+
+    public void setPlatformActive(int index, boolean active) {
+        if (isPlatformActive(index) != active) {
+            inactivePlatforms.set(index, !active);
+            platformsVersion++;
+        }
+    }
+
+    /**
+     * Bumped whenever a trap is added, so callers can tell that {@link #getTraps()} is
+     * unchanged since they last looked without walking it.
+     */
+    public int getTrapsVersion() {
+        return trapsVersion;
+    }
+
+    /**
+     * Bumped whenever a platform is activated or deactivated in this game.
+     */
+    public int getPlatformsVersion() {
+        return platformsVersion;
     }
 
     public int getPlayerPoints() {
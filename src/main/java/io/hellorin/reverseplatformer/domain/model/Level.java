@@ -3,27 +3,41 @@ package io.hellorin.reverseplatformer.domain.model;
 import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * Geometry and settings of one level. Immutable once built, since {@link #createLevel(int)}
+ * hands the same instance to every session.
+ */
 public class Level {
+
+    private static final Level[] LEVELS = {buildLevel(1), buildLevel(2), buildLevel(3), buildLevel(4), buildLevel(5)};
+
     private final int levelNumber;
     private final double width;
     private final double height;
     private final Vector2D spawnPoint;
     private final Rectangle goal;
     private final List<Platform> platforms;
-    private double runnerSpeedMultiplier = 1.0;
-    private int startingPoints = 100;
+    private final SpatialIndex platformIndex;
+    private final double runnerSpeedMultiplier;
+    private final int startingPoints;
 
-    public Level(int levelNumber, double width, double height, Vector2D spawnPoint, Rectangle goal) {
-        this.levelNumber = levelNumber;
-        this.width = width;
-        this.height = height;
-        this.spawnPoint = spawnPoint;
-        this.goal = goal;
-        this.platforms = new ArrayList<>();
+    private Level(Builder builder) {
+        this.levelNumber = builder.levelNumber;
+        this.width = builder.width;
+        this.height = builder.height;
+        this.spawnPoint = builder.spawnPoint;
+        this.goal = builder.goal;
+        this.runnerSpeedMultiplier = builder.runnerSpeedMultiplier;
+        this.startingPoints = builder.startingPoints;
+        this.platforms = List.copyOf(builder.platforms);
+        this.platformIndex = new SpatialIndex(width);
+        for (Platform platform : platforms) {
+            platformIndex.add(platform.getBounds().x(), platform.getBounds().right());
+        }
     }
 
-    public void addPlatform(Platform platform) {
-        platforms.add(platform);
+    public static Builder builder(int levelNumber, double width, double height, Vector2D spawnPoint, Rectangle goal) {
+        return new Builder(levelNumber, width, height, spawnPoint, goal);
     }
 
     public int getLevelNumber() {
@@ -47,7 +61,16 @@ public class Level {
     }
 
     public List<Platform> getPlatforms() {
-        return new ArrayList<>(platforms);
+        return platforms;
+    }
+
+    /**
+     * Collects the indices (into {@link #getPlatforms()}) of platforms that may overlap
+     * {@code [fromX, toX]}. Inactive platforms are included; callers check
+     * {@link GameState#isPlatformActive(int)} per candidate.
+     */
+    public void queryPlatforms(double fromX, double toX, SpatialIndex.Hits hits) {
+        platformIndex.query(fromX, toX, hits);
     }
 
     public double getRunnerSpeedMultiplier() {
@@ -58,7 +81,17 @@ public class Level {
         return startingPoints;
     }
 
+    /**
+     * Returns the shared, immutable geometry of the given level; unknown numbers give
+     * the last level. Built once per JVM, so restarting or advancing a level
+     * does not rebuild any platform.
+     */
     public static Level createLevel(int levelNumber) {
+        boolean known = levelNumber >= 1 && levelNumber <= LEVELS.length;
+        return LEVELS[known ? levelNumber - 1 : LEVELS.length - 1];
+    }
+
+    private static Level buildLevel(int levelNumber) {
         return switch (levelNumber) {
             case 1 -> createLevel1();
             case 2 -> createLevel2();
@@ -70,89 +103,115 @@ public class Level {
     }
 
     private static Level createLevel1() {
-        Level level = new Level(1, 800, 450, new Vector2D(50, 300), new Rectangle(750, 320, 40, 80));
-        level.runnerSpeedMultiplier = 1.0;
-        level.startingPoints = 150;
-
-        level.addPlatform(new Platform("p1", 0, 400, 250, 20));
-        level.addPlatform(new Platform("p2", 300, 400, 200, 20));
-        level.addPlatform(new Platform("p3", 550, 400, 250, 20));
-
-        return level;
+        return builder(1, 800, 450, new Vector2D(50, 300), new Rectangle(750, 320, 40, 80))
+                .runnerSpeedMultiplier(1.0)
+                .startingPoints(150)
+                .platform(new Platform("p1", 0, 400, 250, 20))
+                .platform(new Platform("p2", 300, 400, 200, 20))
+                .platform(new Platform("p3", 550, 400, 250, 20))
+                .build();
     }
 
     private static Level createLevel2() {
-        Level level = new Level(2, 800, 450, new Vector2D(50, 300), new Rectangle(750, 320, 40, 80));
-        level.runnerSpeedMultiplier = 1.2;
-        level.startingPoints = 120;
-
-        level.addPlatform(new Platform("p1", 0, 400, 180, 20));
-        level.addPlatform(new Platform("p2", 230, 400, 150, 20));
-        level.addPlatform(new Platform("p3", 430, 400, 120, 20));
-        level.addPlatform(new Platform("p4", 600, 400, 200, 20));
-        level.addPlatform(new Platform("p5", 320, 320, 100, 15));
-
-        return level;
+        return builder(2, 800, 450, new Vector2D(50, 300), new Rectangle(750, 320, 40, 80))
+                .runnerSpeedMultiplier(1.2)
+                .startingPoints(120)
+                .platform(new Platform("p1", 0, 400, 180, 20))
+                .platform(new Platform("p2", 230, 400, 150, 20))
+                .platform(new Platform("p3", 430, 400, 120, 20))
+                .platform(new Platform("p4", 600, 400, 200, 20))
+                .platform(new Platform("p5", 320, 320, 100, 15))
+                .build();
     }
 
     private static Level createLevel3() {
-        Level level = new Level(3, 800, 450, new Vector2D(50, 250), new Rectangle(750, 320, 40, 80));
-        level.runnerSpeedMultiplier = 1.4;
-        level.startingPoints = 100;
-
-        level.addPlatform(new Platform("p1", 0, 400, 150, 20));
-        level.addPlatform(new Platform("p2", 200, 400, 100, 20));
-        level.addPlatform(new Platform("p3", 350, 400, 100, 20));
-        level.addPlatform(new Platform("p4", 500, 400, 80, 20));
-        level.addPlatform(new Platform("p5", 630, 400, 170, 20));
-
-        level.addPlatform(new Platform("p6", 0, 300, 120, 15));
-        level.addPlatform(new Platform("p7", 170, 280, 100, 15));
-        level.addPlatform(new Platform("p8", 320, 260, 120, 15));
-        level.addPlatform(new Platform("p9", 490, 280, 100, 15));
-        level.addPlatform(new Platform("p10", 640, 300, 160, 15));
-
-        return level;
+        return builder(3, 800, 450, new Vector2D(50, 250), new Rectangle(750, 320, 40, 80))
+                .runnerSpeedMultiplier(1.4)
+                .startingPoints(100)
+                .platform(new Platform("p1", 0, 400, 150, 20))
+                .platform(new Platform("p2", 200, 400, 100, 20))
+                .platform(new Platform("p3", 350, 400, 100, 20))
+                .platform(new Platform("p4", 500, 400, 80, 20))
+                .platform(new Platform("p5", 630, 400, 170, 20))
+                .platform(new Platform("p6", 0, 300, 120, 15))
+                .platform(new Platform("p7", 170, 280, 100, 15))
+                .platform(new Platform("p8", 320, 260, 120, 15))
+                .platform(new Platform("p9", 490, 280, 100, 15))
+                .platform(new Platform("p10", 640, 300, 160, 15))
+                .build();
     }
 
     private static Level createLevel4() {
-        Level level = new Level(4, 800, 450, new Vector2D(50, 300), new Rectangle(750, 370, 40, 80));
-        level.runnerSpeedMultiplier = 1.6;
-        level.startingPoints = 80;
-
-        level.addPlatform(new Platform("p1", 0, 400, 100, 20));
-        level.addPlatform(new Platform("p2", 150, 380, 70, 15));
-        level.addPlatform(new Platform("p3", 270, 360, 70, 15));
-        level.addPlatform(new Platform("p4", 390, 380, 70, 15));
-        level.addPlatform(new Platform("p5", 510, 400, 80, 20));
-        level.addPlatform(new Platform("p6", 640, 400, 160, 20));
-
-        level.addPlatform(new Platform("p7", 180, 300, 60, 12));
-        level.addPlatform(new Platform("p8", 350, 280, 80, 12));
-        level.addPlatform(new Platform("p9", 520, 300, 60, 12));
-
-        return level;
+        return builder(4, 800, 450, new Vector2D(50, 300), new Rectangle(750, 370, 40, 80))
+                .runnerSpeedMultiplier(1.6)
+                .startingPoints(80)
+                .platform(new Platform("p1", 0, 400, 100, 20))
+                .platform(new Platform("p2", 150, 380, 70, 15))
+                .platform(new Platform("p3", 270, 360, 70, 15))
+                .platform(new Platform("p4", 390, 380, 70, 15))
+                .platform(new Platform("p5", 510, 400, 80, 20))
+                .platform(new Platform("p6", 640, 400, 160, 20))
+                .platform(new Platform("p7", 180, 300, 60, 12))
+                .platform(new Platform("p8", 350, 280, 80, 12))
+                .platform(new Platform("p9", 520, 300, 60, 12))
+                .build();
     }
 
     private static Level createLevel5() {
-        Level level = new Level(5, 800, 450, new Vector2D(30, 280), new Rectangle(760, 370, 35, 80));
-        level.runnerSpeedMultiplier = 1.8;
-        level.startingPoints = 60;
-
-        level.addPlatform(new Platform("p1", 0, 400, 80, 20));
-        level.addPlatform(new Platform("p2", 120, 370, 50, 12));
-        level.addPlatform(new Platform("p3", 210, 340, 50, 12));
-        level.addPlatform(new Platform("p4", 300, 370, 50, 12));
-        level.addPlatform(new Platform("p5", 390, 400, 60, 20));
-        level.addPlatform(new Platform("p6", 490, 370, 50, 12));
-        level.addPlatform(new Platform("p7", 580, 340, 50, 12));
-        level.addPlatform(new Platform("p8", 670, 370, 50, 12));
-        level.addPlatform(new Platform("p9", 750, 400, 50, 20));
-
-        level.addPlatform(new Platform("p10", 200, 260, 40, 10));
-        level.addPlatform(new Platform("p11", 350, 240, 40, 10));
-        level.addPlatform(new Platform("p12", 500, 260, 40, 10));
-
-        return level;
+        return builder(5, 800, 450, new Vector2D(30, 280), new Rectangle(760, 370, 35, 80))
+                .runnerSpeedMultiplier(1.8)
+                .startingPoints(60)
+                .platform(new Platform("p1", 0, 400, 80, 20))
+                .platform(new Platform("p2", 120, 370, 50, 12))
+                .platform(new Platform("p3", 210, 340, 50, 12))
+                .platform(new Platform("p4", 300, 370, 50, 12))
+                .platform(new Platform("p5", 390, 400, 60, 20))
+                .platform(new Platform("p6", 490, 370, 50, 12))
+                .platform(new Platform("p7", 580, 340, 50, 12))
+                .platform(new Platform("p8", 670, 370, 50, 12))
+                .platform(new Platform("p9", 750, 400, 50, 20))
+                .platform(new Platform("p10", 200, 260, 40, 10))
+                .platform(new Platform("p11", 350, 240, 40, 10))
+                .platform(new Platform("p12", 500, 260, 40, 10))
+                .build();
+    }
+
+    public static final class Builder {
+
+        private final int levelNumber;
+        private final double width;
+        private final double height;
+        private final Vector2D spawnPoint;
+        private final Rectangle goal;
+        private final List<Platform> platforms = new ArrayList<>();
+        private double runnerSpeedMultiplier = 1.0;
+        private int startingPoints = 100;
+
+        private Builder(int levelNumber, double width, double height, Vector2D spawnPoint, Rectangle goal) {
+            this.levelNumber = levelNumber;
+            this.width = width;
+            this.height = height;
+            this.spawnPoint = spawnPoint;
+            this.goal = goal;
+        }
+
+        public Builder runnerSpeedMultiplier(double runnerSpeedMultiplier) {
+            this.runnerSpeedMultiplier = runnerSpeedMultiplier;
+            return this;
+        }
+
+        public Builder startingPoints(int startingPoints) {
+            this.startingPoints = startingPoints;
+            return this;
+        }
+
+        public Builder platform(Platform platform) {
+            platforms.add(platform);
+            return this;
+        }
+
+        public Level build() {
+            return new Level(this);
+        }
     }
 }
@@ -1,14 +1,16 @@
 package io.hellorin.reverseplatformer.domain.model;
 
+/**
+ * Immutable platform geometry, shared by every game on the same level. Whether a platform
+ * is currently active is per game, see {@link GameState#isPlatformActive(int)}.
+ */
 public class Platform {
     private final String id;
     private final Rectangle bounds;
-    private boolean active;
 
     public Platform(String id, double x, double y, double width, double height) {
         this.id = id;
         this.bounds = new Rectangle(x, y, width, height);
-        this.active = true;
     }
 
     public String getId() {
@@ -18,12 +20,4 @@ public class Platform {
     public Rectangle getBounds() {
         return bounds;
     }
-
-    public boolean isActive() {
-        return active;
-    }
-
-    public void setActive(boolean active) {
-        this.active = active;
-    }
 }
@@ -1,89 +1,218 @@
 package io.hellorin.reverseplatformer.domain.model;
 
+/**
+ * Handle onto one slot of a {@link RunnerBatch}, where the kinematics live in primitive
+ * arrays so that stepping the runner and querying it never allocates. A runner created
+ * on its own gets a private one-slot batch; {@link #moveTo(RunnerBatch)} places it in a
+ * shared batch that integrates many runners at once. {@link #getPosition()},
+ * {@link #getVelocity()} and {@link #getBounds()} remain as convenience views and
+ * allocate on every call; the simulation uses the primitive accessors.
+ */
 public class Runner {
-    private static final double WIDTH = 20;
-    private static final double HEIGHT = 30;
+    public static final double WIDTH = 20;
+    public static final double HEIGHT = 30;
+    static final double GRAVITY = 800;
     private static final double BASE_SPEED = 150;
     private static final double JUMP_FORCE = -350;
-    private static final double GRAVITY = 800;
 
-    private Vector2D position;
-    private Vector2D velocity;
-    private boolean onGround;
-    private boolean alive;
-    private double speedMultiplier;
-    private final double baseSpeedMultiplier;
+    private RunnerBatch batch;
+    private int slot;
 
     public Runner(double startX, double startY, double levelSpeedMultiplier) {
-        this.position = new Vector2D(startX, startY);
-        this.baseSpeedMultiplier = levelSpeedMultiplier;
-        this.velocity = new Vector2D(BASE_SPEED * levelSpeedMultiplier, 0);
-        this.onGround = false;
-        this.alive = true;
-        this.speedMultiplier = 1.0;
+        this.batch = new RunnerBatch(1);
+        this.slot = batch.allocate();
+        batch.x[slot] = startX;
+        batch.y[slot] = startY;
+        batch.previousX[slot] = startX;
+        batch.previousY[slot] = startY;
+        batch.baseSpeed[slot] = BASE_SPEED * levelSpeedMultiplier;
+        batch.velocityX[slot] = BASE_SPEED * levelSpeedMultiplier;
+        batch.velocityY[slot] = 0;
+        batch.speedMultiplier[slot] = 1.0;
+        batch.flags[slot] |= RunnerBatch.ALIVE;
+    }
+
+    /**
+     * Moves this runner's state into another batch, or into a private one when
+     * {@code target} is {@code null}, and frees its current slot.
+     */
+    public void moveTo(RunnerBatch target) {
+        RunnerBatch destination = target != null ? target : new RunnerBatch(1);
+        if (destination == batch) return;
+
+        int newSlot = destination.allocate();
+        destination.x[newSlot] = batch.x[slot];
+        destination.y[newSlot] = batch.y[slot];
+        destination.previousX[newSlot] = batch.previousX[slot];
+        destination.previousY[newSlot] = batch.previousY[slot];
+        destination.velocityX[newSlot] = batch.velocityX[slot];
+        destination.velocityY[newSlot] = batch.velocityY[slot];
+        destination.speedMultiplier[newSlot] = batch.speedMultiplier[slot];
+        destination.baseSpeed[newSlot] = batch.baseSpeed[slot];
+        destination.flags[newSlot] = batch.flags[slot];
+        batch.release(slot);
+
+        batch = destination;
+        slot = newSlot;
+    }
+
+    /**
+     * Overwrites this runner's state with a copy of another's, e.g. to simulate ahead
+     * without touching the real one.
+     */
+    public void copyFrom(Runner other) {
+        RunnerBatch from = other.batch;
+        int source = other.slot;
+        batch.x[slot] = from.x[source];
+        batch.y[slot] = from.y[source];
+        batch.previousX[slot] = from.previousX[source];
+        batch.previousY[slot] = from.previousY[source];
+        batch.velocityX[slot] = from.velocityX[source];
+        batch.velocityY[slot] = from.velocityY[source];
+        batch.speedMultiplier[slot] = from.speedMultiplier[source];
+        batch.baseSpeed[slot] = from.baseSpeed[source];
+        batch.flags[slot] = from.flags[source];
     }
 
     public void update(double deltaTime) {
-        if (!alive) return;
+        if (!isAlive()) return;
 
-        double gravity = GRAVITY * deltaTime;
-        velocity = new Vector2D(BASE_SPEED * baseSpeedMultiplier * speedMultiplier, velocity.y() + gravity);
-        position = position.add(velocity.multiply(deltaTime));
-        onGround = false;
+        batch.step(slot, deltaTime);
     }
 
     public void jump() {
-        if (onGround && alive) {
-            velocity = new Vector2D(velocity.x(), JUMP_FORCE);
-            onGround = false;
+        if (isOnGround() && isAlive()) {
+            batch.velocityY[slot] = JUMP_FORCE;
+            batch.flags[slot] &= ~RunnerBatch.ON_GROUND;
         }
     }
 
     public void bounce() {
-        velocity = new Vector2D(velocity.x(), JUMP_FORCE * 1.5);
-        onGround = false;
+        batch.velocityY[slot] = JUMP_FORCE * 1.5;
+        batch.flags[slot] &= ~RunnerBatch.ON_GROUND;
     }
 
     public void land(double platformY) {
-        position = new Vector2D(position.x(), platformY - HEIGHT);
-        velocity = new Vector2D(velocity.x(), 0);
-        onGround = true;
+        batch.y[slot] = platformY - HEIGHT;
+        batch.velocityY[slot] = 0;
+        batch.flags[slot] |= RunnerBatch.ON_GROUND;
     }
 
     public void die() {
-        alive = false;
-        velocity = Vector2D.zero();
+        batch.flags[slot] &= ~RunnerBatch.ALIVE;
+        batch.velocityX[slot] = 0;
+        batch.velocityY[slot] = 0;
     }
 
     public void setSpeedMultiplier(double multiplier) {
-        this.speedMultiplier = multiplier;
+        batch.speedMultiplier[slot] = multiplier;
     }
 
     public void resetSpeedMultiplier() {
-        this.speedMultiplier = 1.0;
+        batch.speedMultiplier[slot] = 1.0;
+    }
+
+    public boolean intersects(Rectangle other) {
+        double x = getX();
+        double y = getY();
+        return x < other.x() + other.width() &&
+               x + WIDTH > other.x() &&
+               y < other.y() + other.height() &&
+               y + HEIGHT > other.y();
+    }
+
+    /**
+     * Whether the runner touched {@code other} at any point of its last step, not just
+     * where it ended up: a fast or coarse step cannot skip over a thin obstacle.
+     */
+    public boolean sweptIntersects(Rectangle other) {
+        if (intersects(other)) return true;
+
+        // Slab test of the top-left corner's path against the target grown by the runner's size.
+        double fromX = getPreviousX();
+        double fromY = getPreviousY();
+        double deltaX = getX() - fromX;
+        double deltaY = getY() - fromY;
+        double minX = other.x() - WIDTH;
+        double minY = other.y() - HEIGHT;
+
+        double enter = Double.NEGATIVE_INFINITY;
+        double exit = Double.POSITIVE_INFINITY;
+        if (deltaX == 0) {
+            if (fromX <= minX || fromX >= other.right()) return false;
+        } else {
+            double first = (minX - fromX) / deltaX;
+            double second = (other.right() - fromX) / deltaX;
+            enter = Math.min(first, second);
+            exit = Math.max(first, second);
+        }
+        if (deltaY == 0) {
+            if (fromY <= minY || fromY >= other.bottom()) return false;
+        } else {
+            double first = (minY - fromY) / deltaY;
+            double second = (other.bottom() - fromY) / deltaY;
+            enter = Math.max(enter, Math.min(first, second));
+            exit = Math.min(exit, Math.max(first, second));
+        }
+        return enter < exit && enter < 1 && exit > 0;
+    }
+
+    public double getX() {
+        return batch.x[slot];
+    }
+
+    public double getY() {
+        return batch.y[slot];
+    }
+
+    /**
+     * Where the runner was before its last step.
+     */
+    public double getPreviousX() {
+        return batch.previousX[slot];
+    }
+
+    public double getPreviousY() {
+        return batch.previousY[slot];
+    }
+
+    public double getRight() {
+        return getX() + WIDTH;
+    }
+
+    public double getBottom() {
+        return getY() + HEIGHT;
+    }
+
+    public double getVelocityX() {
+        return batch.velocityX[slot];
+    }
+
+    public double getVelocityY() {
+        return batch.velocityY[slot];
     }
 
     public Rectangle getBounds() {
-        return new Rectangle(position.x(), position.y(), WIDTH, HEIGHT);
+        return new Rectangle(getX(), getY(), WIDTH, HEIGHT);
     }
 
     public Vector2D getPosition() {
-        return position;
+        return new Vector2D(getX(), getY());
     }
 
     public Vector2D getVelocity() {
-        return velocity;
+        return new Vector2D(getVelocityX(), getVelocityY());
     }
 
     public boolean isOnGround() {
-        return onGround;
+        return (batch.flags[slot] & RunnerBatch.ON_GROUND) != 0;
     }
 
     public boolean isAlive() {
-        return alive;
+        return (batch.flags[slot] & RunnerBatch.ALIVE) != 0;
     }
 
     public double getSpeedMultiplier() {
-        return speedMultiplier;
+        return batch.speedMultiplier[slot];
     }
 }
@@ -0,0 +1,117 @@
+package io.hellorin.reverseplatformer.domain.model;
+
+import java.util.Arrays;
+
+/**
+ * Kinematic state of many runners in parallel primitive arrays (structure of arrays),
+ * so that integrating all of them is one tight loop over contiguous memory. Each
+ * {@link Runner} is a handle onto one slot. Not thread-safe: a batch belongs to the
+ * single thread that steps it.
+ */
+public final class RunnerBatch {
+
+    static final byte IN_USE = 1;
+    static final byte ALIVE = 1 << 1;
+    static final byte ON_GROUND = 1 << 2;
+
+    private static final byte STEPPED = IN_USE | ALIVE;
+
+    double[] x;
+    double[] y;
+    double[] previousX;
+    double[] previousY;
+    double[] velocityX;
+    double[] velocityY;
+    double[] speedMultiplier;
+    double[] baseSpeed;
+    byte[] flags;
+
+    private int[] freeSlots;
+    private int freeCount;
+    private int size;
+    private int inUse;
+
+    public RunnerBatch() {
+        this(64);
+    }
+
+    public RunnerBatch(int capacity) {
+        x = new double[capacity];
+        y = new double[capacity];
+        previousX = new double[capacity];
+        previousY = new double[capacity];
+        velocityX = new double[capacity];
+        velocityY = new double[capacity];
+        speedMultiplier = new double[capacity];
+        baseSpeed = new double[capacity];
+        flags = new byte[capacity];
+        freeSlots = new int[capacity];
+    }
+
+    int allocate() {
+        int slot;
+        if (freeCount > 0) {
+            slot = freeSlots[--freeCount];
+        } else {
+            if (size == flags.length) {
+                grow();
+            }
+            slot = size++;
+        }
+        flags[slot] = IN_USE;
+        inUse++;
+        return slot;
+    }
+
+    void release(int slot) {
+        flags[slot] = 0;
+        freeSlots[freeCount++] = slot;
+        inUse--;
+    }
+
+    private void grow() {
+        int capacity = Math.max(1, flags.length * 2);
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        previousX = Arrays.copyOf(previousX, capacity);
+        previousY = Arrays.copyOf(previousY, capacity);
+        velocityX = Arrays.copyOf(velocityX, capacity);
+        velocityY = Arrays.copyOf(velocityY, capacity);
+        speedMultiplier = Arrays.copyOf(speedMultiplier, capacity);
+        baseSpeed = Arrays.copyOf(baseSpeed, capacity);
+        flags = Arrays.copyOf(flags, capacity);
+        freeSlots = Arrays.copyOf(freeSlots, capacity);
+    }
+
+    public int size() {
+        return inUse;
+    }
+
+    /**
+     * Integrates every live runner in the batch by one step.
+     */
+    public void stepAll(double deltaTime) {
+        double gravity = Runner.GRAVITY * deltaTime;
+        for (int i = 0; i < size; i++) {
+            if ((flags[i] & STEPPED) != STEPPED) continue;
+
+            previousX[i] = x[i];
+            previousY[i] = y[i];
+            velocityX[i] = baseSpeed[i] * speedMultiplier[i];
+            velocityY[i] += gravity;
+            x[i] += velocityX[i] * deltaTime;
+            y[i] += velocityY[i] * deltaTime;
+            flags[i] &= ~ON_GROUND;
+        }
+    }
+
+    void step(int slot, double deltaTime) {
+        previousX[slot] = x[slot];
+        previousY[slot] = y[slot];
+        velocityX[slot] = baseSpeed[slot] * speedMultiplier[slot];
+        velocityY[slot] += Runner.GRAVITY * deltaTime;
+        x[slot] += velocityX[slot] * deltaTime;
+        y[slot] += velocityY[slot] * deltaTime;
+        flags[slot] &= ~ON_GROUND;
+    }
+}
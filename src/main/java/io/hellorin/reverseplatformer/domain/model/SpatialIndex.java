@@ -0,0 +1,129 @@
+package io.hellorin.reverseplatformer.domain.model;
+
+import java.util.Arrays;
+
+/**
+ * Uniform grid over the x axis mapping columns to the indices of the items (platforms or
+ * traps) whose horizontal extent overlaps them. Levels scroll sideways, so a range query
+ * around the runner touches a couple of columns however long the level or trap list gets.
+ * Items are only ever added, in index order; callers filter candidates with exact checks.
+ * Positions beyond the indexed width share the last column, so a client placing traps
+ * far out cannot make the grid grow.
+ */
+public final class SpatialIndex {
+
+    public static final double CELL_WIDTH = 64;
+
+    private final int[][] cells;
+    private final int[] cellSizes;
+    private double[] itemMinX = new double[16];
+    private int itemCount;
+
+    public SpatialIndex(double width) {
+        int columns = (int) Math.ceil(Math.max(width, 0) / CELL_WIDTH) + 1;
+        this.cells = new int[columns][];
+        this.cellSizes = new int[columns];
+    }
+
+    /**
+     * Adds the next item, which gets index {@link #size()}, spanning {@code [minX, maxX]}.
+     */
+    public void add(double minX, double maxX) {
+        int item = itemCount++;
+        if (item == itemMinX.length) {
+            itemMinX = Arrays.copyOf(itemMinX, item * 2);
+        }
+        itemMinX[item] = minX;
+
+        int last = column(maxX);
+        for (int c = column(minX); c <= last; c++) {
+            int[] cell = cells[c];
+            if (cell == null) {
+                cell = cells[c] = new int[4];
+            } else if (cellSizes[c] == cell.length) {
+                cell = cells[c] = Arrays.copyOf(cell, cell.length * 2);
+            }
+            cell[cellSizes[c]++] = item;
+        }
+    }
+
+    public int size() {
+        return itemCount;
+    }
+
+    /**
+     * Makes this index a copy of {@code other}, which must cover the same width, reusing
+     * this index's arrays where they are large enough.
+     */
+    public void copyFrom(SpatialIndex other) {
+        if (other.cells.length != cells.length) {
+            throw new IllegalArgumentException("Cannot copy an index of a different width");
+        }
+        if (itemMinX.length < other.itemCount) {
+            itemMinX = new double[other.itemMinX.length];
+        }
+        System.arraycopy(other.itemMinX, 0, itemMinX, 0, other.itemCount);
+        itemCount = other.itemCount;
+
+        for (int c = 0; c < cells.length; c++) {
+            int size = other.cellSizes[c];
+            if (size > 0 && (cells[c] == null || cells[c].length < size)) {
+                cells[c] = new int[other.cells[c].length];
+            }
+            if (size > 0) {
+                System.arraycopy(other.cells[c], 0, cells[c], 0, size);
+            }
+            cellSizes[c] = size;
+        }
+    }
+
+    /**
+     * Collects, in ascending index order and without duplicates, the items that may overlap
+     * {@code [fromX, toX]}. Every item that does is included.
+     */
+    public void query(double fromX, double toX, Hits hits) {
+        hits.count = 0;
+        int first = column(fromX);
+        int last = column(toX);
+        for (int c = first; c <= last; c++) {
+            int[] cell = cells[c];
+            for (int i = 0; i < cellSizes[c]; i++) {
+                int item = cell[i];
+                // An item spanning several columns is reported from one of them only.
+                if (column(Math.max(itemMinX[item], fromX)) == c) {
+                    hits.add(item);
+                }
+            }
+        }
+        if (last > first) {
+            Arrays.sort(hits.items, 0, hits.count);
+        }
+    }
+
+    private int column(double x) {
+        return x > 0 ? (int) Math.min(x / CELL_WIDTH, cells.length - 1) : 0;
+    }
+
+    /**
+     * Reusable result of a {@link #query}, owned by whoever runs the queries.
+     */
+    public static final class Hits {
+        private int[] items = new int[16];
+        private int count;
+
+        private void add(int item) {
+            if (count == items.length) {
+                items = Arrays.copyOf(items, count * 2);
+            }
+            items[count++] = item;
+        }
+
+        public int count() {
+            return count;
+        }
+
+        public int get(int i) {
+            return items[i];
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package io.hellorin.reverseplatformer.domain.service;
+
+import io.hellorin.reverseplatformer.domain.model.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * The runner AI's platform-only jump decisions (gap ahead, higher platform ahead),
+ * precomputed for one level. A runner on the ground always stands at the height of some
+ * platform top, so there is one row per distinct top, holding the merged x intervals that
+ * have ground under the probe point and the x positions of platforms worth jumping up to.
+ * A decision is then a lookup of the row and two binary searches, using the exact same
+ * arithmetic as the geometric checks in {@link RunnerAIService}.
+ */
+final class NavigationTable {
+
+    static final int UNKNOWN = -1;
+    static final int STAY = 0;
+    static final int JUMP = 1;
+
+    private static final Map<Level, NavigationTable> SHARED = new WeakHashMap<>();
+
+    private final double[] rowYs;
+    private final double[][] groundFrom;
+    private final double[][] groundTo;
+    private final double[][] higherPlatformXs;
+
+    private NavigationTable(double[] rowYs, double[][] groundFrom, double[][] groundTo, double[][] higherPlatformXs) {
+        this.rowYs = rowYs;
+        this.groundFrom = groundFrom;
+        this.groundTo = groundTo;
+        this.higherPlatformXs = higherPlatformXs;
+    }
+
+    /**
+     * Table for the level with all platforms active, built once and shared by every game.
+     */
+    static synchronized NavigationTable shared(Level level) {
+        return SHARED.computeIfAbsent(level, l -> build(l, null));
+    }
+
+    /**
+     * Table for a game's current platform flags, or for all platforms active when
+     * {@code gameState} is {@code null}.
+     */
+    static NavigationTable build(Level level, GameState gameState) {
+        List<Platform> platforms = level.getPlatforms();
+        List<Rectangle> active = new ArrayList<>();
+        for (int i = 0; i < platforms.size(); i++) {
+            if (gameState == null || gameState.isPlatformActive(i)) {
+                active.add(platforms.get(i).getBounds());
+            }
+        }
+
+        double[] rowYs = platforms.stream()
+                .mapToDouble(platform -> platform.getBounds().y() - Runner.HEIGHT)
+                .distinct()
+                .sorted()
+                .toArray();
+        double[][] groundFrom = new double[rowYs.length][];
+        double[][] groundTo = new double[rowYs.length][];
+        double[][] higherPlatformXs = new double[rowYs.length][];
+
+        for (int row = 0; row < rowYs.length; row++) {
+            double runnerY = rowYs[row];
+            double checkY = runnerY + Runner.HEIGHT + RunnerAIService.GROUND_PROBE_DEPTH;
+
+            List<Rectangle> ground = active.stream()
+                    .filter(bounds -> checkY >= bounds.y() && checkY <= bounds.bottom())
+                    .sorted((a, b) -> Double.compare(a.x(), b.x()))
+                    .toList();
+            double[] from = new double[ground.size()];
+            double[] to = new double[ground.size()];
+            int intervals = 0;
+            for (Rectangle bounds : ground) {
+                if (intervals > 0 && bounds.x() <= to[intervals - 1]) {
+                    to[intervals - 1] = Math.max(to[intervals - 1], bounds.right());
+                } else {
+                    from[intervals] = bounds.x();
+                    to[intervals] = bounds.right();
+                    intervals++;
+                }
+            }
+            groundFrom[row] = Arrays.copyOf(from, intervals);
+            groundTo[row] = Arrays.copyOf(to, intervals);
+
+            higherPlatformXs[row] = active.stream()
+                    .filter(bounds -> RunnerAIService.isWorthClimbing(runnerY - bounds.y()))
+                    .mapToDouble(Rectangle::x)
+                    .sorted()
+                    .toArray();
+        }
+
+        return new NavigationTable(rowYs, groundFrom, groundTo, higherPlatformXs);
+    }
+
+    /**
+     * Whether a runner standing on the ground should jump for the level's platforms, or
+     * {@link #UNKNOWN} when it does not stand at the height of any platform top.
+     */
+    int decide(Runner runner) {
+        int row = Arrays.binarySearch(rowYs, runner.getY());
+        if (row < 0) return UNKNOWN;
+
+        double checkX = runner.getRight() + RunnerAIService.EDGE_DETECTION_DISTANCE;
+        if (!hasGroundAt(groundFrom[row], groundTo[row], checkX)) return JUMP;
+
+        return hasHigherPlatformAhead(higherPlatformXs[row], runner.getRight()) ? JUMP : STAY;
+    }
+
+    private static boolean hasGroundAt(double[] from, double[] to, double x) {
+        int low = 0;
+        int high = from.length - 1;
+        int candidate = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (from[mid] <= x) {
+                candidate = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return candidate >= 0 && x <= to[candidate];
+    }
+
+    private static boolean hasHigherPlatformAhead(double[] xs, double runnerRight) {
+        int low = 0;
+        int high = xs.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (RunnerAIService.isNotYetPassed(xs[mid] - runnerRight)) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low < xs.length && RunnerAIService.isWithinReach(xs[low] - runnerRight);
+    }
+}
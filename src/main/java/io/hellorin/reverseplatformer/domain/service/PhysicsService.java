@@ -6,49 +6,146 @@ import java.util.List;
 
 public class PhysicsService {
 
+    private static final double LANDING_BAND = 20;
+
+    private final SpatialIndex.Hits nearbyPlatforms = new SpatialIndex.Hits();
+
     public void update(Runner runner, List<Platform> platforms, double deltaTime) {
         runner.update(deltaTime);
-        handlePlatformCollisions(runner, platforms);
+        resolvePlatformCollisions(runner, platforms);
+    }
+
+    public void update(Runner runner, GameState gameState, double deltaTime) {
+        runner.update(deltaTime);
+        resolvePlatformCollisions(runner, gameState);
     }
 
-    private void handlePlatformCollisions(Runner runner, List<Platform> platforms) {
-        Rectangle runnerBounds = runner.getBounds();
+    /**
+     * Lands the runner on the platform its feet crossed first during the last step,
+     * treating every platform as active.
+     */
+    public void resolvePlatformCollisions(Runner runner, List<Platform> platforms) {
+        Platform landing = null;
+        double earliest = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < platforms.size(); i++) {
+            double time = landingTime(runner, platforms.get(i).getBounds());
+            if (time < earliest) {
+                earliest = time;
+                landing = platforms.get(i);
+            }
+        }
+        if (landing != null) {
+            runner.land(landing.getBounds().y());
+        }
+    }
 
-        for (Platform platform : platforms) {
-            if (!platform.isActive()) continue;
+    /**
+     * Lands the runner on the active platform of the game's level that its feet crossed
+     * first during the last step, only considering the platforms indexed along its path.
+     */
+    public void resolvePlatformCollisions(Runner runner, GameState gameState) {
+        Level level = gameState.getLevel();
+        List<Platform> platforms = level.getPlatforms();
+        level.queryPlatforms(sweptLeft(runner), sweptRight(runner), nearbyPlatforms);
 
-            Rectangle platformBounds = platform.getBounds();
+        Platform landing = null;
+        double earliest = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < nearbyPlatforms.count(); i++) {
+            int index = nearbyPlatforms.get(i);
+            if (!gameState.isPlatformActive(index)) continue;
 
-            if (isLandingOnPlatform(runnerBounds, platformBounds, runner.getVelocity())) {
-                runner.land(platformBounds.y());
-                return;
+            double time = landingTime(runner, platforms.get(index).getBounds());
+            if (time < earliest) {
+                earliest = time;
+                landing = platforms.get(index);
             }
         }
+        if (landing != null) {
+            runner.land(landing.getBounds().y());
+        }
     }
 
-    private boolean isLandingOnPlatform(Rectangle runner, Rectangle platform, Vector2D velocity) {
-        if (velocity.y() <= 0) return false;
+    /**
+     * Fraction of the last step at which the falling runner landed on the platform, or
+     * {@code NaN} when it did not. A runner lands when its feet are at most
+     * {@value #LANDING_BAND}px below the top while it is over the platform; for a runner
+     * coming from above that is checked along its whole path, so a long step cannot carry
+     * it through the platform.
+     */
+    private double landingTime(Runner runner, Rectangle platform) {
+        if (runner.getVelocityY() <= 0) return Double.NaN;
+
+        double top = platform.y();
+        double feet = runner.getBottom();
+        double previousFeet = runner.getPreviousY() + Runner.HEIGHT;
+        if (feet < top) return Double.NaN;
 
-        boolean horizontalOverlap = runner.right() > platform.x() && runner.x() < platform.right();
-        double runnerFeet = runner.bottom();
-        boolean verticalContact = runnerFeet >= platform.y() && runnerFeet <= platform.y() + 20;
+        if (previousFeet >= top) {
+            // Already level with the top before this step, e.g. walking along it.
+            boolean supported = feet <= top + LANDING_BAND && isOver(runner.getX(), platform);
+            return supported ? 0 : Double.NaN;
+        }
 
-        return horizontalOverlap && verticalContact;
+        double fall = feet - previousFeet;
+        double enter = (top - previousFeet) / fall;
+        double exit = Math.min(1, (top + LANDING_BAND - previousFeet) / fall);
+
+        double fromX = runner.getPreviousX();
+        double deltaX = runner.getX() - fromX;
+        if (deltaX == 0) {
+            if (!isOver(fromX, platform)) return Double.NaN;
+        } else {
+            double first = (platform.x() - Runner.WIDTH - fromX) / deltaX;
+            double second = (platform.right() - fromX) / deltaX;
+            enter = Math.max(enter, Math.min(first, second));
+            exit = Math.min(exit, Math.max(first, second));
+        }
+        return enter <= exit ? enter : Double.NaN;
+    }
+
+    private static boolean isOver(double runnerX, Rectangle platform) {
+        return runnerX + Runner.WIDTH > platform.x() && runnerX < platform.right();
+    }
+
+    /**
+     * Leftmost x the runner covered during its last step.
+     */
+    public static double sweptLeft(Runner runner) {
+        return Math.min(runner.getPreviousX(), runner.getX());
+    }
+
+    /**
+     * Rightmost x the runner covered during its last step.
+     */
+    public static double sweptRight(Runner runner) {
+        return Math.max(runner.getPreviousX(), runner.getX()) + Runner.WIDTH;
     }
 
     public boolean checkTrapCollision(Runner runner, Trap trap) {
-        return runner.getBounds().intersects(trap.getBounds());
+        return runner.sweptIntersects(trap.getBounds());
+    }
+
+    /**
+     * What touching a trap does to the runner. Shared by the game and the runner's
+     * look-ahead, so that its forecasts follow the same rules.
+     */
+    public void applyTrapEffect(Runner runner, Trap trap) {
+        switch (trap.getType()) {
+            case SPIKE -> runner.die();
+            case BOUNCE_PAD -> runner.bounce();
+            case SLOW_ZONE -> runner.setSpeedMultiplier(0.5);
+        }
     }
 
     public boolean checkGoalReached(Runner runner, Rectangle goal) {
-        return runner.getBounds().intersects(goal);
+        return runner.sweptIntersects(goal);
     }
 
     public boolean checkFellOffMap(Runner runner, double mapHeight) {
-        return runner.getPosition().y() > mapHeight + 50;
+        return runner.getY() > mapHeight + 50;
     }
 
     public boolean checkOutOfBounds(Runner runner, double mapWidth) {
-        return runner.getPosition().x() > mapWidth + 50;
+        return runner.getX() > mapWidth + 50;
     }
 }
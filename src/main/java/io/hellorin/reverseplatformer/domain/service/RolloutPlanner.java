@@ -0,0 +1,159 @@
+package io.hellorin.reverseplatformer.domain.service;
+
+import io.hellorin.reverseplatformer.domain.model.*;
+
+import java.util.List;
+import java.util.function.LongSupplier;
+
+/**
+ * Lets the runner look ahead before jumping: plays a few candidate plans forward on a
+ * scratch copy of the runner, through the same physics and trap rules as the game, and
+ * keeps the one that survives longest and gets furthest. Each decision has a hard budget
+ * in nanoseconds and a cap on rollouts; when not even one alternative to the heuristic
+ * decision fits, the heuristic decision stands. Allocation free; one planner per game.
+ */
+public class RolloutPlanner {
+
+    private static final double HORIZON_SECONDS = 1.5;
+    private static final int CLOCK_CHECK_STEPS = 16;
+    private static final double FAILED = -1_000_000;
+    private static final double WON = 1_000_000;
+
+    private static final int STAY = 0;
+    private static final int JUMP = 1;
+    private static final int AS_HEURISTIC = 2;
+    private static final int AGAINST_HEURISTIC = 3;
+
+    /**
+     * Candidate plans, in evaluation order: what to do now, then for how many steps to
+     * hold further jumps before handing back to the heuristics. The first one replays the
+     * heuristic decision and is only beaten by a strictly better plan.
+     */
+    private static final int[][] CANDIDATES = {
+            {AS_HEURISTIC, 0}, {AGAINST_HEURISTIC, 0}, {STAY, 8}, {STAY, 16}, {STAY, 30}, {JUMP, 30}
+    };
+
+    private final long budgetNanos;
+    private final int maxRollouts;
+    private final double stepSeconds;
+    private final int horizonSteps;
+    private final LongSupplier nanoClock;
+    private final PhysicsService physics = new PhysicsService();
+    private final SpatialIndex.Hits touchedTraps = new SpatialIndex.Hits();
+    private final Runner scratch = new Runner(0, 0, 1.0);
+
+    private long decisions;
+    private long fallbacks;
+
+    public RolloutPlanner(long budgetNanos, int maxRollouts, double stepSeconds) {
+        this(budgetNanos, maxRollouts, stepSeconds, System::nanoTime);
+    }
+
+    /**
+     * A planner without a time budget: every decision plays all {@code maxRollouts} plans,
+     * so it only depends on the game state and not on how fast the machine is.
+     */
+    public static RolloutPlanner deterministic(int maxRollouts, double stepSeconds) {
+        return new RolloutPlanner(Long.MAX_VALUE, maxRollouts, stepSeconds, () -> 0L);
+    }
+
+    RolloutPlanner(long budgetNanos, int maxRollouts, double stepSeconds, LongSupplier nanoClock) {
+        this.budgetNanos = budgetNanos;
+        this.maxRollouts = Math.min(maxRollouts, CANDIDATES.length);
+        this.stepSeconds = stepSeconds;
+        this.horizonSteps = (int) Math.ceil(HORIZON_SECONDS / stepSeconds);
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Decides whether a runner standing on the ground should jump now.
+     */
+    boolean shouldJump(Runner runner, GameState gameState, boolean heuristicJump, RunnerAIService heuristics) {
+        decisions++;
+        long deadline = nanoClock.getAsLong() + budgetNanos;
+
+        boolean bestJump = heuristicJump;
+        double bestScore = Double.NEGATIVE_INFINITY;
+        int evaluated = 0;
+        for (int i = 0; i < maxRollouts; i++) {
+            boolean jumpNow = switch (CANDIDATES[i][0]) {
+                case AS_HEURISTIC -> heuristicJump;
+                case AGAINST_HEURISTIC -> !heuristicJump;
+                default -> CANDIDATES[i][0] == JUMP;
+            };
+            double score = rollout(runner, gameState, jumpNow, CANDIDATES[i][1], heuristics, deadline);
+            if (Double.isNaN(score)) break;
+
+            evaluated++;
+            if (score > bestScore) {
+                bestScore = score;
+                bestJump = jumpNow;
+            }
+        }
+
+        if (evaluated < 2) {
+            fallbacks++;
+            return heuristicJump;
+        }
+        return bestJump;
+    }
+
+    /**
+     * Scores one plan, or returns {@code NaN} when the budget ran out before it finished.
+     */
+    private double rollout(Runner runner, GameState gameState, boolean jumpNow, int holdSteps,
+                           RunnerAIService heuristics, long deadline) {
+        if (nanoClock.getAsLong() >= deadline) return Double.NaN;
+
+        Level level = gameState.getLevel();
+        scratch.copyFrom(runner);
+        if (jumpNow) {
+            scratch.jump();
+        }
+
+        for (int step = 0; step < horizonSteps; step++) {
+            if (step % CLOCK_CHECK_STEPS == CLOCK_CHECK_STEPS - 1 && nanoClock.getAsLong() >= deadline) {
+                return Double.NaN;
+            }
+            if (step > holdSteps && scratch.isAlive() && scratch.isOnGround()
+                    && heuristics.wantsToJump(scratch, gameState)) {
+                scratch.jump();
+            }
+
+            physics.update(scratch, gameState, stepSeconds);
+            applyTraps(gameState);
+
+            if (!scratch.isAlive() || physics.checkFellOffMap(scratch, level.getHeight())) {
+                return FAILED + step;
+            }
+            if (physics.checkGoalReached(scratch, level.getGoal())
+                    || physics.checkOutOfBounds(scratch, level.getWidth())) {
+                return WON - step;
+            }
+        }
+        return scratch.getX();
+    }
+
+    private void applyTraps(GameState gameState) {
+        List<Trap> traps = gameState.getTraps();
+        gameState.getTrapIndex().query(PhysicsService.sweptLeft(scratch), PhysicsService.sweptRight(scratch),
+                touchedTraps);
+        for (int i = 0; i < touchedTraps.count(); i++) {
+            Trap trap = traps.get(touchedTraps.get(i));
+            if (physics.checkTrapCollision(scratch, trap)) {
+                physics.applyTrapEffect(scratch, trap);
+            }
+        }
+    }
+
+    public long decisions() {
+        return decisions;
+    }
+
+    /**
+     * Decisions where the budget did not allow a single alternative to be evaluated.
+     */
+    public long fallbacks() {
+        return fallbacks;
+    }
+}
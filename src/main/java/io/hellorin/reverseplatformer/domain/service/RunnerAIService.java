@@ -6,8 +6,30 @@ import java.util.List;
 
 public class RunnerAIService {
 
-    private static final double EDGE_DETECTION_DISTANCE = 25;
+    static final double EDGE_DETECTION_DISTANCE = 25;
+    static final double GROUND_PROBE_DEPTH = 10;
     private static final double OBSTACLE_DETECTION_DISTANCE = 30;
+    private static final double HIGHER_PLATFORM_BEHIND = 20;
+    private static final double HIGHER_PLATFORM_AHEAD = 60;
+
+    private final RolloutPlanner planner;
+    private final SpatialIndex.Hits nearby = new SpatialIndex.Hits();
+    private NavigationTable navigation;
+    private Level navigationLevel;
+    private GameState navigationGame;
+    private int navigationVersion;
+
+    public RunnerAIService() {
+        this(null);
+    }
+
+    /**
+     * @param planner looks ahead before each decision of {@link #think(Runner, GameState)};
+     *                {@code null} for the heuristics alone
+     */
+    public RunnerAIService(RolloutPlanner planner) {
+        this.planner = planner;
+    }
 
     public void think(Runner runner, List<Platform> platforms, List<Trap> traps) {
         if (!runner.isAlive() || !runner.isOnGround()) return;
@@ -27,17 +49,79 @@ public class RunnerAIService {
         }
     }
 
+    /**
+     * Same decisions as {@link #think(Runner, List, List)} for the game's active platforms,
+     * reviewed by the planner when there is one.
+     */
+    public void think(Runner runner, GameState gameState) {
+        if (!runner.isAlive() || !runner.isOnGround()) return;
+
+        boolean jump = wantsToJump(runner, gameState);
+        if (planner != null) {
+            jump = planner.shouldJump(runner, gameState, jump, this);
+        }
+        if (jump) {
+            runner.jump();
+        }
+    }
+
+    /**
+     * The heuristic decision for a runner on the ground. Platform decisions come from the
+     * level's {@link NavigationTable}; traps are looked up in the game's spatial index.
+     */
+    boolean wantsToJump(Runner runner, GameState gameState) {
+        boolean platformsSayJump = switch (navigation(gameState).decide(runner)) {
+            case NavigationTable.JUMP -> true;
+            case NavigationTable.STAY -> false;
+            default -> isApproachingGap(runner, gameState) || shouldJumpToHigherPlatform(runner, gameState);
+        };
+        return platformsSayJump || isTrapAhead(runner, gameState);
+    }
+
+    /**
+     * The shared table of the level while all of its platforms are active, otherwise one
+     * built for this game and rebuilt whenever its platform flags change.
+     */
+    private NavigationTable navigation(GameState gameState) {
+        Level level = gameState.getLevel();
+        if (gameState.getPlatformsVersion() == 0) {
+            if (level != navigationLevel || navigationGame != null) {
+                navigation = NavigationTable.shared(level);
+                navigationLevel = level;
+                navigationGame = null;
+            }
+        } else if (gameState != navigationGame || gameState.getPlatformsVersion() != navigationVersion) {
+            navigation = NavigationTable.build(level, gameState);
+            navigationLevel = level;
+            navigationGame = gameState;
+            navigationVersion = gameState.getPlatformsVersion();
+        }
+        return navigation;
+    }
+
     private boolean isApproachingGap(Runner runner, List<Platform> platforms) {
-        Rectangle runnerBounds = runner.getBounds();
-        double checkX = runnerBounds.right() + EDGE_DETECTION_DISTANCE;
-        double checkY = runnerBounds.bottom() + 10;
+        double checkX = runner.getRight() + EDGE_DETECTION_DISTANCE;
+        double checkY = runner.getBottom() + GROUND_PROBE_DEPTH;
+
+        for (int i = 0; i < platforms.size(); i++) {
+            if (isGroundAt(platforms.get(i), checkX, checkY)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
 
-        for (Platform platform : platforms) {
-            if (!platform.isActive()) continue;
+    private boolean isApproachingGap(Runner runner, GameState gameState) {
+        double checkX = runner.getRight() + EDGE_DETECTION_DISTANCE;
+        double checkY = runner.getBottom() + GROUND_PROBE_DEPTH;
 
-            Rectangle bounds = platform.getBounds();
-            if (checkX >= bounds.x() && checkX <= bounds.right() &&
-                checkY >= bounds.y() && checkY <= bounds.bottom()) {
+        Level level = gameState.getLevel();
+        List<Platform> platforms = level.getPlatforms();
+        level.queryPlatforms(checkX, checkX, nearby);
+        for (int i = 0; i < nearby.count(); i++) {
+            int index = nearby.get(i);
+            if (gameState.isPlatformActive(index) && isGroundAt(platforms.get(index), checkX, checkY)) {
                 return false;
             }
         }
@@ -45,17 +129,27 @@ public class RunnerAIService {
         return true;
     }
 
-    private boolean isTrapAhead(Runner runner, List<Trap> traps) {
-        Rectangle runnerBounds = runner.getBounds();
+    private boolean isGroundAt(Platform platform, double x, double y) {
+        Rectangle bounds = platform.getBounds();
+        return x >= bounds.x() && x <= bounds.right() &&
+               y >= bounds.y() && y <= bounds.bottom();
+    }
 
-        for (Trap trap : traps) {
-            Rectangle trapBounds = trap.getBounds();
+    private boolean isTrapAhead(Runner runner, List<Trap> traps) {
+        for (int i = 0; i < traps.size(); i++) {
+            if (isBlockingTrap(runner, traps.get(i))) {
+                return true;
+            }
+        }
 
-            double distanceAhead = trapBounds.x() - runnerBounds.right();
-            boolean isAhead = distanceAhead > 0 && distanceAhead < OBSTACLE_DETECTION_DISTANCE;
-            boolean sameLevel = Math.abs(trapBounds.y() - runnerBounds.y()) < 50;
+        return false;
+    }
 
-            if (isAhead && sameLevel && trap.getType() != TrapType.BOUNCE_PAD) {
+    private boolean isTrapAhead(Runner runner, GameState gameState) {
+        List<Trap> traps = gameState.getTraps();
+        gameState.getTrapIndex().query(runner.getRight(), runner.getRight() + OBSTACLE_DETECTION_DISTANCE, nearby);
+        for (int i = 0; i < nearby.count(); i++) {
+            if (isBlockingTrap(runner, traps.get(nearby.get(i)))) {
                 return true;
             }
         }
@@ -63,25 +157,59 @@ public class RunnerAIService {
         return false;
     }
 
-    private boolean shouldJumpToHigherPlatform(Runner runner, List<Platform> platforms) {
-        Rectangle runnerBounds = runner.getBounds();
+    private boolean isBlockingTrap(Runner runner, Trap trap) {
+        Rectangle trapBounds = trap.getBounds();
 
-        for (Platform platform : platforms) {
-            if (!platform.isActive()) continue;
+        double distanceAhead = trapBounds.x() - runner.getRight();
+        boolean isAhead = distanceAhead > 0 && distanceAhead < OBSTACLE_DETECTION_DISTANCE;
+        boolean sameLevel = Math.abs(trapBounds.y() - runner.getY()) < 50;
 
-            Rectangle bounds = platform.getBounds();
+        return isAhead && sameLevel && trap.getType() != TrapType.BOUNCE_PAD;
+    }
 
-            double distanceAhead = bounds.x() - runnerBounds.right();
-            double heightDiff = runnerBounds.y() - bounds.y();
+    private boolean shouldJumpToHigherPlatform(Runner runner, List<Platform> platforms) {
+        for (int i = 0; i < platforms.size(); i++) {
+            if (isHigherPlatformAhead(runner, platforms.get(i))) {
+                return true;
+            }
+        }
 
-            boolean isAhead = distanceAhead > -20 && distanceAhead < 60;
-            boolean isAbove = heightDiff > 30 && heightDiff < 120;
+        return false;
+    }
 
-            if (isAhead && isAbove) {
+    private boolean shouldJumpToHigherPlatform(Runner runner, GameState gameState) {
+        Level level = gameState.getLevel();
+        List<Platform> platforms = level.getPlatforms();
+        level.queryPlatforms(runner.getRight() - HIGHER_PLATFORM_BEHIND,
+                runner.getRight() + HIGHER_PLATFORM_AHEAD, nearby);
+        for (int i = 0; i < nearby.count(); i++) {
+            int index = nearby.get(i);
+            if (gameState.isPlatformActive(index) && isHigherPlatformAhead(runner, platforms.get(index))) {
                 return true;
             }
         }
 
         return false;
     }
+
+    private boolean isHigherPlatformAhead(Runner runner, Platform platform) {
+        Rectangle bounds = platform.getBounds();
+
+        double distanceAhead = bounds.x() - runner.getRight();
+        double heightDiff = runner.getY() - bounds.y();
+
+        return isNotYetPassed(distanceAhead) && isWithinReach(distanceAhead) && isWorthClimbing(heightDiff);
+    }
+
+    static boolean isNotYetPassed(double distanceAhead) {
+        return distanceAhead > -HIGHER_PLATFORM_BEHIND;
+    }
+
+    static boolean isWithinReach(double distanceAhead) {
+        return distanceAhead < HIGHER_PLATFORM_AHEAD;
+    }
+
+    static boolean isWorthClimbing(double heightDiff) {
+        return heightDiff > 30 && heightDiff < 120;
+    }
 }
@@ -69,6 +69,7 @@ canvas.height = GAME_CONFIG.CANVAS.DEFAULT_HEIGHT;
 
 let socket = null;
 let gameState = null;
+let levelLayouts = {};
 let selectedTrap = null;
 let mousePos = { x: 0, y: 0 };
 let isMouseOnCanvas = false;
@@ -77,6 +78,34 @@ let reconnectTimeout = null;
 const MAX_RECONNECT_ATTEMPTS = 5;
 const RECONNECT_DELAY_MS = 3000;
 
+// Wire protocols offered during the handshake; append ?protocol=json to the page URL to force JSON
+const PROTOCOL = {
+    BINARY: 'saboteur.binary.v1',
+    JSON: 'saboteur.json.v1'
+};
+const STATUSES = ['WAITING', 'RUNNING', 'PLAYER_WINS', 'RUNNER_WINS'];
+const TRAP_TYPES = ['SPIKE', 'BOUNCE_PAD', 'SLOW_ZONE'];
+const BINARY_OP = { KEYFRAME: 1, DELTA: 2, LEVEL: 3 };
+const BINARY_CMD = { START: 1, RESTART: 2, NEXT_LEVEL: 3, PLACE_TRAP: 4 };
+// Frames arrive at the server's snapshot rate; the runner is drawn this far in the past
+// and interpolated between the two snapshots around that time
+const INTERPOLATION = {
+    DELAY_MS: 100,
+    MAX_SNAPSHOTS: 30,
+    CLOCK_DECAY_MS: 0.5
+};
+let runnerSnapshots = [];
+let clockOffset = null;
+
+const DELTA_FIELD = {
+    STATUS: 1,
+    POINTS: 1 << 1,
+    ELAPSED_TIME: 1 << 2,
+    RUNNER: 1 << 3,
+    ADDED_TRAPS: 1 << 4,
+    PLATFORM_CHANGES: 1 << 5
+};
+
 // Get canvas coordinates accounting for scaling
 function getCanvasCoordinates(event) {
     const rect = canvas.getBoundingClientRect();
@@ -101,8 +130,12 @@ function connect() {
     const protocol = window.location.protocol === 'https:' ? 'wss:' : 'ws:';
     const wsUrl = `${protocol}//${window.location.host}/game`;
 
+    const forceJson = new URLSearchParams(window.location.search).get('protocol') === 'json';
+    const protocols = forceJson ? [PROTOCOL.JSON] : [PROTOCOL.BINARY, PROTOCOL.JSON];
+
     try {
-        socket = new WebSocket(wsUrl);
+        socket = new WebSocket(wsUrl, protocols);
+        socket.binaryType = 'arraybuffer';
 
         socket.onopen = () => {
             reconnectAttempts = 0;
@@ -112,7 +145,10 @@ function connect() {
 
         socket.onmessage = (event) => {
             try {
-                gameState = JSON.parse(event.data);
+                const frame = typeof event.data === 'string'
+                    ? JSON.parse(event.data)
+                    : decodeBinaryFrame(new DataView(event.data));
+                applyFrame(frame);
                 updateUI();
             } catch (error) {
                 showMessage('Error parsing game data');
@@ -140,6 +176,161 @@ function connect() {
     }
 }
 
+// Apply a LEVEL (static layout, sent once per level), a KEYFRAME (full dynamic state)
+// or a DELTA (changed fields only) from the server
+function applyFrame(frame) {
+    if (frame.type === 'LEVEL') {
+        levelLayouts[frame.level] = frame;
+        return;
+    }
+    if (frame.type === 'KEYFRAME') {
+        const layout = levelLayouts[frame.level];
+        if (!layout) return;
+        if (!gameState || gameState.level !== frame.level || frame.elapsedTime < gameState.elapsedTime) {
+            runnerSnapshots = [];
+        }
+        gameState = {
+            ...frame,
+            speedMultiplier: layout.speedMultiplier,
+            goal: layout.goal,
+            platforms: layout.platforms.map((platform, i) => ({ ...platform, active: frame.platformActive[i] }))
+        };
+        recordRunnerSnapshot(frame);
+        return;
+    }
+    if (!gameState) return;
+
+    gameState.tick = frame.tick;
+    gameState.serverTime = frame.serverTime;
+    if (frame.status !== undefined) gameState.status = frame.status;
+    if (frame.playerPoints !== undefined) gameState.playerPoints = frame.playerPoints;
+    if (frame.elapsedTime !== undefined) gameState.elapsedTime = frame.elapsedTime;
+    if (frame.runner !== undefined) {
+        gameState.runner = frame.runner;
+        recordRunnerSnapshot(frame);
+    }
+    if (frame.addedTraps) gameState.traps.push(...frame.addedTraps);
+    if (frame.platformChanges) {
+        frame.platformChanges.forEach(change => {
+            const platform = gameState.platforms[change.index];
+            if (platform) platform.active = change.active;
+        });
+    }
+}
+
+function recordRunnerSnapshot(frame) {
+    const offset = frame.serverTime - Date.now();
+    clockOffset = clockOffset === null
+        ? offset
+        : Math.max(offset, clockOffset - INTERPOLATION.CLOCK_DECAY_MS);
+
+    runnerSnapshots.push({ time: frame.serverTime, x: frame.runner.x, y: frame.runner.y });
+    if (runnerSnapshots.length > INTERPOLATION.MAX_SNAPSHOTS) {
+        runnerSnapshots.shift();
+    }
+}
+
+// Runner position at (server now - delay), interpolated between the surrounding snapshots
+function interpolatedRunner() {
+    const runner = gameState.runner;
+    if (runnerSnapshots.length === 0) return runner;
+
+    const renderTime = Date.now() + clockOffset - INTERPOLATION.DELAY_MS;
+    const first = runnerSnapshots[0];
+    const last = runnerSnapshots[runnerSnapshots.length - 1];
+    if (renderTime <= first.time) return { ...runner, x: first.x, y: first.y };
+    if (renderTime >= last.time) return { ...runner, x: last.x, y: last.y };
+
+    for (let i = runnerSnapshots.length - 1; i > 0; i--) {
+        const from = runnerSnapshots[i - 1];
+        const to = runnerSnapshots[i];
+        if (renderTime >= from.time) {
+            const t = to.time === from.time ? 1 : (renderTime - from.time) / (to.time - from.time);
+            return { ...runner, x: from.x + (to.x - from.x) * t, y: from.y + (to.y - from.y) * t };
+        }
+    }
+    return runner;
+}
+
+// Decode a little-endian binary frame into the same shape as the JSON frames
+function decodeBinaryFrame(view) {
+    let offset = 0;
+    const u8 = () => view.getUint8(offset++);
+    const u16 = () => { const v = view.getUint16(offset, true); offset += 2; return v; };
+    const i32 = () => { const v = view.getInt32(offset, true); offset += 4; return v; };
+    const f32 = () => { const v = view.getFloat32(offset, true); offset += 4; return v; };
+    const runner = () => ({ x: f32(), y: f32(), alive: u8() === 1 });
+    const traps = () => {
+        const count = u16();
+        const list = [];
+        for (let i = 0; i < count; i++) {
+            list.push({ type: TRAP_TYPES[u8()], x: f32(), y: f32() });
+        }
+        return list;
+    };
+
+    const op = u8();
+    if (op === BINARY_OP.LEVEL) {
+        const frame = { type: 'LEVEL', level: u8(), width: f32(), height: f32(), speedMultiplier: f32() };
+        frame.goal = { x: f32(), y: f32(), width: f32(), height: f32() };
+        const platformCount = u16();
+        frame.platforms = [];
+        for (let i = 0; i < platformCount; i++) {
+            frame.platforms.push({ x: f32(), y: f32(), width: f32(), height: f32() });
+        }
+        return frame;
+    }
+
+    const tick = view.getUint32(offset, true);
+    const serverTime = view.getFloat64(offset + 4, true);
+    offset += 12;
+
+    if (op === BINARY_OP.KEYFRAME) {
+        const frame = { type: 'KEYFRAME', tick, serverTime };
+        frame.status = STATUSES[u8()];
+        frame.level = u8();
+        frame.playerPoints = i32();
+        frame.elapsedTime = f32();
+        frame.runner = runner();
+        const platformCount = u16();
+        frame.platformActive = [];
+        for (let i = 0; i < platformCount; i++) {
+            frame.platformActive.push(u8() === 1);
+        }
+        frame.traps = traps();
+        return frame;
+    }
+
+    const frame = { type: 'DELTA', tick, serverTime };
+    const mask = u8();
+    if (mask & DELTA_FIELD.STATUS) frame.status = STATUSES[u8()];
+    if (mask & DELTA_FIELD.POINTS) frame.playerPoints = i32();
+    if (mask & DELTA_FIELD.ELAPSED_TIME) frame.elapsedTime = f32();
+    if (mask & DELTA_FIELD.RUNNER) frame.runner = runner();
+    if (mask & DELTA_FIELD.ADDED_TRAPS) frame.addedTraps = traps();
+    if (mask & DELTA_FIELD.PLATFORM_CHANGES) {
+        const count = u16();
+        frame.platformChanges = [];
+        for (let i = 0; i < count; i++) {
+            frame.platformChanges.push({ index: u16(), active: u8() === 1 });
+        }
+    }
+    return frame;
+}
+
+// Encode a client command into its binary form
+function encodeBinaryCommand(message) {
+    if (message.type !== 'PLACE_TRAP') {
+        return new Uint8Array([BINARY_CMD[message.type]]).buffer;
+    }
+    const view = new DataView(new ArrayBuffer(10));
+    view.setUint8(0, BINARY_CMD.PLACE_TRAP);
+    view.setUint8(1, TRAP_TYPES.indexOf(message.trapType));
+    view.setFloat32(2, message.x, true);
+    view.setFloat32(6, message.y, true);
+    return view.buffer;
+}
+
 function attemptReconnect() {
     if (reconnectAttempts >= MAX_RECONNECT_ATTEMPTS) {
         statusDisplay.textContent = 'Connection lost - Refresh page';
@@ -165,7 +356,9 @@ function send(message) {
     }
 
     try {
-        socket.send(JSON.stringify(message));
+        socket.send(socket.protocol === PROTOCOL.BINARY
+            ? encodeBinaryCommand(message)
+            : JSON.stringify(message));
         return true;
     } catch (error) {
         showMessage('Failed to send message');
@@ -345,7 +538,7 @@ function render() {
     });
 
     // Draw runner with effects
-    const runner = gameState.runner;
+    const runner = interpolatedRunner();
 
     if (runner.alive) {
         // Add glow for alive runner
@@ -0,0 +1,66 @@
+package io.hellorin.reverseplatformer.adapters.in.balance;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BalanceSimulatorTest {
+
+    private static BalanceProperties properties(String script, int parallelism) {
+        return new BalanceProperties(List.of(1, 3), 200, 7, script, 1.0, 60, 60, 0, parallelism, "");
+    }
+
+    private static String sweep(BalanceProperties properties) {
+        BalanceSimulator simulator = new BalanceSimulator(properties, TrapPlan.of(properties));
+        try (ForkJoinPool pool = new ForkJoinPool(properties.effectiveParallelism())) {
+            List<LevelStats> results = simulator.sweep(pool);
+            StringBuilder report = new StringBuilder();
+            results.forEach(stats -> stats.appendTo(report, properties.stepSeconds()));
+            return report.toString();
+        }
+    }
+
+    @Test
+    void shouldPlayEveryGameOfEveryLevel() {
+        BalanceProperties properties = properties("", 2);
+        BalanceSimulator simulator = new BalanceSimulator(properties, TrapPlan.of(properties));
+
+        List<LevelStats> results;
+        try (ForkJoinPool pool = new ForkJoinPool(2)) {
+            results = simulator.sweep(pool);
+        }
+
+        assertThat(results).extracting(LevelStats::level).containsExactly(1, 3);
+        for (LevelStats stats : results) {
+            assertThat(stats.games()).isEqualTo(200);
+            assertThat(stats.runnerWins() + stats.playerWins() + stats.timeouts()).isEqualTo(200);
+            assertThat(stats.runnerWins()).isPositive();
+            assertThat(stats.playerWins()).isPositive();
+        }
+    }
+
+    @Test
+    void shouldReportTheSameWhateverTheParallelism() {
+        assertThat(sweep(properties("", 4))).isEqualTo(sweep(properties("", 1)));
+    }
+
+    @Test
+    void shouldPlayScriptedTrapsTheSameInEveryGame() {
+        String report = sweep(properties("0.5:SPIKE:300:340", 2));
+
+        assertThat(report).contains("Level 1: 200 games");
+        assertThat(report).containsAnyOf("runner wins 100.0%", "player wins 100.0%");
+    }
+
+    @Test
+    void shouldRejectUnknownLevels() {
+        BalanceProperties properties = new BalanceProperties(List.of(9), 1, 1, "", 1.0, 60, 60, 0, 1, "");
+
+        assertThatThrownBy(() -> new BalanceSimulator(properties, TrapPlan.of(properties)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
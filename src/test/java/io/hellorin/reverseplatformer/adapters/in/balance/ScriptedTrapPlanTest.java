@@ -0,0 +1,71 @@
+package io.hellorin.reverseplatformer.adapters.in.balance;
+
+import io.hellorin.reverseplatformer.application.GameSession;
+import io.hellorin.reverseplatformer.application.GameSimulation;
+import io.hellorin.reverseplatformer.application.ports.in.GameCommand;
+import io.hellorin.reverseplatformer.application.service.GameService;
+import io.hellorin.reverseplatformer.application.service.LevelService;
+import io.hellorin.reverseplatformer.application.service.TrapService;
+import io.hellorin.reverseplatformer.domain.model.Trap;
+import io.hellorin.reverseplatformer.domain.model.TrapType;
+import io.hellorin.reverseplatformer.domain.service.PhysicsService;
+import io.hellorin.reverseplatformer.domain.service.RunnerAIService;
+import org.junit.jupiter.api.Test;
+
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ScriptedTrapPlanTest {
+
+    private static final double DT = 1.0 / 60;
+
+    @Test
+    void shouldPlaceTrapsAtTheirScriptedTimes() {
+        ScriptedTrapPlan plan = ScriptedTrapPlan.parse(" 1:slow_zone:500:340 ; 0.5:SPIKE:300:340;", DT);
+        GameSession session = new GameSession();
+        GameSimulation simulation = new GameSimulation(
+                new GameService(session, new PhysicsService(), new RunnerAIService()),
+                new LevelService(session), new TrapService(session));
+        simulation.execute(GameCommand.START);
+
+        for (int i = 0; i < 45; i++) {
+            plan.placeTraps(simulation, new SplittableRandom(1));
+            simulation.step(DT);
+        }
+        assertThat(simulation.getGameState().getTraps()).extracting(Trap::getType)
+                .containsExactly(TrapType.SPIKE);
+
+        for (int i = 0; i < 30; i++) {
+            plan.placeTraps(simulation, new SplittableRandom(1));
+            simulation.step(DT);
+        }
+        assertThat(plan.size()).isEqualTo(2);
+        assertThat(simulation.getGameState().getTraps()).extracting(Trap::getType)
+                .containsExactly(TrapType.SPIKE, TrapType.SLOW_ZONE);
+    }
+
+    @Test
+    void shouldRejectMalformedEntries() {
+        assertThatThrownBy(() -> ScriptedTrapPlan.parse("1:SPIKE:300", DT))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("1:SPIKE:300");
+        assertThatThrownBy(() -> ScriptedTrapPlan.parse("1:LASER:300:340", DT))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldParseTrapTypesWhateverTheDefaultLocale() {
+        Locale defaultLocale = Locale.getDefault();
+        try {
+            // Upper-cases "i" to a dotted capital I, so "spike" would not match SPIKE.
+            Locale.setDefault(Locale.forLanguageTag("tr-TR"));
+
+            assertThat(ScriptedTrapPlan.parse("1:spike:300:340", DT).size()).isEqualTo(1);
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+    }
+}
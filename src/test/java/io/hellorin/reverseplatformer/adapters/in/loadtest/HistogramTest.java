@@ -0,0 +1,56 @@
+package io.hellorin.reverseplatformer.adapters.in.loadtest;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class HistogramTest {
+
+    @Test
+    void shouldKeepSmallValuesExact() {
+        Histogram histogram = new Histogram();
+        for (int value = 1; value <= 10; value++) {
+            histogram.record(value);
+        }
+
+        assertThat(histogram.count()).isEqualTo(10);
+        assertThat(histogram.valueAt(0.5)).isEqualTo(5);
+        assertThat(histogram.valueAt(0.9)).isEqualTo(9);
+        assertThat(histogram.valueAt(1.0)).isEqualTo(10);
+        assertThat(histogram.mean()).isEqualTo(5.5);
+    }
+
+    @Test
+    void shouldReportPercentilesWithinBucketPrecision() {
+        Histogram histogram = new Histogram();
+        for (long value = 1; value <= 100_000; value++) {
+            histogram.record(value * 1_000);
+        }
+
+        assertThat((double) histogram.valueAt(0.5)).isCloseTo(50_000_000, within(50_000_000 * 0.04));
+        assertThat((double) histogram.valueAt(0.99)).isCloseTo(99_000_000, within(99_000_000 * 0.04));
+        assertThat(histogram.valueAt(1.0)).isEqualTo(100_000_000);
+        assertThat(histogram.max()).isEqualTo(100_000_000);
+    }
+
+    @Test
+    void shouldMapEveryValueIntoItsBucket() {
+        long[] values = {0, 31, 32, 63, 64, 1_000, 123_456_789, Long.MAX_VALUE};
+        for (long value : values) {
+            int index = Histogram.index(value);
+            assertThat(Histogram.highestValue(index)).isGreaterThanOrEqualTo(value);
+            if (index > 0) {
+                assertThat(Histogram.highestValue(index - 1)).isLessThan(value);
+            }
+        }
+    }
+
+    @Test
+    void shouldReportZeroWhenEmpty() {
+        Histogram histogram = new Histogram();
+
+        assertThat(histogram.valueAt(0.99)).isZero();
+        assertThat(histogram.mean()).isZero();
+    }
+}
@@ -0,0 +1,190 @@
+package io.hellorin.reverseplatformer.adapters.in.loadtest;
+
+import io.hellorin.reverseplatformer.adapters.in.websocket.protocol.BinaryFrameCodec;
+import io.hellorin.reverseplatformer.adapters.in.websocket.protocol.FrameBuffer;
+import io.hellorin.reverseplatformer.adapters.in.websocket.protocol.FrameCodec;
+import io.hellorin.reverseplatformer.adapters.in.websocket.protocol.FrameContent;
+import io.hellorin.reverseplatformer.adapters.in.websocket.protocol.JsonFrameCodec;
+import io.hellorin.reverseplatformer.application.GameSession;
+import io.hellorin.reverseplatformer.application.GameSimulation;
+import io.hellorin.reverseplatformer.application.ports.in.GameCommand;
+import io.hellorin.reverseplatformer.application.service.GameService;
+import io.hellorin.reverseplatformer.application.service.LevelService;
+import io.hellorin.reverseplatformer.application.service.TrapService;
+import io.hellorin.reverseplatformer.domain.model.GameState;
+import io.hellorin.reverseplatformer.domain.service.PhysicsService;
+import io.hellorin.reverseplatformer.domain.service.RunnerAIService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.TextMessage;
+
+import java.net.http.WebSocket;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LoadClientTest {
+
+    private static final double DT = 1.0 / 60;
+    private static final long FRAME_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final LoadStats stats = new LoadStats();
+    private final RecordingWebSocket webSocket = new RecordingWebSocket();
+    private final FrameContent content = new FrameContent();
+    private GameSimulation simulation;
+    private FrameCodec codec;
+    private LoadClient client;
+    private long now = 1_000_000_000L;
+
+    private void setUp(String protocol) {
+        LoadTestProperties properties = new LoadTestProperties(1, 0, 1, protocol, 0, 1.0, 0, "", "");
+        codec = properties.binary() ? new BinaryFrameCodec() : new JsonFrameCodec(objectMapper);
+        client = new LoadClient(properties, stats, objectMapper, FRAME_NANOS, 1);
+        GameSession session = new GameSession();
+        simulation = new GameSimulation(new GameService(session, new PhysicsService(), new RunnerAIService()),
+                new LevelService(session), new TrapService(session));
+        stats.startMeasuring();
+    }
+
+    /**
+     * Applies what the client sent, as the server would on its next tick.
+     */
+    private void deliverCommands() throws Exception {
+        for (Object message : webSocket.sent) {
+            GameCommand command = codec.decode(message instanceof ByteBuffer bytes
+                    ? new BinaryMessage(bytes) : new TextMessage((String) message));
+            simulation.execute(command);
+        }
+        webSocket.sent.clear();
+    }
+
+    private void receive(boolean keyframe) throws Exception {
+        if (keyframe) {
+            content.startKeyframe(simulation.tick(), 0);
+        } else {
+            content.startDelta(simulation.tick(), 0);
+            content.add(FrameContent.POINTS | FrameContent.ELAPSED_TIME | FrameContent.RUNNER);
+        }
+        receive();
+    }
+
+    private void receive() throws Exception {
+        FrameBuffer buffer = new FrameBuffer();
+        codec.write(simulation.getGameState(), content, buffer);
+        now += FRAME_NANOS;
+        if (codec instanceof BinaryFrameCodec) {
+            client.onBinaryFrame(ByteBuffer.wrap(buffer.array(), 0, buffer.length()).slice()
+                    .order(ByteOrder.LITTLE_ENDIAN), now);
+        } else {
+            client.onJsonFrame(buffer.toUtf8String(), now);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"binary", "json"})
+    void shouldTimeNewGamesAndTraps(String protocol) throws Exception {
+        setUp(protocol);
+        client.sendGameCommand(webSocket, LoadClient.CMD_START);
+        deliverCommands();
+        receive(true);
+
+        assertThat(stats.gamesStarted.sum()).isEqualTo(1);
+
+        for (int i = 0; i < 30; i++) simulation.step(DT);
+        receive(false);
+        client.placeTrap(webSocket, now);
+        deliverCommands();
+        content.startDelta(simulation.tick(), 0);
+        content.addTrapsFrom(0);
+        receive();
+
+        assertThat(simulation.getGameState().getTraps()).hasSize(1);
+        assertThat(stats.trapsSent.sum()).isEqualTo(1);
+        assertThat(stats.trapNanos.count()).isEqualTo(1);
+        assertThat(stats.trapNanos.max()).isEqualTo(FRAME_NANOS);
+        assertThat(stats.frameGapNanos.count()).isEqualTo(2);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"binary", "json"})
+    void shouldRestartAfterALostGame(String protocol) throws Exception {
+        setUp(protocol);
+        client.sendGameCommand(webSocket, LoadClient.CMD_START);
+        deliverCommands();
+        receive(true);
+
+        simulation.getGameState().setStatus(GameState.Status.RUNNER_WINS);
+        content.startDelta(simulation.tick(), 0);
+        content.add(FrameContent.STATUS);
+        receive();
+
+        assertThat(client.gameOverFor(now)).isTrue();
+        assertThat(client.nextGameCommand()).isEqualTo(LoadClient.CMD_RESTART);
+    }
+
+    /**
+     * Keeps what the client sends instead of sending it.
+     */
+    private static final class RecordingWebSocket implements WebSocket {
+
+        private final List<Object> sent = new ArrayList<>();
+
+        @Override
+        public CompletableFuture<WebSocket> sendText(CharSequence data, boolean last) {
+            sent.add(data.toString());
+            return CompletableFuture.completedFuture(this);
+        }
+
+        @Override
+        public CompletableFuture<WebSocket> sendBinary(ByteBuffer data, boolean last) {
+            sent.add(data);
+            return CompletableFuture.completedFuture(this);
+        }
+
+        @Override
+        public CompletableFuture<WebSocket> sendPing(ByteBuffer message) {
+            return CompletableFuture.completedFuture(this);
+        }
+
+        @Override
+        public CompletableFuture<WebSocket> sendPong(ByteBuffer message) {
+            return CompletableFuture.completedFuture(this);
+        }
+
+        @Override
+        public CompletableFuture<WebSocket> sendClose(int statusCode, String reason) {
+            return CompletableFuture.completedFuture(this);
+        }
+
+        @Override
+        public void request(long n) {
+        }
+
+        @Override
+        public String getSubprotocol() {
+            return "";
+        }
+
+        @Override
+        public boolean isOutputClosed() {
+            return false;
+        }
+
+        @Override
+        public boolean isInputClosed() {
+            return false;
+        }
+
+        @Override
+        public void abort() {
+        }
+    }
+}
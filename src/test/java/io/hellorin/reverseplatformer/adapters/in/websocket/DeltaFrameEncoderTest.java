@@ -0,0 +1,90 @@
+package io.hellorin.reverseplatformer.adapters.in.websocket;
+
+import io.hellorin.reverseplatformer.adapters.in.websocket.protocol.FrameContent;
+import io.hellorin.reverseplatformer.domain.model.GameState;
+import io.hellorin.reverseplatformer.domain.model.Level;
+import io.hellorin.reverseplatformer.domain.model.Trap;
+import io.hellorin.reverseplatformer.domain.model.TrapType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DeltaFrameEncoderTest {
+
+    private DeltaFrameEncoder encoder;
+    private GameState gameState;
+
+    @BeforeEach
+    void setUp() {
+        encoder = new DeltaFrameEncoder();
+        gameState = new GameState(Level.createLevel(1));
+        gameState.start();
+    }
+
+    @Test
+    void shouldSendKeyframeFirst() {
+        assertThat(encoder.encode(gameState, 0, 0).isKeyframe()).isTrue();
+    }
+
+    @Test
+    void shouldSendNothingWhenStateUnchanged() {
+        encoder.encode(gameState, 0, 0);
+
+        assertThat(encoder.encode(gameState, 0, 0)).isNull();
+    }
+
+    @Test
+    void shouldSendOnlyChangedFields() {
+        encoder.encode(gameState, 0, 0);
+        gameState.getRunner().update(0.016);
+
+        FrameContent delta = encoder.encode(gameState, 0, 0);
+
+        assertThat(delta.isKeyframe()).isFalse();
+        assertThat(delta.fields()).isEqualTo(FrameContent.RUNNER);
+    }
+
+    @Test
+    void shouldSendAddedTrapsOnce() {
+        gameState.addTrap(new Trap("t1", TrapType.SPIKE, 50, 100));
+        encoder.encode(gameState, 0, 0);
+        gameState.addTrap(new Trap("t2", TrapType.SLOW_ZONE, 100, 100));
+
+        FrameContent delta = encoder.encode(gameState, 0, 0);
+
+        assertThat(delta.has(FrameContent.ADDED_TRAPS)).isTrue();
+        assertThat(delta.addedTrapsFrom()).isEqualTo(1);
+        assertThat(encoder.encode(gameState, 0, 0)).isNull();
+    }
+
+    @Test
+    void shouldSendPlatformToggles() {
+        encoder.encode(gameState, 0, 0);
+        gameState.setPlatformActive(1, false);
+
+        FrameContent delta = encoder.encode(gameState, 0, 0);
+
+        assertThat(delta.has(FrameContent.PLATFORM_CHANGES)).isTrue();
+        assertThat(delta.changedPlatformCount()).isEqualTo(1);
+        assertThat(delta.changedPlatform(0)).isEqualTo(1);
+    }
+
+    @Test
+    void shouldSendKeyframeForNewGame() {
+        encoder.encode(gameState, 0, 0);
+
+        assertThat(encoder.encode(new GameState(Level.createLevel(2)), 0, 0).isKeyframe()).isTrue();
+    }
+
+    @Test
+    void shouldSendPeriodicKeyframe() {
+        encoder.encode(gameState, 0, 0);
+        for (int i = 0; i < DeltaFrameEncoder.KEYFRAME_INTERVAL; i++) {
+            gameState.getRunner().update(0.016);
+            assertThat(encoder.encode(gameState, 0, 0).isKeyframe()).isFalse();
+        }
+
+        assertThat(encoder.encode(gameState, 0, 0).isKeyframe()).isTrue();
+    }
+}
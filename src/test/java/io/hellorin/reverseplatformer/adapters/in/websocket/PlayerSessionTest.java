@@ -0,0 +1,170 @@
+package io.hellorin.reverseplatformer.adapters.in.websocket;
+
+import io.hellorin.reverseplatformer.adapters.in.websocket.outbound.OutboundChannel;
+import io.hellorin.reverseplatformer.adapters.in.websocket.protocol.BinaryFrameCodec;
+import io.hellorin.reverseplatformer.application.GameSession;
+import io.hellorin.reverseplatformer.application.ports.in.GameCommand;
+import io.hellorin.reverseplatformer.application.service.GameService;
+import io.hellorin.reverseplatformer.application.service.LevelService;
+import io.hellorin.reverseplatformer.application.service.TrapService;
+import io.hellorin.reverseplatformer.domain.model.GameState;
+import io.hellorin.reverseplatformer.domain.model.TrapType;
+import io.hellorin.reverseplatformer.domain.service.PhysicsService;
+import io.hellorin.reverseplatformer.domain.service.RunnerAIService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PlayerSessionTest {
+
+    private static final double DELTA_TIME = 1.0 / 60;
+
+    private WebSocketSession webSocketSession;
+    private GameSession gameSession;
+    private OutboundChannel outbound;
+    private PlayerSession playerSession;
+
+    @BeforeEach
+    void setUp() {
+        webSocketSession = mock(WebSocketSession.class);
+        when(webSocketSession.getId()).thenReturn("s1");
+        when(webSocketSession.isOpen()).thenReturn(true);
+
+        gameSession = new GameSession();
+        playerSession = createSession(new GameServerProperties.Heartbeat(10_000, 30_000));
+    }
+
+    private PlayerSession createSession(GameServerProperties.Heartbeat heartbeat) {
+        if (outbound != null) {
+            outbound.close();
+        }
+        outbound = new OutboundChannel(webSocketSession, 1000, 100, 65536);
+        return new PlayerSession(webSocketSession, new BinaryFrameCodec(), outbound, 1, heartbeat,
+                new GameService(gameSession, new PhysicsService(), new RunnerAIService()),
+                new LevelService(gameSession),
+                new TrapService(gameSession));
+    }
+
+    @AfterEach
+    void tearDown() {
+        outbound.close();
+    }
+
+    @Test
+    void shouldApplySubmittedCommandsOnlyOnTick() {
+        playerSession.submit(GameCommand.START);
+
+        assertThat(gameSession.getGameState()).isNull();
+
+        playerSession.tick(DELTA_TIME);
+
+        assertThat(gameSession.isRunning()).isTrue();
+    }
+
+    @Test
+    void shouldApplyCommandsInSubmissionOrder() {
+        playerSession.submit(GameCommand.START);
+        playerSession.submit(new GameCommand.PlaceTrap(TrapType.SLOW_ZONE, 400, 370));
+
+        playerSession.tick(DELTA_TIME);
+
+        assertThat(gameSession.getGameState().getTraps()).hasSize(1);
+    }
+
+    @Test
+    void shouldSendStaticLevelOncePerLevelBeforeKeyframe() throws IOException {
+        List<Byte> ops = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> {
+            BinaryMessage message = invocation.getArgument(0);
+            ops.add(message.getPayload().get(0));
+            return null;
+        }).when(webSocketSession).sendMessage(any(BinaryMessage.class));
+
+        playerSession.submit(GameCommand.START);
+        playerSession.tick(DELTA_TIME);
+        await().atMost(Duration.ofSeconds(2)).until(() -> ops.size() == 2);
+        playerSession.submit(GameCommand.RESTART);
+        playerSession.tick(DELTA_TIME);
+        await().atMost(Duration.ofSeconds(2)).until(() -> ops.size() == 3);
+
+        assertThat(ops).containsExactly((byte) 3, (byte) 1, (byte) 1);
+    }
+
+    @Test
+    void shouldStopTickingOnceClosed() {
+        playerSession.close();
+
+        assertThat(playerSession.tick(DELTA_TIME)).isFalse();
+    }
+
+    @Test
+    void shouldHibernateUntilFirstCommand() {
+        assertThat(playerSession.isHibernating()).isTrue();
+        assertThat(playerSession.tick(DELTA_TIME)).isTrue();
+        assertThat(playerSession.isHibernating()).isTrue();
+
+        playerSession.submit(GameCommand.START);
+        playerSession.tick(DELTA_TIME);
+
+        assertThat(playerSession.isHibernating()).isFalse();
+    }
+
+    @Test
+    void shouldWakeShardOnSubmit() {
+        AtomicInteger wakeups = new AtomicInteger();
+        playerSession.attach(wakeups::incrementAndGet);
+
+        playerSession.submit(GameCommand.START);
+
+        assertThat(wakeups).hasValue(1);
+    }
+
+    @Test
+    void shouldHibernateOnceFinishedGameHasBeenSent() {
+        playerSession.submit(GameCommand.START);
+        playerSession.tick(DELTA_TIME);
+        gameSession.getGameState().setStatus(GameState.Status.PLAYER_WINS);
+
+        playerSession.tick(DELTA_TIME);
+        assertThat(playerSession.isHibernating()).isFalse();
+
+        playerSession.tick(DELTA_TIME);
+        assertThat(playerSession.isHibernating()).isTrue();
+
+        playerSession.submit(GameCommand.RESTART);
+        playerSession.tick(DELTA_TIME);
+        assertThat(playerSession.isHibernating()).isFalse();
+        assertThat(gameSession.isRunning()).isTrue();
+    }
+
+    @Test
+    void shouldDropSilentConnectionAfterIdleTimeout() {
+        playerSession = createSession(new GameServerProperties.Heartbeat(10_000, 0));
+
+        await().atMost(Duration.ofSeconds(2)).until(() -> !playerSession.tick(DELTA_TIME));
+    }
+
+    @Test
+    void shouldKeepConnectionThatAnswersHeartbeats() {
+        playerSession = createSession(new GameServerProperties.Heartbeat(10_000, 1_000));
+
+        playerSession.markSeen();
+
+        assertThat(playerSession.tick(DELTA_TIME)).isTrue();
+    }
+}
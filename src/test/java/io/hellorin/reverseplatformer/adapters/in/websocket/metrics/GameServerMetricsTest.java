@@ -0,0 +1,123 @@
+package io.hellorin.reverseplatformer.adapters.in.websocket.metrics;
+
+import io.hellorin.reverseplatformer.application.GameSession;
+import io.hellorin.reverseplatformer.application.ports.in.GameCommand;
+import io.hellorin.reverseplatformer.application.ports.out.TickPhaseRecorder;
+import io.hellorin.reverseplatformer.application.service.GameService;
+import io.hellorin.reverseplatformer.domain.model.TrapType;
+import io.hellorin.reverseplatformer.domain.service.PhysicsService;
+import io.hellorin.reverseplatformer.domain.service.RunnerAIService;
+import com.sun.management.ThreadMXBean;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GameServerMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final GameServerMetrics metrics = new GameServerMetrics(registry);
+
+    private long phaseCount(String phase) {
+        return registry.get("saboteur.tick.phase").tag("phase", phase).timer().count();
+    }
+
+    @Test
+    void shouldTimeEachPhaseOfAGameUpdate() {
+        GameSession session = new GameSession();
+        GameService gameService = new GameService(session, new PhysicsService(), new RunnerAIService(), metrics);
+        gameService.startGame();
+
+        gameService.update(1.0 / 60);
+        gameService.update(1.0 / 60);
+
+        assertThat(phaseCount("ai")).isEqualTo(2);
+        assertThat(phaseCount("physics")).isEqualTo(2);
+        assertThat(phaseCount("trap-collisions")).isEqualTo(2);
+        assertThat(phaseCount("encode")).isZero();
+    }
+
+    @Test
+    void shouldCountCommandsByType() {
+        metrics.commandReceived(GameCommand.START);
+        metrics.commandReceived(new GameCommand.PlaceTrap(TrapType.SPIKE, 1, 2));
+        metrics.commandReceived(new GameCommand.PlaceTrap(TrapType.BOUNCE_PAD, 3, 4));
+
+        assertThat(registry.get("saboteur.commands").tag("type", "start").counter().count()).isEqualTo(1);
+        assertThat(registry.get("saboteur.commands").tag("type", "place-trap").counter().count()).isEqualTo(2);
+        assertThat(registry.get("saboteur.commands").tag("type", "restart").counter().count()).isZero();
+    }
+
+    @Test
+    void shouldRecordSendsAndQueueDepth() {
+        metrics.sent(true, 120, 1_000);
+        metrics.sent(false, 8, 1_000);
+        metrics.queued(2, true);
+
+        assertThat(registry.get("saboteur.outbound.messages").tag("kind", "frame").counter().count()).isEqualTo(1);
+        assertThat(registry.get("saboteur.outbound.bytes").counter().count()).isEqualTo(128);
+        assertThat(registry.get("saboteur.outbound.coalesced").counter().count()).isEqualTo(1);
+        assertThat(registry.get("saboteur.outbound.queue.depth").summary().max()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldRecordSessionLag() {
+        metrics.lagged(-2_000_000);
+        metrics.lagged(40_000_000);
+
+        assertThat(registry.get("saboteur.session.lag").timer().count()).isEqualTo(2);
+        assertThat(registry.get("saboteur.session.lag").timer().max(TimeUnit.MILLISECONDS)).isEqualTo(40);
+    }
+
+    @Test
+    void shouldRecordWithoutAllocating() {
+        ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Assumptions.assumeTrue(threads.isThreadAllocatedMemoryEnabled());
+        SimpleMeterRegistry withHistograms = new SimpleMeterRegistry();
+        withHistograms.config().meterFilter(new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                return DistributionStatisticConfig.builder().percentilesHistogram(true).build().merge(config);
+            }
+        });
+        GameServerMetrics histogramMetrics = new GameServerMetrics(withHistograms);
+        for (int i = 0; i < 50_000; i++) {
+            recordOneTick(histogramMetrics);
+        }
+
+        // Until the JIT has compiled everything, the interpreter may still allocate, so
+        // only the best of several rounds has to be free of allocations.
+        long leastAllocated = Long.MAX_VALUE;
+        for (int round = 0; round < 10 && leastAllocated > 0; round++) {
+            long before = threads.getCurrentThreadAllocatedBytes();
+            for (int i = 0; i < 10_000; i++) {
+                recordOneTick(histogramMetrics);
+            }
+            leastAllocated = Math.min(leastAllocated, threads.getCurrentThreadAllocatedBytes() - before);
+        }
+
+        assertThat(leastAllocated).isZero();
+    }
+
+    private static void recordOneTick(GameServerMetrics metrics) {
+        metrics.woke(20_000);
+        long phaseStart = metrics.start();
+        phaseStart = metrics.lap(GameServerMetrics.Phase.COMMANDS, phaseStart);
+        phaseStart = metrics.lap(TickPhaseRecorder.Phase.AI, phaseStart);
+        phaseStart = metrics.lap(TickPhaseRecorder.Phase.PHYSICS, phaseStart);
+        phaseStart = metrics.lap(GameServerMetrics.Phase.SERIALIZE, phaseStart);
+        metrics.lap(GameServerMetrics.Phase.SEND, phaseStart);
+        metrics.queued(1, false);
+        metrics.commandReceived(GameCommand.START);
+        metrics.sent(true, 64, 5_000);
+        metrics.lagged(3_000_000);
+        metrics.stepped(100_000);
+    }
+}
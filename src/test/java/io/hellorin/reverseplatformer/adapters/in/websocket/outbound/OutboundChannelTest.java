@@ -0,0 +1,179 @@
+package io.hellorin.reverseplatformer.adapters.in.websocket.outbound;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class OutboundChannelTest {
+
+    private WebSocketSession session;
+    private final List<Object> sent = new CopyOnWriteArrayList<>();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private OutboundChannel channel;
+
+    @BeforeEach
+    void setUp() {
+        session = mock(WebSocketSession.class);
+        when(session.getId()).thenReturn("s1");
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        channel.close();
+    }
+
+    @Test
+    void shouldSendOfferedFrames() throws IOException {
+        recordSends(false);
+        channel = new OutboundChannel(session, 1000, 10, 65536);
+
+        channel.offer(new TextMessage("a"));
+
+        await().atMost(Duration.ofSeconds(2)).until(() -> sent.size() == 1);
+    }
+
+    @Test
+    void shouldCoalesceFramesWhileWriterIsBusy() throws IOException {
+        recordSends(true);
+        channel = new OutboundChannel(session, 1000, 10, 65536);
+        channel.offer(new TextMessage("first"));
+        await().atMost(Duration.ofSeconds(2)).until(() -> sent.size() == 1);
+
+        assertThat(channel.offer(new TextMessage("second"))).isFalse();
+        assertThat(channel.offer(new TextMessage("third"))).isTrue();
+        release.countDown();
+
+        await().atMost(Duration.ofSeconds(2)).until(() -> sent.size() == 2);
+        assertThat(sent).containsExactly("first", "third");
+    }
+
+    @Test
+    void shouldReportStalledSend() throws IOException {
+        recordSends(true);
+        channel = new OutboundChannel(session, 10, 10, 65536);
+        channel.offer(new TextMessage("stuck"));
+        await().atMost(Duration.ofSeconds(2)).until(() -> sent.size() == 1);
+
+        await().atMost(Duration.ofSeconds(2)).until(() -> channel.isOverLimit(System.nanoTime()));
+    }
+
+    @Test
+    void shouldReportTooManyCoalescedFrames() throws IOException {
+        recordSends(true);
+        channel = new OutboundChannel(session, 60_000, 2, 65536);
+        channel.offer(new TextMessage("stuck"));
+        await().atMost(Duration.ofSeconds(2)).until(() -> sent.size() == 1);
+
+        for (int i = 0; i < 4; i++) {
+            channel.offer(new TextMessage("frame" + i));
+        }
+
+        assertThat(channel.isOverLimit(System.nanoTime())).isTrue();
+    }
+
+    @Test
+    void shouldSendControlMessagesBeforePendingFrame() throws IOException {
+        recordSends(true);
+        channel = new OutboundChannel(session, 60_000, 10, 65536);
+        channel.offer(new TextMessage("stuck"));
+        await().atMost(Duration.ofSeconds(2)).until(() -> sent.size() == 1);
+
+        channel.offer(new TextMessage("frame"));
+        channel.sendControl(new TextMessage("control"));
+        release.countDown();
+
+        await().atMost(Duration.ofSeconds(2)).until(() -> sent.size() == 3);
+        assertThat(sent).containsExactly("stuck", "control", "frame");
+    }
+
+    @Test
+    void shouldReportControlBacklogOverBufferLimit() throws IOException {
+        recordSends(true);
+        channel = new OutboundChannel(session, 60_000, 10, 8);
+        channel.offer(new TextMessage("stuck"));
+        await().atMost(Duration.ofSeconds(2)).until(() -> sent.size() == 1);
+
+        channel.sendControl(new TextMessage("12345"));
+        assertThat(channel.isOverLimit(System.nanoTime())).isFalse();
+
+        channel.sendControl(new TextMessage("67890"));
+        assertThat(channel.isOverLimit(System.nanoTime())).isTrue();
+    }
+
+    @Test
+    void shouldNotReuseBinaryFrameThatIsQueuedOrInFlight() throws IOException {
+        recordSends(true);
+        channel = new OutboundChannel(session, 60_000, 10, 65536);
+        BinaryMessage first = channel.binaryFrame(new byte[]{1}, 1);
+        channel.offer(first);
+        await().atMost(Duration.ofSeconds(2)).until(() -> sent.size() == 1);
+
+        BinaryMessage second = channel.binaryFrame(new byte[]{2}, 1);
+        channel.offer(second);
+        BinaryMessage third = channel.binaryFrame(new byte[]{3}, 1);
+
+        assertThat(third).isNotSameAs(first).isNotSameAs(second);
+        assertThat(third.getPayload().get(0)).isEqualTo((byte) 3);
+        assertThat(second.getPayload().get(0)).isEqualTo((byte) 2);
+    }
+
+    @Test
+    void shouldRecycleBinaryFramesOnceSent() throws IOException {
+        recordSends(false);
+        channel = new OutboundChannel(session, 60_000, 10, 65536);
+        Set<BinaryMessage> used = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        for (int i = 0; i < 20; i++) {
+            BinaryMessage frame = channel.binaryFrame(new byte[]{(byte) i}, 1);
+            used.add(frame);
+            channel.offer(frame);
+            int expected = i + 1;
+            await().atMost(Duration.ofSeconds(2)).until(() -> sent.size() == expected);
+        }
+
+        assertThat(used).hasSizeLessThanOrEqualTo(3);
+    }
+
+    @Test
+    void shouldCloseWhenSendFails() throws IOException {
+        doThrow(new IOException("broken pipe")).when(session).sendMessage(any());
+        channel = new OutboundChannel(session, 1000, 10, 65536);
+
+        channel.offer(new TextMessage("a"));
+
+        await().atMost(Duration.ofSeconds(2)).until(channel::isClosed);
+    }
+
+    private void recordSends(boolean blockAfterFirst) throws IOException {
+        doAnswer(invocation -> {
+            WebSocketMessage<?> message = invocation.getArgument(0);
+            sent.add(message.getPayload());
+            if (blockAfterFirst && sent.size() == 1) {
+                release.await();
+            }
+            return null;
+        }).when(session).sendMessage(any());
+    }
+}
@@ -0,0 +1,194 @@
+package io.hellorin.reverseplatformer.adapters.in.websocket.protocol;
+
+import io.hellorin.reverseplatformer.application.ports.in.GameCommand;
+import io.hellorin.reverseplatformer.domain.model.GameState;
+import io.hellorin.reverseplatformer.domain.model.Level;
+import io.hellorin.reverseplatformer.domain.model.Trap;
+import io.hellorin.reverseplatformer.domain.model.TrapType;
+import com.sun.management.ThreadMXBean;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.BinaryMessage;
+
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BinaryFrameCodecTest {
+
+    private final BinaryFrameCodec codec = new BinaryFrameCodec();
+
+    @Test
+    void shouldEncodeKeyframeWithFixedLayout() {
+        GameState state = new GameState(Level.createLevel(1));
+        state.start();
+        FrameContent content = new FrameContent();
+        content.startKeyframe(7, 1_000L);
+
+        ByteBuffer payload = encode(state, content);
+
+        assertThat(payload.get()).isEqualTo(BinaryFrameCodec.OP_KEYFRAME);
+        assertThat(payload.getInt()).isEqualTo(7);
+        assertThat(payload.getDouble()).isEqualTo(1_000.0);
+        assertThat(payload.get()).isEqualTo((byte) GameState.Status.RUNNING.ordinal());
+        assertThat(payload.get()).isEqualTo((byte) 1);
+        assertThat(payload.getInt()).isEqualTo(state.getPlayerPoints());
+        assertThat(payload.getFloat()).isEqualTo((float) state.getElapsedTime());
+        payload.position(payload.position() + 9);
+        assertThat(payload.getShort()).isEqualTo((short) 3);
+        assertThat(payload.limit()).isEqualTo(13 + 10 + 9 + 2 + 3 + 2);
+    }
+
+    @Test
+    void shouldSerializeStaticLevelOnce() {
+        Level level = Level.createLevel(2);
+
+        BinaryMessage first = (BinaryMessage) codec.levelMessage(level);
+        BinaryMessage second = (BinaryMessage) codec.levelMessage(Level.createLevel(2));
+
+        assertThat(second.getPayload().array()).isSameAs(first.getPayload().array());
+        assertThat(second.getPayload()).isNotSameAs(first.getPayload());
+
+        ByteBuffer payload = first.getPayload().order(ByteOrder.LITTLE_ENDIAN);
+        assertThat(payload.get()).isEqualTo(BinaryFrameCodec.OP_LEVEL);
+        assertThat(payload.get()).isEqualTo((byte) 2);
+        assertThat(payload.getFloat()).isEqualTo((float) level.getWidth());
+        assertThat(payload.getFloat()).isEqualTo((float) level.getHeight());
+        assertThat(payload.getFloat()).isEqualTo((float) level.getRunnerSpeedMultiplier());
+        payload.position(payload.position() + 16);
+        assertThat(payload.getShort()).isEqualTo((short) level.getPlatforms().size());
+        assertThat(payload.remaining()).isEqualTo(level.getPlatforms().size() * 16);
+    }
+
+    @Test
+    void shouldEncodeOnlyPresentDeltaFields() {
+        GameState state = new GameState(Level.createLevel(1));
+        state.start();
+        state.addPoints(42 - state.getPlayerPoints());
+        FrameContent content = new FrameContent();
+        content.startDelta(8, 2_000L);
+        content.add(FrameContent.POINTS);
+        content.add(FrameContent.RUNNER);
+
+        ByteBuffer payload = encode(state, content);
+
+        assertThat(payload.get()).isEqualTo(BinaryFrameCodec.OP_DELTA);
+        assertThat(payload.getInt()).isEqualTo(8);
+        assertThat(payload.getDouble()).isEqualTo(2_000.0);
+        assertThat(payload.get()).isEqualTo((byte) (FrameContent.POINTS | FrameContent.RUNNER));
+        assertThat(payload.getInt()).isEqualTo(42);
+        assertThat(payload.getFloat()).isEqualTo((float) state.getRunner().getPosition().x());
+        assertThat(payload.getFloat()).isEqualTo((float) state.getRunner().getPosition().y());
+        assertThat(payload.get()).isEqualTo((byte) 1);
+        assertThat(payload.hasRemaining()).isFalse();
+    }
+
+    @Test
+    void shouldEncodeOnlyAddedTrapsAndChangedPlatforms() {
+        GameState state = new GameState(Level.createLevel(1));
+        state.start();
+        state.addTrap(new Trap("t1", TrapType.SPIKE, 50, 60));
+        state.addTrap(new Trap("t2", TrapType.BOUNCE_PAD, 70, 80));
+        state.setPlatformActive(2, false);
+        FrameContent content = new FrameContent();
+        content.startDelta(9, 0);
+        content.addTrapsFrom(1);
+        content.addPlatformChange(2);
+
+        ByteBuffer payload = encode(state, content);
+        payload.position(13);
+
+        assertThat(payload.get()).isEqualTo((byte) (FrameContent.ADDED_TRAPS | FrameContent.PLATFORM_CHANGES));
+        assertThat(payload.getShort()).isEqualTo((short) 1);
+        assertThat(payload.get()).isEqualTo((byte) TrapType.BOUNCE_PAD.ordinal());
+        assertThat(payload.getFloat()).isEqualTo(70f);
+        assertThat(payload.getFloat()).isEqualTo(80f);
+        assertThat(payload.getShort()).isEqualTo((short) 1);
+        assertThat(payload.getShort()).isEqualTo((short) 2);
+        assertThat(payload.get()).isEqualTo((byte) 0);
+        assertThat(payload.hasRemaining()).isFalse();
+    }
+
+    @Test
+    void shouldWriteFramesWithoutAllocating() {
+        GameState state = new GameState(Level.createLevel(1));
+        state.start();
+        state.addTrap(new Trap("t1", TrapType.SPIKE, 50, 60));
+        FrameContent content = new FrameContent();
+        FrameBuffer buffer = new FrameBuffer();
+        ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Assumptions.assumeTrue(threads.isThreadAllocatedMemoryEnabled());
+
+        int frames = 20_000;
+        writeFrames(state, content, buffer, frames);
+        long before = threads.getCurrentThreadAllocatedBytes();
+        writeFrames(state, content, buffer, frames);
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+        assertThat(allocated / frames).isLessThan(8);
+    }
+
+    private void writeFrames(GameState state, FrameContent content, FrameBuffer buffer, int frames) {
+        for (int i = 0; i < frames; i++) {
+            if (i % 2 == 0) {
+                content.startKeyframe(i, i);
+            } else {
+                content.startDelta(i, i);
+                content.add(FrameContent.RUNNER | FrameContent.ELAPSED_TIME);
+                content.addTrapsFrom(0);
+                content.addPlatformChange(1);
+            }
+            buffer.reset();
+            codec.write(state, content, buffer);
+        }
+    }
+
+    @Test
+    void shouldDecodeOpcodeCommands() {
+        assertThat(decode(BinaryFrameCodec.CMD_START)).isEqualTo(GameCommand.START);
+        assertThat(decode(BinaryFrameCodec.CMD_RESTART)).isEqualTo(GameCommand.RESTART);
+        assertThat(decode(BinaryFrameCodec.CMD_NEXT_LEVEL)).isEqualTo(GameCommand.NEXT_LEVEL);
+    }
+
+    @Test
+    void shouldDecodePlaceTrap() {
+        ByteBuffer buffer = ByteBuffer.allocate(10).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.put(BinaryFrameCodec.CMD_PLACE_TRAP);
+        buffer.put((byte) TrapType.BOUNCE_PAD.ordinal());
+        buffer.putFloat(120.5f);
+        buffer.putFloat(300f);
+
+        GameCommand command = codec.decode(new BinaryMessage(buffer.flip()));
+
+        assertThat(command).isEqualTo(new GameCommand.PlaceTrap(TrapType.BOUNCE_PAD, 120.5, 300));
+    }
+
+    @Test
+    void shouldIgnoreTruncatedOrUnknownCommands() {
+        assertThat(decode(BinaryFrameCodec.CMD_PLACE_TRAP)).isNull();
+        assertThat(decode((byte) 99)).isNull();
+    }
+
+    @Test
+    void shouldIgnoreTrapsAtNonFiniteCoordinates() {
+        ByteBuffer buffer = ByteBuffer.allocate(10).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.put(BinaryFrameCodec.CMD_PLACE_TRAP);
+        buffer.put((byte) TrapType.SPIKE.ordinal());
+        buffer.putFloat(Float.NaN);
+        buffer.putFloat(Float.POSITIVE_INFINITY);
+
+        assertThat(codec.decode(new BinaryMessage(buffer.flip()))).isNull();
+    }
+
+    private ByteBuffer encode(GameState state, FrameContent content) {
+        FrameBuffer buffer = new FrameBuffer();
+        codec.write(state, content, buffer);
+        return ByteBuffer.wrap(buffer.array(), 0, buffer.length()).slice().order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private GameCommand decode(byte... bytes) {
+        return codec.decode(new BinaryMessage(bytes));
+    }
+}
@@ -0,0 +1,45 @@
+package io.hellorin.reverseplatformer.adapters.in.websocket.protocol;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FrameBufferTest {
+
+    private final FrameBuffer buffer = new FrameBuffer(4);
+
+    @Test
+    void shouldWriteIntegersAsText() {
+        buffer.putText(0L).put((byte) ' ').putText(-42L).put((byte) ' ').putText(Long.MIN_VALUE);
+
+        assertThat(buffer.toUtf8String()).isEqualTo("0 -42 -9223372036854775808");
+    }
+
+    @Test
+    void shouldWriteDecimalsRoundedToThreePlaces() {
+        buffer.putText(150.0).put((byte) ' ')
+                .putText(12.5).put((byte) ' ')
+                .putText(0.05).put((byte) ' ')
+                .putText(-3.14159).put((byte) ' ')
+                .putText(-0.0001).put((byte) ' ')
+                .putText(Double.NaN);
+
+        assertThat(buffer.toUtf8String()).isEqualTo("150 12.5 0.05 -3.142 0 0");
+    }
+
+    @Test
+    void shouldEscapeJsonStrings() {
+        buffer.putJsonString("a\"b\\c\ndé");
+
+        assertThat(buffer.toUtf8String()).isEqualTo("\"a\\\"b\\\\c\\u000adé\"");
+    }
+
+    @Test
+    void shouldGrowPastInitialCapacity() {
+        for (int i = 0; i < 100; i++) {
+            buffer.putInt(i);
+        }
+
+        assertThat(buffer.length()).isEqualTo(400);
+    }
+}
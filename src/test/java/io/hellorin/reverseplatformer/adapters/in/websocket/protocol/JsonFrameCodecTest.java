@@ -0,0 +1,122 @@
+package io.hellorin.reverseplatformer.adapters.in.websocket.protocol;
+
+import io.hellorin.reverseplatformer.application.ports.in.GameCommand;
+import io.hellorin.reverseplatformer.domain.model.GameState;
+import io.hellorin.reverseplatformer.domain.model.Level;
+import io.hellorin.reverseplatformer.domain.model.Trap;
+import io.hellorin.reverseplatformer.domain.model.TrapType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.web.socket.TextMessage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JsonFrameCodecTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final JsonFrameCodec codec = new JsonFrameCodec(objectMapper);
+    private GameState state;
+
+    @BeforeEach
+    void setUp() {
+        state = new GameState(Level.createLevel(1));
+        state.start();
+        state.addTrap(new Trap("t\"1", TrapType.SPIKE, 50.5, 60));
+    }
+
+    @Test
+    void shouldWriteKeyframeInClientShape() throws Exception {
+        FrameContent content = new FrameContent();
+        content.startKeyframe(7, 1_000L);
+
+        JsonNode json = write(content);
+
+        assertThat(json.get("type").asText()).isEqualTo("KEYFRAME");
+        assertThat(json.get("tick").asLong()).isEqualTo(7);
+        assertThat(json.get("serverTime").asLong()).isEqualTo(1_000L);
+        assertThat(json.get("status").asText()).isEqualTo("RUNNING");
+        assertThat(json.get("playerPoints").asInt()).isEqualTo(state.getPlayerPoints());
+        assertThat(json.get("level").asInt()).isEqualTo(1);
+        assertThat(json.get("runner").get("alive").asBoolean()).isTrue();
+        assertThat(json.get("platformActive")).hasSize(3);
+        assertThat(json.get("traps").get(0).get("id").asText()).isEqualTo("t\"1");
+        assertThat(json.get("traps").get(0).get("type").asText()).isEqualTo("SPIKE");
+        assertThat(json.get("traps").get(0).get("x").asDouble()).isEqualTo(50.5);
+        assertThat(json.has("platforms")).isFalse();
+        assertThat(json.has("goal")).isFalse();
+    }
+
+    @Test
+    void shouldWriteStaticLevelOnce() throws Exception {
+        Level level = state.getLevel();
+
+        TextMessage message = (TextMessage) codec.levelMessage(level);
+        JsonNode json = objectMapper.readTree(message.getPayload());
+
+        assertThat(codec.levelMessage(Level.createLevel(1))).isSameAs(message);
+        assertThat(json.get("type").asText()).isEqualTo("LEVEL");
+        assertThat(json.get("level").asInt()).isEqualTo(1);
+        assertThat(json.get("width").asDouble()).isEqualTo(level.getWidth());
+        assertThat(json.get("speedMultiplier").asDouble()).isEqualTo(level.getRunnerSpeedMultiplier());
+        assertThat(json.get("goal").get("width").asDouble()).isEqualTo(level.getGoal().width());
+        assertThat(json.get("platforms")).hasSize(3);
+        assertThat(json.get("platforms").get(0).get("id").asText()).isEqualTo("p1");
+        assertThat(json.get("platforms").get(0).has("active")).isFalse();
+    }
+
+    @Test
+    void shouldWriteOnlyChangedDeltaFields() throws Exception {
+        state.setPlatformActive(1, false);
+        FrameContent content = new FrameContent();
+        content.startDelta(8, 2_000L);
+        content.add(FrameContent.STATUS);
+        content.addPlatformChange(1);
+
+        JsonNode json = write(content);
+
+        assertThat(json.fieldNames()).toIterable()
+                .containsExactly("type", "tick", "serverTime", "status", "platformChanges");
+        assertThat(json.get("type").asText()).isEqualTo("DELTA");
+        assertThat(json.get("platformChanges").get(0).get("index").asInt()).isEqualTo(1);
+        assertThat(json.get("platformChanges").get(0).get("id").asText()).isEqualTo("p2");
+        assertThat(json.get("platformChanges").get(0).get("active").asBoolean()).isFalse();
+    }
+
+    @Test
+    void shouldDecodeCommands() {
+        assertThat(decode("{\"type\":\"START\"}")).isEqualTo(GameCommand.START);
+        assertThat(decode("{\"type\":\"PLACE_TRAP\",\"trapType\":\"SPIKE\",\"x\":12.5,\"y\":40}"))
+                .isEqualTo(new GameCommand.PlaceTrap(TrapType.SPIKE, 12.5, 40));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "not json",
+            "",
+            "[1, 2]",
+            "{}",
+            "{\"type\":\"JUMP\"}",
+            "{\"type\":\"PLACE_TRAP\",\"trapType\":\"LASER\",\"x\":1,\"y\":2}",
+            "{\"type\":\"PLACE_TRAP\",\"trapType\":\"SPIKE\",\"y\":2}",
+            "{\"type\":\"PLACE_TRAP\",\"trapType\":\"SPIKE\",\"x\":\"left\",\"y\":2}",
+            "{\"type\":\"PLACE_TRAP\",\"trapType\":\"SPIKE\",\"x\":1e400,\"y\":2}"
+    })
+    void shouldIgnoreMalformedCommands(String payload) {
+        assertThat(decode(payload)).isNull();
+    }
+
+    private GameCommand decode(String payload) {
+        return codec.decode(new TextMessage(payload));
+    }
+
+    private JsonNode write(FrameContent content) throws Exception {
+        FrameBuffer buffer = new FrameBuffer();
+        codec.write(state, content, buffer);
+        TextMessage message = (TextMessage) codec.toMessage(buffer, null);
+        return objectMapper.readTree(message.getPayload());
+    }
+}
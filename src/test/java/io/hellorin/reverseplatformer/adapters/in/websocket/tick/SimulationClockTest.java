@@ -0,0 +1,47 @@
+package io.hellorin.reverseplatformer.adapters.in.websocket.tick;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SimulationClockTest {
+
+    private static final long STEP = 1_000;
+
+    private SimulationClock clock;
+
+    @BeforeEach
+    void setUp() {
+        clock = new SimulationClock(STEP, 3);
+        clock.start(0);
+    }
+
+    @Test
+    void shouldRunNoStepBeforeOneIsDue() {
+        assertThat(clock.advance(999)).isZero();
+        assertThat(clock.nextStepAt()).isEqualTo(1_000);
+    }
+
+    @Test
+    void shouldCarryRemainderToNextAdvance() {
+        assertThat(clock.advance(1_500)).isEqualTo(1);
+        assertThat(clock.advance(2_000)).isEqualTo(1);
+        assertThat(clock.nextStepAt()).isEqualTo(3_000);
+    }
+
+    @Test
+    void shouldCatchUpLateWakeups() {
+        assertThat(clock.advance(3_200)).isEqualTo(3);
+        assertThat(clock.steps()).isEqualTo(3);
+        assertThat(clock.droppedNanos()).isZero();
+    }
+
+    @Test
+    void shouldDropTimeBeyondCatchUpBound() {
+        assertThat(clock.advance(10_500)).isEqualTo(3);
+
+        assertThat(clock.droppedNanos()).isEqualTo(7 * STEP);
+        assertThat(clock.nextStepAt()).isEqualTo(11_000);
+    }
+}
@@ -0,0 +1,142 @@
+package io.hellorin.reverseplatformer.adapters.in.websocket.tick;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+class TickEngineTest {
+
+    private TickEngine engine;
+
+    @AfterEach
+    void tearDown() {
+        engine.close();
+    }
+
+    @Test
+    void shouldTickRegisteredSessions() {
+        engine = new TickEngine(2, 200, 5);
+        CountingSession session = new CountingSession();
+
+        engine.register(session);
+
+        await().atMost(Duration.ofSeconds(2)).until(() -> session.ticks.get() > 3);
+    }
+
+    @Test
+    void shouldSpreadSessionsAcrossShards() {
+        engine = new TickEngine(2, 200, 5);
+        List<CountingSession> sessions = register(4);
+
+        await().atMost(Duration.ofSeconds(2)).until(() -> sessions.stream().allMatch(s -> s.ticks.get() > 0));
+
+        assertThat(sessions).extracting(s -> s.lastThread).containsOnly("tick-shard-0", "tick-shard-1");
+        assertThat(sessions.stream().filter(s -> s.lastThread.equals("tick-shard-0")).count()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldDropFinishedSessionsAndRebalance() {
+        engine = new TickEngine(2, 200, 5);
+        List<CountingSession> sessions = register(6);
+        await().atMost(Duration.ofSeconds(2)).until(() -> sessions.stream().allMatch(s -> s.ticks.get() > 0));
+
+        sessions.stream()
+                .filter(s -> s.lastThread.equals("tick-shard-0"))
+                .forEach(s -> s.finished = true);
+
+        await().atMost(Duration.ofSeconds(2)).until(() -> engine.sessionCount() == 3);
+        await().atMost(Duration.ofSeconds(2)).untilAsserted(() -> {
+            Map<String, Integer> perShard = new ConcurrentHashMap<>();
+            sessions.stream().filter(s -> !s.finished).forEach(s -> perShard.merge(s.lastThread, 1, Integer::sum));
+            assertThat(perShard.values()).containsExactlyInAnyOrder(1, 2);
+        });
+    }
+
+    @Test
+    void shouldRunSharedWorkBeforeMembersAndDetachDroppedSessions() {
+        List<String> order = new ArrayList<>();
+        engine = new TickEngine(1, 200, 5, deltaTime -> {
+            synchronized (order) {
+                order.add("shared");
+            }
+        });
+        CountingSession session = new CountingSession() {
+            @Override
+            public boolean tick(double deltaTime) {
+                synchronized (order) {
+                    order.add("member");
+                }
+                return super.tick(deltaTime);
+            }
+        };
+        engine.register(session);
+        await().atMost(Duration.ofSeconds(2)).until(() -> session.ticks.get() > 0);
+
+        session.finished = true;
+
+        await().atMost(Duration.ofSeconds(2)).until(() -> session.detached);
+        synchronized (order) {
+            assertThat(order.subList(0, 2)).containsExactly("shared", "member");
+        }
+    }
+
+    @Test
+    void shouldReportStepTimingAndActiveSessions() {
+        AtomicInteger wakeups = new AtomicInteger();
+        AtomicInteger steps = new AtomicInteger();
+        engine = new TickEngine(1, 200, 5, deltaTime -> {}, new TickObserver() {
+            @Override
+            public void woke(long latenessNanos) {
+                wakeups.incrementAndGet();
+            }
+
+            @Override
+            public void stepped(long durationNanos) {
+                steps.incrementAndGet();
+            }
+        });
+
+        register(2);
+
+        await().atMost(Duration.ofSeconds(2)).until(() -> wakeups.get() > 3 && steps.get() > 3);
+        assertThat(engine.activeSessionCount()).isEqualTo(2);
+    }
+
+    private List<CountingSession> register(int count) {
+        List<CountingSession> sessions = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            CountingSession session = new CountingSession();
+            sessions.add(session);
+            engine.register(session);
+        }
+        return sessions;
+    }
+
+    private static class CountingSession implements Tickable {
+        private final AtomicInteger ticks = new AtomicInteger();
+        private volatile String lastThread = "";
+        private volatile boolean finished;
+        private volatile boolean detached;
+
+        @Override
+        public boolean tick(double deltaTime) {
+            lastThread = Thread.currentThread().getName();
+            ticks.incrementAndGet();
+            return !finished;
+        }
+
+        @Override
+        public void detach() {
+            detached = true;
+        }
+    }
+}
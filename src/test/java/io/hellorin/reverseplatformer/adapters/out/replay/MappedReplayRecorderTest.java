@@ -0,0 +1,152 @@
+package io.hellorin.reverseplatformer.adapters.out.replay;
+
+import io.hellorin.reverseplatformer.application.ports.in.GameCommand;
+import io.hellorin.reverseplatformer.application.ports.in.TickedCommand;
+import io.hellorin.reverseplatformer.application.ports.out.ReplayRecorder;
+import io.hellorin.reverseplatformer.domain.model.GameState;
+import io.hellorin.reverseplatformer.domain.model.TrapType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+class MappedReplayRecorderTest {
+
+    private static final ReplayRecorder.Setup SETUP = new ReplayRecorder.Setup(1.0 / 60, true, 6, false);
+
+    @TempDir
+    Path directory;
+
+    private MappedReplayRecorder recorder;
+
+    @AfterEach
+    void tearDown() {
+        recorder.close();
+    }
+
+    private Path onlyFile() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.findFirst().orElseThrow();
+        }
+    }
+
+    private ReplayFile awaitCompleteFile() throws IOException {
+        await().atMost(Duration.ofSeconds(2)).until(() -> {
+            try (Stream<Path> files = Files.list(directory)) {
+                return files.count() == 1 && ReplayFile.read(onlyFile()).isComplete();
+            }
+        });
+        return ReplayFile.read(onlyFile());
+    }
+
+    @Test
+    void shouldWriteClosedLogInTheBackground() throws IOException {
+        recorder = new MappedReplayRecorder(directory, 64, 10);
+        ReplayRecorder.Recording recording = recorder.start("s1", SETUP);
+
+        recording.command(0, GameCommand.START);
+        recording.gameStarted(0, 1);
+        recording.command(12, new GameCommand.PlaceTrap(TrapType.SPIKE, 120.5, 300.25));
+        recording.outcome(40, 1, GameState.Status.PLAYER_WINS);
+        recording.command(55, GameCommand.NEXT_LEVEL);
+        recording.gameStarted(55, 2);
+        recording.close(90);
+
+        ReplayFile file = awaitCompleteFile();
+        assertThat(file.setup()).isEqualTo(SETUP);
+        assertThat(file.commands()).containsExactly(
+                new TickedCommand(0, GameCommand.START),
+                new TickedCommand(12, new GameCommand.PlaceTrap(TrapType.SPIKE, 120.5, 300.25)),
+                new TickedCommand(55, GameCommand.NEXT_LEVEL));
+        assertThat(file.checkpoints()).containsExactly(
+                new ReplayFile.Checkpoint(0, 1, 1), new ReplayFile.Checkpoint(55, 3, 2));
+        assertThat(file.outcomes()).containsExactly(new ReplayFile.Outcome(40, 1, GameState.Status.PLAYER_WINS));
+        assertThat(file.endTick()).isEqualTo(90);
+        assertThat(Files.size(onlyFile())).isLessThan(256);
+    }
+
+    @Test
+    void shouldKeepWhatWasFlushedWhenCutShort() throws IOException {
+        recorder = new MappedReplayRecorder(directory, 4096, 60_000);
+        ReplayRecorder.Recording recording = recorder.start("s1", SETUP);
+        recording.command(0, GameCommand.START);
+        recording.gameStarted(0, 1);
+        recording.command(7, GameCommand.RESTART);
+
+        recorder.close();
+
+        ReplayFile file = ReplayFile.read(onlyFile());
+        assertThat(file.isComplete()).isFalse();
+        assertThat(file.commands()).extracting(TickedCommand::tick).containsExactly(0L, 7L);
+        assertThat(file.endTick()).isEqualTo(7);
+    }
+
+    @Test
+    void shouldFindLastGameStartBeforeTick() throws IOException {
+        recorder = new MappedReplayRecorder(directory, 64, 10);
+        ReplayRecorder.Recording recording = recorder.start("s1", SETUP);
+        for (int game = 0; game < 5; game++) {
+            recording.command(game * 100L, GameCommand.RESTART);
+            recording.gameStarted(game * 100L, 1);
+        }
+        recording.close(500);
+
+        ReplayFile file = awaitCompleteFile();
+
+        assertThat(file.checkpointAt(0)).isNull();
+        assertThat(file.checkpointAt(1).tick()).isZero();
+        assertThat(file.checkpointAt(250).tick()).isEqualTo(200);
+        assertThat(file.checkpointAt(400).tick()).isEqualTo(300);
+        assertThat(file.checkpointAt(401).tick()).isEqualTo(400);
+        assertThat(file.checkpointAt(10_000).commandIndex()).isEqualTo(5);
+    }
+
+    @Test
+    void shouldRejectTruncatedRecords() throws IOException {
+        recorder = new MappedReplayRecorder(directory, 64, 10);
+        ReplayRecorder.Recording recording = recorder.start("s1", SETUP);
+        recording.command(0, GameCommand.START);
+        recording.command(12, new GameCommand.PlaceTrap(TrapType.SPIKE, 120.5, 300.25));
+        recording.close(90);
+        awaitCompleteFile();
+
+        byte[] bytes = Files.readAllBytes(onlyFile());
+        // Cuts the trap placement off after its type and tick.
+        int cut = ReplayFormat.HEADER_BYTES + 9 + 9 + 1;
+        Path truncated = directory.resolve("truncated.replay");
+        Files.write(truncated, Arrays.copyOf(bytes, cut), StandardOpenOption.CREATE_NEW);
+
+        assertThatThrownBy(() -> ReplayFile.read(truncated))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("offset " + (ReplayFormat.HEADER_BYTES + 9));
+    }
+
+    @Test
+    void shouldRejectUnknownTrapTypes() throws IOException {
+        recorder = new MappedReplayRecorder(directory, 64, 10);
+        ReplayRecorder.Recording recording = recorder.start("s1", SETUP);
+        recording.command(12, new GameCommand.PlaceTrap(TrapType.SPIKE, 120.5, 300.25));
+        recording.close(90);
+        awaitCompleteFile();
+
+        byte[] bytes = Files.readAllBytes(onlyFile());
+        bytes[ReplayFormat.HEADER_BYTES + 9] = (byte) TrapType.values().length;
+        Path corrupt = directory.resolve("corrupt.replay");
+        Files.write(corrupt, bytes, StandardOpenOption.CREATE_NEW);
+
+        assertThatThrownBy(() -> ReplayFile.read(corrupt))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("offset " + ReplayFormat.HEADER_BYTES);
+    }
+}
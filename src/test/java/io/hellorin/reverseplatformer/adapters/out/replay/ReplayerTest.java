@@ -0,0 +1,126 @@
+package io.hellorin.reverseplatformer.adapters.out.replay;
+
+import io.hellorin.reverseplatformer.application.GameSession;
+import io.hellorin.reverseplatformer.application.GameSimulation;
+import io.hellorin.reverseplatformer.application.ports.in.GameCommand;
+import io.hellorin.reverseplatformer.application.ports.out.ReplayRecorder;
+import io.hellorin.reverseplatformer.application.service.GameService;
+import io.hellorin.reverseplatformer.application.service.LevelService;
+import io.hellorin.reverseplatformer.application.service.TrapService;
+import io.hellorin.reverseplatformer.domain.model.GameState;
+import io.hellorin.reverseplatformer.domain.model.Runner;
+import io.hellorin.reverseplatformer.domain.model.TrapType;
+import io.hellorin.reverseplatformer.domain.service.PhysicsService;
+import io.hellorin.reverseplatformer.domain.service.RolloutPlanner;
+import io.hellorin.reverseplatformer.domain.service.RunnerAIService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ReplayerTest {
+
+    private static final double DT = 1.0 / 60;
+    private static final long TICKS = 4_000;
+
+    @TempDir
+    Path directory;
+
+    private static List<Object> fingerprint(GameState state) {
+        if (state == null) return List.of();
+        Runner runner = state.getRunner();
+        return List.of(state.getLevel().getLevelNumber(), state.getStatus(), state.getPlayerPoints(),
+                state.getTraps().size(), Double.doubleToRawLongBits(state.getElapsedTime()),
+                Double.doubleToRawLongBits(runner.getX()), Double.doubleToRawLongBits(runner.getY()));
+    }
+
+    /**
+     * Records a session with random traps and level changes, returning its state every 500
+     * steps, before that tick's commands.
+     */
+    private Map<Long, List<Object>> recordSession(long seed) {
+        MappedReplayRecorder recorder = new MappedReplayRecorder(directory, 256, 5);
+        ReplayRecorder.Recording recording = recorder.start("s" + seed, new ReplayRecorder.Setup(DT, false, 6, false));
+        GameSession session = new GameSession();
+        GameSimulation live = new GameSimulation(
+                new GameService(session, new PhysicsService(), new RunnerAIService(RolloutPlanner.deterministic(6, DT))),
+                new LevelService(session), new TrapService(session), recording, deltaTime -> {});
+
+        Random random = new Random(seed);
+        TrapType[] types = TrapType.values();
+        Map<Long, List<Object>> states = new HashMap<>();
+        while (live.tick() < TICKS) {
+            if (live.tick() % 500 == 0) {
+                states.put(live.tick(), fingerprint(live.getGameState()));
+            }
+            GameState state = live.getGameState();
+            if (state == null) {
+                live.execute(GameCommand.START);
+            } else if (state.getStatus() != GameState.Status.RUNNING && random.nextInt(20) == 0) {
+                live.execute(random.nextBoolean() ? GameCommand.NEXT_LEVEL : GameCommand.RESTART);
+            } else if (state.getStatus() == GameState.Status.RUNNING && random.nextInt(40) == 0) {
+                live.execute(new GameCommand.PlaceTrap(types[random.nextInt(types.length)],
+                        random.nextDouble() * state.getLevel().getWidth(),
+                        random.nextDouble() * state.getLevel().getHeight()));
+            }
+            live.step(DT);
+        }
+        live.close();
+        recorder.close();
+        return states;
+    }
+
+    private ReplayFile readOnlyFile() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return ReplayFile.read(files.findFirst().orElseThrow());
+        }
+    }
+
+    @Test
+    void shouldReachRecordedOutcomes() throws IOException {
+        recordSession(3);
+        ReplayFile file = readOnlyFile();
+
+        assertThat(file.isComplete()).isTrue();
+        assertThat(file.endTick()).isEqualTo(TICKS);
+        assertThat(file.outcomes()).isNotEmpty();
+        assertThat(new Replayer(file).replayOutcomes()).isEqualTo(file.outcomes());
+    }
+
+    @Test
+    void shouldSeekToAnyTickFromTheLastGameStart() throws IOException {
+        Map<Long, List<Object>> recorded = recordSession(11);
+        ReplayFile file = readOnlyFile();
+        assertThat(file.checkpoints()).hasSizeGreaterThan(1);
+
+        Replayer replayer = new Replayer(file);
+        List<Long> ticks = new ArrayList<>(recorded.keySet());
+        for (long tick : ticks) {
+            GameSimulation simulation = replayer.seek(tick);
+            assertThat(simulation.tick()).isEqualTo(tick);
+            assertThat(fingerprint(simulation.getGameState())).as("tick %d", tick).isEqualTo(recorded.get(tick));
+        }
+    }
+
+    @Test
+    void shouldRejectRecordingsOfABudgetedPlanner() throws IOException {
+        MappedReplayRecorder recorder = new MappedReplayRecorder(directory, 256, 5);
+        recorder.start("budgeted", new ReplayRecorder.Setup(DT, false, 6, true)).close(0);
+        recorder.close();
+        ReplayFile file = readOnlyFile();
+
+        assertThat(file.setup().budgetedPlanner()).isTrue();
+        assertThatThrownBy(() -> new Replayer(file)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
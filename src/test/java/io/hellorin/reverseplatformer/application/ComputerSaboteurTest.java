@@ -0,0 +1,130 @@
+package io.hellorin.reverseplatformer.application;
+
+import io.hellorin.reverseplatformer.application.ports.in.GameCommand;
+import io.hellorin.reverseplatformer.application.service.GameService;
+import io.hellorin.reverseplatformer.application.service.LevelService;
+import io.hellorin.reverseplatformer.application.service.TrapService;
+import io.hellorin.reverseplatformer.domain.model.GameState;
+import io.hellorin.reverseplatformer.domain.model.Runner;
+import io.hellorin.reverseplatformer.domain.service.PhysicsService;
+import io.hellorin.reverseplatformer.domain.service.RunnerAIService;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ComputerSaboteurTest {
+
+    private static final double DT = 1.0 / 60;
+    private static final ComputerSaboteur.Settings SETTINGS = new ComputerSaboteur.Settings(2, 24, Long.MAX_VALUE / 2,
+            3.0, 30);
+
+    private static GameSimulation newGame(int level) {
+        GameSession session = new GameSession(level);
+        GameSimulation simulation = new GameSimulation(
+                new GameService(session, new PhysicsService(), new RunnerAIService()),
+                new LevelService(session), new TrapService(session));
+        simulation.execute(GameCommand.START);
+        return simulation;
+    }
+
+    private static GameState.Status play(GameSimulation simulation, ComputerSaboteur saboteur) {
+        while (simulation.getGameState().getStatus() == GameState.Status.RUNNING && simulation.tick() < 60 * 60) {
+            if (saboteur != null) {
+                saboteur.tick(simulation);
+            }
+            simulation.step(DT);
+        }
+        return simulation.getGameState().getStatus();
+    }
+
+    @Test
+    void shouldStopRunnersThatWinUnopposed() {
+        int unopposed = 0;
+        int opposed = 0;
+        for (int level = 1; level <= GameSession.MAX_LEVEL; level++) {
+            if (play(newGame(level), null) == GameState.Status.PLAYER_WINS) unopposed++;
+
+            ComputerSaboteur saboteur = new ComputerSaboteur(Runnable::run, SETTINGS, DT, level);
+            GameSimulation simulation = newGame(level);
+            if (play(simulation, saboteur) == GameState.Status.PLAYER_WINS) opposed++;
+
+            assertThat(saboteur.placements()).isEqualTo(simulation.getGameState().getTraps().size());
+            assertThat(simulation.getGameState().getPlayerPoints()).isNotNegative();
+        }
+
+        assertThat(opposed).isGreaterThan(unopposed);
+        assertThat(opposed).isGreaterThanOrEqualTo(4);
+    }
+
+    @Test
+    void shouldPlayRolloutsWithTheGivenRunnerAI() {
+        AtomicLong created = new AtomicLong();
+        AtomicLong decided = new AtomicLong();
+        ComputerSaboteur saboteur = new ComputerSaboteur(Runnable::run, SETTINGS, DT, 1, () -> {
+            created.incrementAndGet();
+            return new RunnerAIService() {
+                @Override
+                public void think(Runner runner, GameState gameState) {
+                    decided.incrementAndGet();
+                    super.think(runner, gameState);
+                }
+            };
+        });
+
+        play(newGame(1), saboteur);
+
+        assertThat(created.get()).isEqualTo(SETTINGS.parallelism());
+        assertThat(saboteur.rollouts()).isPositive();
+        assertThat(decided.get()).isPositive();
+    }
+
+    @Test
+    void shouldDecideOnItsOwnExecutor() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        ComputerSaboteur saboteur = new ComputerSaboteur(executor, SETTINGS, DT, 1);
+        try {
+            play(newGame(1), saboteur);
+        } finally {
+            executor.shutdown();
+            assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+        }
+
+        // The game is not paced, so it may end before any decision finished.
+        assertThat(saboteur.decisions()).isPositive();
+        assertThat(saboteur.rollouts()).isPositive();
+    }
+
+    @Test
+    void shouldGiveUpWhenTheBudgetIsSpent() {
+        AtomicLong clock = new AtomicLong();
+        ComputerSaboteur.Settings settings = new ComputerSaboteur.Settings(2, 24, 1_000, 3.0, 30);
+        ComputerSaboteur saboteur = new ComputerSaboteur(Runnable::run, settings, DT, 1,
+                () -> clock.addAndGet(600));
+        GameSimulation simulation = newGame(1);
+
+        play(simulation, saboteur);
+
+        assertThat(saboteur.decisions()).isPositive();
+        assertThat(saboteur.placements()).isZero();
+        assertThat(simulation.getGameState().getTraps()).isEmpty();
+    }
+
+    @Test
+    void shouldSkipDecisionsWhenTheExecutorIsFull() {
+        ComputerSaboteur saboteur = new ComputerSaboteur(task -> {
+            throw new RejectedExecutionException();
+        }, SETTINGS, DT, 1);
+        GameSimulation simulation = newGame(1);
+
+        play(simulation, saboteur);
+
+        assertThat(saboteur.skipped()).isEqualTo(saboteur.decisions() * SETTINGS.parallelism());
+        assertThat(saboteur.placements()).isZero();
+    }
+}
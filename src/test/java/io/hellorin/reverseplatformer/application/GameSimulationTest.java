@@ -0,0 +1,112 @@
+package io.hellorin.reverseplatformer.application;
+
+import io.hellorin.reverseplatformer.application.ports.in.GameCommand;
+import io.hellorin.reverseplatformer.application.ports.in.TickedCommand;
+import io.hellorin.reverseplatformer.application.service.GameService;
+import io.hellorin.reverseplatformer.application.service.LevelService;
+import io.hellorin.reverseplatformer.application.service.TrapService;
+import io.hellorin.reverseplatformer.domain.model.GameState;
+import io.hellorin.reverseplatformer.domain.model.Runner;
+import io.hellorin.reverseplatformer.domain.model.Trap;
+import io.hellorin.reverseplatformer.domain.model.TrapType;
+import io.hellorin.reverseplatformer.domain.service.PhysicsService;
+import io.hellorin.reverseplatformer.domain.service.RolloutPlanner;
+import io.hellorin.reverseplatformer.domain.service.RunnerAIService;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GameSimulationTest {
+
+    private static final double DT = 1.0 / 60;
+    private static final long TICKS = 3_000;
+
+    private static GameSimulation newSimulation() {
+        GameSession session = new GameSession();
+        RunnerAIService runnerAI = new RunnerAIService(RolloutPlanner.deterministic(6, DT));
+        return new GameSimulation(new GameService(session, new PhysicsService(), runnerAI),
+                new LevelService(session), new TrapService(session));
+    }
+
+    /**
+     * Plays a game with random traps and level changes, returning the commands it applied.
+     */
+    private static List<TickedCommand> record(GameSimulation simulation, long seed) {
+        Random random = new Random(seed);
+        TrapType[] types = TrapType.values();
+        List<TickedCommand> commands = new ArrayList<>();
+        while (simulation.tick() < TICKS) {
+            GameState state = simulation.getGameState();
+            GameCommand command = null;
+            if (state == null) {
+                command = GameCommand.START;
+            } else if (state.getStatus() != GameState.Status.RUNNING) {
+                if (random.nextInt(30) == 0) {
+                    command = random.nextBoolean() ? GameCommand.NEXT_LEVEL : GameCommand.RESTART;
+                }
+            } else if (random.nextInt(40) == 0) {
+                command = new GameCommand.PlaceTrap(types[random.nextInt(types.length)],
+                        random.nextDouble() * state.getLevel().getWidth(),
+                        random.nextDouble() * state.getLevel().getHeight());
+            }
+            if (command != null) {
+                commands.add(new TickedCommand(simulation.tick(), command));
+                simulation.execute(command);
+            }
+            simulation.step(DT);
+        }
+        return commands;
+    }
+
+    private static List<Object> fingerprint(GameState state) {
+        Runner runner = state.getRunner();
+        List<Object> values = new ArrayList<>(List.of(
+                state.getLevel().getLevelNumber(), state.getStatus(), state.getPlayerPoints(),
+                Double.doubleToRawLongBits(state.getElapsedTime()),
+                Double.doubleToRawLongBits(runner.getX()), Double.doubleToRawLongBits(runner.getY()),
+                Double.doubleToRawLongBits(runner.getVelocityX()), Double.doubleToRawLongBits(runner.getVelocityY()),
+                runner.isAlive(), runner.isOnGround()));
+        for (Trap trap : state.getTraps()) {
+            values.add(trap.getId());
+            values.add(Double.doubleToRawLongBits(trap.getBounds().x()));
+        }
+        for (int i = 0; i < state.getLevel().getPlatforms().size(); i++) {
+            values.add(state.isPlatformActive(i));
+        }
+        return values;
+    }
+
+    @Test
+    void shouldReplayRecordedGamesBitForBit() {
+        for (long seed = 1; seed <= 10; seed++) {
+            GameSimulation live = newSimulation();
+            List<TickedCommand> commands = record(live, seed);
+
+            GameSimulation first = newSimulation();
+            first.replay(commands, TICKS, DT);
+            GameSimulation second = newSimulation();
+            second.replay(commands, TICKS, DT);
+
+            assertThat(commands).isNotEmpty();
+            assertThat(fingerprint(first.getGameState())).isEqualTo(fingerprint(live.getGameState()));
+            assertThat(fingerprint(second.getGameState())).isEqualTo(fingerprint(first.getGameState()));
+        }
+    }
+
+    @Test
+    void shouldResumeReplayFromCurrentTick() {
+        GameSimulation live = newSimulation();
+        List<TickedCommand> commands = record(live, 42);
+
+        GameSimulation resumed = newSimulation();
+        resumed.replay(commands, TICKS / 3, DT);
+        resumed.replay(commands, TICKS, DT);
+
+        assertThat(resumed.tick()).isEqualTo(TICKS);
+        assertThat(fingerprint(resumed.getGameState())).isEqualTo(fingerprint(live.getGameState()));
+    }
+}
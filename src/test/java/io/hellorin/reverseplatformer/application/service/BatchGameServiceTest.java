@@ -0,0 +1,85 @@
+package io.hellorin.reverseplatformer.application.service;
+
+import io.hellorin.reverseplatformer.application.GameSession;
+import io.hellorin.reverseplatformer.domain.model.GameState;
+import io.hellorin.reverseplatformer.domain.model.Runner;
+import io.hellorin.reverseplatformer.domain.model.RunnerBatch;
+import io.hellorin.reverseplatformer.domain.model.TrapType;
+import io.hellorin.reverseplatformer.domain.service.PhysicsService;
+import io.hellorin.reverseplatformer.domain.service.RunnerAIService;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BatchGameServiceTest {
+
+    private static final double DELTA_TIME = 1 / 60.0;
+    private static final TrapType[] TRAP_TYPES = {TrapType.SLOW_ZONE, TrapType.BOUNCE_PAD, TrapType.SPIKE};
+
+    @Test
+    void shouldPlayOutLikeTheObjectEngine() {
+        GameSession objectSession = new GameSession();
+        GameService objectEngine = new GameService(objectSession, new PhysicsService(), new RunnerAIService());
+        TrapService objectTraps = new TrapService(objectSession);
+        GameSession batchSession = new GameSession();
+        BatchGameService batchEngine = new BatchGameService(batchSession, new PhysicsService(), new RunnerAIService());
+        TrapService batchTraps = new TrapService(batchSession);
+        RunnerBatch batch = new RunnerBatch();
+        batchEngine.useRunnerBatch(batch);
+
+        objectEngine.startGame();
+        batchEngine.startGame();
+        int trapsPlaced = 0;
+        for (int i = 0; i < 3_000 && objectSession.isRunning(); i++) {
+            if (i % 90 == 45) {
+                // Placed where the runner is heading, in the same tick the batch integrates it.
+                Runner runner = objectEngine.getGameState().getRunner();
+                TrapType type = TRAP_TYPES[trapsPlaced++ % TRAP_TYPES.length];
+                objectTraps.placeTrap(type, runner.getX() + 40, runner.getY());
+                batchTraps.placeTrap(type, runner.getX() + 40, runner.getY());
+            }
+            objectEngine.update(DELTA_TIME);
+            batchEngine.prepareStep(DELTA_TIME);
+            batch.stepAll(DELTA_TIME);
+            batchEngine.update(DELTA_TIME);
+
+            Runner expected = objectEngine.getGameState().getRunner();
+            Runner actual = batchEngine.getGameState().getRunner();
+            assertThat(actual.getX()).isEqualTo(expected.getX());
+            assertThat(actual.getY()).isEqualTo(expected.getY());
+        }
+
+        assertThat(trapsPlaced).isPositive();
+        assertThat(batchEngine.getGameState().getStatus()).isEqualTo(objectEngine.getGameState().getStatus());
+        assertThat(batch.size()).isZero();
+    }
+
+    @Test
+    void shouldIntegrateTheRunnerItselfWithoutBatch() {
+        GameSession session = new GameSession();
+        BatchGameService engine = new BatchGameService(session, new PhysicsService(), new RunnerAIService());
+        engine.startGame();
+        double startX = engine.getGameState().getRunner().getX();
+
+        engine.update(DELTA_TIME);
+        engine.update(DELTA_TIME);
+
+        assertThat(engine.getGameState().getRunner().getX()).isGreaterThan(startX);
+    }
+
+    @Test
+    void shouldReleaseSlotWhenLeavingBatch() {
+        GameSession session = new GameSession();
+        BatchGameService engine = new BatchGameService(session, new PhysicsService(), new RunnerAIService());
+        RunnerBatch batch = new RunnerBatch();
+        engine.useRunnerBatch(batch);
+        engine.startGame();
+        engine.update(DELTA_TIME);
+        assertThat(batch.size()).isEqualTo(1);
+
+        engine.useRunnerBatch(null);
+
+        assertThat(batch.size()).isZero();
+        assertThat(engine.getGameState().getStatus()).isEqualTo(GameState.Status.RUNNING);
+    }
+}
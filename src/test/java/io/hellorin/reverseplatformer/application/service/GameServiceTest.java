@@ -7,9 +7,13 @@ import io.hellorin.reverseplatformer.domain.model.Trap;
 import io.hellorin.reverseplatformer.domain.model.TrapType;
 import io.hellorin.reverseplatformer.domain.service.PhysicsService;
 import io.hellorin.reverseplatformer.domain.service.RunnerAIService;
+import com.sun.management.ThreadMXBean;
+import org.junit.jupiter.api.Assumptions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.lang.management.ManagementFactory;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 class GameServiceTest {
@@ -103,4 +107,63 @@ class GameServiceTest {
 
         assertThat(runner.getSpeedMultiplier()).isEqualTo(0.5);
     }
+
+    @Test
+    void shouldUpdateWithoutAllocating() {
+        ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Assumptions.assumeTrue(threads.isThreadAllocatedMemoryEnabled());
+        for (int i = 0; i < 200; i++) {
+            playOneGame();
+        }
+
+        gameService.startGame();
+        placeTraps();
+        long before = threads.getCurrentThreadAllocatedBytes();
+        int updates = 0;
+        while (session.isRunning() && updates < 2_000) {
+            gameService.update(1.0 / 60);
+            updates++;
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+        assertThat(updates).isGreaterThan(60);
+        assertThat(allocated).isZero();
+    }
+
+    @Test
+    void shouldReachTheSameOutcomeAtLowerTickRates() {
+        for (int level = 1; level <= session.getMaxLevel(); level++) {
+            GameState.Status atFullRate = playLevel(level, 60);
+
+            assertThat(playLevel(level, 30)).as("level %d at 30 Hz", level).isEqualTo(atFullRate);
+            assertThat(playLevel(level, 20)).as("level %d at 20 Hz", level).isEqualTo(atFullRate);
+        }
+    }
+
+    private static GameState.Status playLevel(int level, int hz) {
+        GameSession levelSession = new GameSession();
+        for (int i = 1; i < level; i++) {
+            levelSession.advanceLevel();
+        }
+        GameService service = new GameService(levelSession, new PhysicsService(), new RunnerAIService());
+        service.startGame();
+        for (int i = 0; i < 60 * hz && levelSession.isRunning(); i++) {
+            service.update(1.0 / hz);
+        }
+        return service.getGameState().getStatus();
+    }
+
+    private void playOneGame() {
+        gameService.startGame();
+        placeTraps();
+        for (int i = 0; i < 2_000 && session.isRunning(); i++) {
+            gameService.update(1.0 / 60);
+        }
+    }
+
+    private void placeTraps() {
+        GameState gameState = gameService.getGameState();
+        gameState.addTrap(new Trap("slow", TrapType.SLOW_ZONE, 400, 370));
+        gameState.addTrap(new Trap("bounce", TrapType.BOUNCE_PAD, 600, 370));
+    }
 }
@@ -2,6 +2,7 @@ package io.hellorin.reverseplatformer.application.service;
 
 import io.hellorin.reverseplatformer.application.GameSession;
 import io.hellorin.reverseplatformer.domain.model.GameState;
+import io.hellorin.reverseplatformer.domain.model.Trap;
 import io.hellorin.reverseplatformer.domain.model.TrapType;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -39,6 +40,18 @@ class TrapServiceTest {
                 .isEqualTo(initialPoints - TrapType.SPIKE.getCost());
     }
 
+    @Test
+    void shouldNumberTrapsPerGame() {
+        session.createNewGame();
+
+        trapService.placeTrap(TrapType.SLOW_ZONE, 100, 100);
+        trapService.placeTrap(TrapType.SLOW_ZONE, 200, 100);
+
+        assertThat(session.getGameState().getTraps())
+                .extracting(Trap::getId)
+                .containsExactly("trap_1", "trap_2");
+    }
+
     @Test
     void shouldNotPlaceTrapWhenGameNotRunning() {
         // Don't start the game
@@ -4,6 +4,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 class GameStateTest {
 
@@ -50,6 +51,15 @@ class GameStateTest {
         assertThat(gameState.getPlayerPoints()).isEqualTo(initialPoints - TrapType.SLOW_ZONE.getCost());
     }
 
+    @Test
+    void shouldReturnReadOnlyTraps() {
+        gameState.addTrap(new Trap("trap1", TrapType.SLOW_ZONE, 100, 100));
+
+        assertThatThrownBy(() -> gameState.getTraps().clear())
+                .isInstanceOf(UnsupportedOperationException.class);
+        assertThat(gameState.getTraps()).hasSize(1);
+    }
+
     @Test
     void shouldNotAddTrapWhenNotAffordable() {
         // Drain points
@@ -63,6 +73,61 @@ class GameStateTest {
         assertThat(gameState.getTraps()).hasSize(trapsBeforeAttempt);
     }
 
+    @Test
+    void shouldBumpTrapsVersionOnlyWhenATrapIsAdded() {
+        int version = gameState.getTrapsVersion();
+
+        gameState.addTrap(new Trap("t1", TrapType.SPIKE, 100, 100));
+        int afterAdd = gameState.getTrapsVersion();
+        gameState.addPoints(-gameState.getPlayerPoints());
+        gameState.addTrap(new Trap("t2", TrapType.SPIKE, 100, 100));
+
+        assertThat(afterAdd).isNotEqualTo(version);
+        assertThat(gameState.getTrapsVersion()).isEqualTo(afterAdd);
+    }
+
+    @Test
+    void shouldBumpPlatformsVersionOnlyOnActualToggles() {
+        int version = gameState.getPlatformsVersion();
+
+        gameState.setPlatformActive(0, true);
+        assertThat(gameState.getPlatformsVersion()).isEqualTo(version);
+
+        gameState.setPlatformActive(0, false);
+        assertThat(gameState.getPlatformsVersion()).isNotEqualTo(version);
+        assertThat(gameState.isPlatformActive(0)).isFalse();
+    }
+
+    @Test
+    void shouldCopyAnotherGameWithoutSharingIt() {
+        gameState.start();
+        gameState.addTrap(new Trap("t1", TrapType.SLOW_ZONE, 300, 340));
+        gameState.setPlatformActive(1, false);
+        gameState.incrementTime(1.2);
+        gameState.getRunner().update(0.1);
+        GameState copy = new GameState(level);
+
+        copy.copyFrom(gameState);
+        copy.addTrap(new Trap("t2", TrapType.SLOW_ZONE, 500, 340));
+        copy.getRunner().update(0.1);
+
+        assertThat(copy.getStatus()).isEqualTo(GameState.Status.RUNNING);
+        assertThat(copy.getElapsedTime()).isEqualTo(gameState.getElapsedTime());
+        assertThat(copy.isPlatformActive(1)).isFalse();
+        assertThat(copy.getTraps()).hasSize(2);
+        assertThat(copy.getTrapIndex().size()).isEqualTo(2);
+        assertThat(gameState.getTraps()).hasSize(1);
+        assertThat(gameState.getTrapIndex().size()).isEqualTo(1);
+        assertThat(copy.getPlayerPoints()).isEqualTo(gameState.getPlayerPoints() - TrapType.SLOW_ZONE.getCost());
+        assertThat(copy.getRunner().getX()).isGreaterThan(gameState.getRunner().getX());
+    }
+
+    @Test
+    void shouldNotCopyAGameOnAnotherLevel() {
+        assertThatThrownBy(() -> new GameState(Level.createLevel(2)).copyFrom(gameState))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
     @Test
     void shouldCheckIfCanAffordTrap() {
         assertThat(gameState.canAffordTrap(TrapType.SLOW_ZONE)).isTrue();
@@ -85,6 +150,18 @@ class GameStateTest {
         assertThat(gameState.getElapsedTime()).isEqualTo(0.5);
     }
 
+    @Test
+    void shouldAccruePointsEveryHalfSecondRegardlessOfStepSize() {
+        int initialPoints = gameState.getPlayerPoints();
+
+        for (int i = 0; i < 60; i++) {
+            gameState.incrementTime(1.0 / 60);
+        }
+        gameState.incrementTime(1.0);
+
+        assertThat(gameState.getPlayerPoints()).isEqualTo(initialPoints + 4);
+    }
+
     @Test
     void shouldSetStatus() {
         gameState.setStatus(GameState.Status.PLAYER_WINS);
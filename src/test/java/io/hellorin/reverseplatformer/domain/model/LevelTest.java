@@ -5,6 +5,7 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 class LevelTest {
 
@@ -36,22 +37,35 @@ class LevelTest {
     }
 
     @Test
-    void shouldAddPlatform() {
-        Level level = new Level(1, 800, 450, new Vector2D(0, 0), new Rectangle(700, 300, 40, 80));
+    void shouldShareLevelGeometryBetweenGames() {
+        GameState first = new GameState(Level.createLevel(2));
+        GameState second = new GameState(Level.createLevel(2));
+
+        first.setPlatformActive(1, false);
+
+        assertThat(second.getLevel()).isSameAs(first.getLevel());
+        assertThat(first.isPlatformActive(1)).isFalse();
+        assertThat(second.isPlatformActive(1)).isTrue();
+    }
+
+    @Test
+    void shouldBuildLevelWithPlatforms() {
         Platform platform = new Platform("p1", 0, 400, 200, 20);
 
-        level.addPlatform(platform);
+        Level level = Level.builder(1, 800, 450, new Vector2D(0, 0), new Rectangle(700, 300, 40, 80))
+                .platform(platform)
+                .build();
 
         assertThat(level.getPlatforms()).hasSize(1);
         assertThat(level.getPlatforms().get(0).getId()).isEqualTo("p1");
     }
 
     @Test
-    void shouldReturnDefensiveCopyOfPlatforms() {
+    void shouldReturnReadOnlyPlatforms() {
         Level level = Level.createLevel(1);
 
-        level.getPlatforms().clear();
-
+        assertThatThrownBy(() -> level.getPlatforms().clear())
+                .isInstanceOf(UnsupportedOperationException.class);
         assertThat(level.getPlatforms()).isNotEmpty();
     }
 }
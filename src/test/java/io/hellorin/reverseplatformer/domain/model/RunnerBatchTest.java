@@ -0,0 +1,69 @@
+package io.hellorin.reverseplatformer.domain.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RunnerBatchTest {
+
+    @Test
+    void shouldStepBatchedRunnersLikeIndividualOnes() {
+        RunnerBatch batch = new RunnerBatch(2);
+        Runner batched = new Runner(50, 100, 1.2);
+        Runner alone = new Runner(50, 100, 1.2);
+        batched.moveTo(batch);
+
+        for (int i = 0; i < 30; i++) {
+            batch.stepAll(0.016);
+            alone.update(0.016);
+        }
+
+        assertThat(batched.getX()).isEqualTo(alone.getX());
+        assertThat(batched.getY()).isEqualTo(alone.getY());
+        assertThat(batched.getVelocityY()).isEqualTo(alone.getVelocityY());
+    }
+
+    @Test
+    void shouldNotStepDeadRunners() {
+        RunnerBatch batch = new RunnerBatch();
+        Runner runner = new Runner(50, 100, 1.0);
+        runner.moveTo(batch);
+        runner.die();
+
+        batch.stepAll(0.016);
+
+        assertThat(runner.getX()).isEqualTo(50);
+        assertThat(runner.getY()).isEqualTo(100);
+    }
+
+    @Test
+    void shouldGrowAndReuseReleasedSlots() {
+        RunnerBatch batch = new RunnerBatch(1);
+        Runner first = new Runner(10, 0, 1.0);
+        Runner second = new Runner(20, 0, 1.0);
+        first.moveTo(batch);
+        second.moveTo(batch);
+        assertThat(batch.size()).isEqualTo(2);
+
+        first.moveTo(null);
+        new Runner(30, 0, 1.0).moveTo(batch);
+
+        assertThat(batch.size()).isEqualTo(2);
+        assertThat(first.getX()).isEqualTo(10);
+        assertThat(second.getX()).isEqualTo(20);
+    }
+
+    @Test
+    void shouldKeepStateWhenMovingBetweenBatches() {
+        Runner runner = new Runner(10, 20, 1.0);
+        runner.land(50);
+        runner.setSpeedMultiplier(0.5);
+
+        runner.moveTo(new RunnerBatch());
+
+        assertThat(runner.getY()).isEqualTo(50 - Runner.HEIGHT);
+        assertThat(runner.isOnGround()).isTrue();
+        assertThat(runner.isAlive()).isTrue();
+        assertThat(runner.getSpeedMultiplier()).isEqualTo(0.5);
+    }
+}
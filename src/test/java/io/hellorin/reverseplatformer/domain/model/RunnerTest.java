@@ -112,4 +112,27 @@ class RunnerTest {
 
         assertThat(runner.getSpeedMultiplier()).isEqualTo(1.0);
     }
+
+    @Test
+    void shouldExposeKinematicsAsPrimitives() {
+        Runner runner = new Runner(100, 200, 1.0);
+        runner.update(0.1);
+
+        assertThat(runner.getX()).isEqualTo(runner.getPosition().x());
+        assertThat(runner.getY()).isEqualTo(runner.getPosition().y());
+        assertThat(runner.getVelocityX()).isEqualTo(runner.getVelocity().x());
+        assertThat(runner.getVelocityY()).isEqualTo(runner.getVelocity().y());
+        assertThat(runner.getRight()).isEqualTo(runner.getBounds().right());
+        assertThat(runner.getBottom()).isEqualTo(runner.getBounds().bottom());
+    }
+
+    @Test
+    void shouldIntersectLikeItsBounds() {
+        Runner runner = new Runner(100, 200, 1.0);
+        Rectangle touching = new Rectangle(110, 220, 30, 30);
+        Rectangle apart = new Rectangle(121, 200, 30, 30);
+
+        assertThat(runner.intersects(touching)).isEqualTo(runner.getBounds().intersects(touching)).isTrue();
+        assertThat(runner.intersects(apart)).isEqualTo(runner.getBounds().intersects(apart)).isFalse();
+    }
 }
@@ -0,0 +1,88 @@
+package io.hellorin.reverseplatformer.domain.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SpatialIndexTest {
+
+    @Test
+    void shouldReturnEveryOverlappingItemOnceInIndexOrder() {
+        Random random = new Random(42);
+        SpatialIndex index = new SpatialIndex(800);
+        List<double[]> extents = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            double minX = random.nextDouble() * 900 - 50;
+            double maxX = minX + random.nextDouble() * 250;
+            extents.add(new double[]{minX, maxX});
+            index.add(minX, maxX);
+        }
+
+        SpatialIndex.Hits hits = new SpatialIndex.Hits();
+        for (int q = 0; q < 500; q++) {
+            double fromX = random.nextDouble() * 900 - 50;
+            double toX = fromX + random.nextDouble() * 100;
+            index.query(fromX, toX, hits);
+
+            List<Integer> found = new ArrayList<>();
+            for (int i = 0; i < hits.count(); i++) {
+                found.add(hits.get(i));
+            }
+            List<Integer> overlapping = new ArrayList<>();
+            for (int i = 0; i < extents.size(); i++) {
+                if (extents.get(i)[0] <= toX && extents.get(i)[1] >= fromX) {
+                    overlapping.add(i);
+                }
+            }
+            assertThat(found).doesNotHaveDuplicates().isSorted().containsAll(overlapping);
+        }
+    }
+
+    @Test
+    void shouldSkipItemsFarAway() {
+        SpatialIndex index = new SpatialIndex(800);
+        index.add(0, 30);
+        index.add(700, 730);
+        SpatialIndex.Hits hits = new SpatialIndex.Hits();
+
+        index.query(690, 710, hits);
+
+        assertThat(hits.count()).isEqualTo(1);
+        assertThat(hits.get(0)).isEqualTo(1);
+    }
+
+    @Test
+    void shouldCopyAnotherIndexIndependently() {
+        SpatialIndex original = new SpatialIndex(800);
+        original.add(100, 300);
+        original.add(650, 680);
+        SpatialIndex copy = new SpatialIndex(800);
+        copy.add(0, 800);
+        SpatialIndex.Hits hits = new SpatialIndex.Hits();
+
+        copy.copyFrom(original);
+        original.add(120, 150);
+
+        assertThat(copy.size()).isEqualTo(2);
+        copy.query(0, 800, hits);
+        assertThat(hits.count()).isEqualTo(2);
+        copy.query(640, 700, hits);
+        assertThat(hits.count()).isEqualTo(1);
+        assertThat(hits.get(0)).isEqualTo(1);
+    }
+
+    @Test
+    void shouldKeepItemsBeyondTheIndexedWidth() {
+        SpatialIndex index = new SpatialIndex(800);
+        index.add(1e12, 1e12 + 30);
+        SpatialIndex.Hits hits = new SpatialIndex.Hits();
+
+        index.query(1e12, 1e12 + 10, hits);
+
+        assertThat(hits.count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,44 @@
+package io.hellorin.reverseplatformer.domain.service;
+
+import io.hellorin.reverseplatformer.domain.model.*;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NavigationTableTest {
+
+    @Test
+    void shouldShareTheTableOfEachLevel() {
+        assertThat(NavigationTable.shared(Level.createLevel(3))).isSameAs(NavigationTable.shared(Level.createLevel(3)));
+    }
+
+    @Test
+    void shouldJumpAtTheEdgeOfAPlatform() {
+        NavigationTable table = NavigationTable.shared(Level.createLevel(1));
+        Runner middle = new Runner(50, 0, 1.0);
+        Runner edge = new Runner(220, 0, 1.0);
+        middle.land(400);
+        edge.land(400);
+
+        assertThat(table.decide(middle)).isEqualTo(NavigationTable.STAY);
+        assertThat(table.decide(edge)).isEqualTo(NavigationTable.JUMP);
+    }
+
+    @Test
+    void shouldSeeGapsLeftByInactivePlatforms() {
+        GameState gameState = new GameState(Level.createLevel(1));
+        gameState.setPlatformActive(0, false);
+        Runner runner = new Runner(50, 0, 1.0);
+        runner.land(400);
+
+        assertThat(NavigationTable.build(gameState.getLevel(), gameState).decide(runner)).isEqualTo(NavigationTable.JUMP);
+    }
+
+    @Test
+    void shouldNotKnowHeightsBetweenPlatformTops() {
+        Runner runner = new Runner(50, 0, 1.0);
+        runner.land(123);
+
+        assertThat(NavigationTable.shared(Level.createLevel(1)).decide(runner)).isEqualTo(NavigationTable.UNKNOWN);
+    }
+}
@@ -43,6 +43,53 @@ class PhysicsServiceTest {
         assertThat(runner.isOnGround()).isTrue();
     }
 
+    @Test
+    void shouldLandOnThinPlatformDespiteLargeStep() {
+        runner = new Runner(100, -540, 1.0);
+        runner.update(1.0);
+        platforms.add(new Platform("thin", 0, 300, 400, 12));
+
+        physicsService.update(runner, platforms, 0.1);
+
+        assertThat(runner.isOnGround()).isTrue();
+        assertThat(runner.getBottom()).isEqualTo(300);
+    }
+
+    @Test
+    void shouldNotLandWhenReachingPlatformFromTheSideBelowItsTop() {
+        runner = new Runner(60, 395, 1.0);
+        runner.update(0.05);
+        platforms.add(new Platform("p1", 100, 400, 200, 20));
+
+        physicsService.update(runner, platforms, 0.05);
+
+        assertThat(runner.isOnGround()).isFalse();
+    }
+
+    @Test
+    void shouldLandOnTheFirstPlatformCrossed() {
+        runner = new Runner(100, -600, 1.0);
+        runner.update(1.0);
+        platforms.add(new Platform("lower", 0, 310, 400, 12));
+        platforms.add(new Platform("upper", 0, 280, 400, 12));
+
+        physicsService.update(runner, platforms, 0.1);
+
+        assertThat(runner.getBottom()).isEqualTo(280);
+    }
+
+    @Test
+    void shouldDetectTrapPassedThroughDuringStep() {
+        runner = new Runner(100, 100, 1.0);
+        runner.update(0.4);
+        Trap trap = new Trap("trap1", TrapType.SPIKE, 125, 100);
+
+        boolean collision = physicsService.checkTrapCollision(runner, trap);
+
+        assertThat(runner.getX()).isGreaterThan(trap.getBounds().right());
+        assertThat(collision).isTrue();
+    }
+
     @Test
     void shouldDetectTrapCollision() {
         runner = new Runner(100, 100, 1.0);
@@ -53,6 +100,18 @@ class PhysicsServiceTest {
         assertThat(collision).isTrue();
     }
 
+    @Test
+    void shouldApplyEachTrapEffectToTheRunner() {
+        physicsService.applyTrapEffect(runner, new Trap("slow", TrapType.SLOW_ZONE, 100, 100));
+        assertThat(runner.getSpeedMultiplier()).isEqualTo(0.5);
+
+        physicsService.applyTrapEffect(runner, new Trap("bounce", TrapType.BOUNCE_PAD, 100, 100));
+        assertThat(runner.getVelocityY()).isNegative();
+
+        physicsService.applyTrapEffect(runner, new Trap("spike", TrapType.SPIKE, 100, 100));
+        assertThat(runner.isAlive()).isFalse();
+    }
+
     @Test
     void shouldDetectNoTrapCollision() {
         runner = new Runner(100, 100, 1.0);
@@ -123,11 +182,13 @@ class PhysicsServiceTest {
     void shouldIgnoreInactivePlatforms() {
         runner = new Runner(100, 280, 1.0);
         runner.update(0.1);
-        Platform platform = new Platform("p1", 50, 300, 200, 20);
-        platform.setActive(false);
-        platforms.add(platform);
+        Level level = Level.builder(1, 800, 450, new Vector2D(0, 0), new Rectangle(700, 300, 40, 80))
+                .platform(new Platform("p1", 50, 300, 200, 20))
+                .build();
+        GameState gameState = new GameState(level);
+        gameState.setPlatformActive(0, false);
 
-        physicsService.update(runner, platforms, 0.016);
+        physicsService.update(runner, gameState, 0.016);
 
         assertThat(runner.isOnGround()).isFalse();
     }
@@ -0,0 +1,96 @@
+package io.hellorin.reverseplatformer.domain.service;
+
+import io.hellorin.reverseplatformer.application.GameSession;
+import io.hellorin.reverseplatformer.application.service.GameService;
+import io.hellorin.reverseplatformer.domain.model.*;
+import com.sun.management.ThreadMXBean;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RolloutPlannerTest {
+
+    private static final double STEP = 1 / 60.0;
+    private static final long UNLIMITED = Long.MAX_VALUE / 4;
+
+    @Test
+    void shouldWinMoreGamesThanTheHeuristics() {
+        int heuristicWins = 0;
+        int plannerWins = 0;
+        for (int seed = 0; seed < 100; seed++) {
+            if (play(seed, new RunnerAIService()).getStatus() == GameState.Status.RUNNER_WINS) {
+                heuristicWins++;
+            }
+            RunnerAIService planned = new RunnerAIService(new RolloutPlanner(UNLIMITED, 6, STEP));
+            if (play(seed, planned).getStatus() == GameState.Status.RUNNER_WINS) {
+                plannerWins++;
+            }
+        }
+
+        assertThat(plannerWins).isGreaterThan(heuristicWins);
+    }
+
+    @Test
+    void shouldFallBackToTheHeuristicsWhenTheBudgetIsSpent() {
+        long[] now = {0};
+        RolloutPlanner planner = new RolloutPlanner(1_000, 6, STEP, () -> now[0] += 600);
+
+        GameState planned = play(3, new RunnerAIService(planner));
+        GameState heuristic = play(3, new RunnerAIService());
+
+        assertThat(planner.decisions()).isPositive();
+        assertThat(planner.fallbacks()).isEqualTo(planner.decisions());
+        assertThat(planned.getRunner().getX()).isEqualTo(heuristic.getRunner().getX());
+        assertThat(planned.getStatus()).isEqualTo(heuristic.getStatus());
+    }
+
+    @Test
+    void shouldPlanWithoutAllocating() {
+        ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Assumptions.assumeTrue(threads.isThreadAllocatedMemoryEnabled());
+        RolloutPlanner planner = new RolloutPlanner(UNLIMITED, 6, STEP);
+        RunnerAIService ai = new RunnerAIService(planner);
+        GameState state = new GameState(Level.createLevel(2));
+        state.addPoints(1_000);
+        state.addTrap(new Trap("spike", TrapType.SPIKE, 400, 370));
+        Runner runner = new Runner(100, 0, 1.2);
+        runner.land(400);
+        for (int i = 0; i < 2_000; i++) {
+            ai.think(runner, state);
+            runner.land(400);
+        }
+
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < 100; i++) {
+            ai.think(runner, state);
+            runner.land(400);
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+        assertThat(allocated).isZero();
+    }
+
+    private static GameState play(int seed, RunnerAIService ai) {
+        Random random = new Random(seed);
+        GameSession session = new GameSession();
+        for (int i = random.nextInt(5); i > 0; i--) {
+            session.advanceLevel();
+        }
+        GameService service = new GameService(session, new PhysicsService(), ai);
+        service.startGame();
+        GameState state = service.getGameState();
+        for (int i = 0; i < 4; i++) {
+            state.addPoints(100);
+            TrapType type = TrapType.values()[random.nextInt(TrapType.values().length)];
+            state.addTrap(new Trap("t" + i, type, 100 + random.nextDouble() * 600, 340 + random.nextDouble() * 40));
+        }
+        for (int i = 0; i < 3_000 && session.isRunning(); i++) {
+            service.update(STEP);
+        }
+        return state;
+    }
+}
@@ -6,6 +6,7 @@ import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -106,12 +107,75 @@ class RunnerAIServiceTest {
     void shouldIgnoreInactivePlatforms() {
         runner.land(100);
         Rectangle bounds = runner.getBounds();
-        Platform inactivePlatform = new Platform("p1", (int) bounds.right(), 100, 200, 20);
-        inactivePlatform.setActive(false);
-        platforms.add(inactivePlatform);
+        Level level = Level.builder(1, 800, 450, new Vector2D(0, 0), new Rectangle(700, 300, 40, 80))
+                .platform(new Platform("p1", (int) bounds.right(), 100, 200, 20))
+                .build();
+        GameState gameState = new GameState(level);
+        gameState.setPlatformActive(0, false);
 
-        runnerAIService.think(runner, platforms, traps);
+        runnerAIService.think(runner, gameState);
 
         assertThat(runner.getVelocity().y()).isNegative();
     }
+
+    @Test
+    void shouldDecideTheSameWithSpatialIndexes() {
+        Random random = new Random(7);
+        for (int levelNumber = 1; levelNumber <= 5; levelNumber++) {
+            GameState gameState = new GameState(Level.createLevel(levelNumber));
+            for (int i = 0; i < 40; i++) {
+                gameState.addPoints(1_000);
+                gameState.addTrap(new Trap("t" + i, TrapType.values()[i % TrapType.values().length],
+                        random.nextDouble() * 800, 250 + random.nextDouble() * 150));
+            }
+            Level level = gameState.getLevel();
+
+            for (int i = 0; i < 500; i++) {
+                double x = random.nextDouble() * 800;
+                double platformY = 250 + random.nextDouble() * 150;
+                Runner scanned = new Runner(x, 0, 1.0);
+                Runner indexed = new Runner(x, 0, 1.0);
+                scanned.land(platformY);
+                indexed.land(platformY);
+
+                runnerAIService.think(scanned, level.getPlatforms(), gameState.getTraps());
+                runnerAIService.think(indexed, gameState);
+
+                assertThat(indexed.isOnGround()).isEqualTo(scanned.isOnGround());
+            }
+        }
+    }
+
+    @Test
+    void shouldDecideTheSameWithNavigationTables() {
+        Random random = new Random(11);
+        for (int levelNumber = 1; levelNumber <= 5; levelNumber++) {
+            GameState gameState = new GameState(Level.createLevel(levelNumber));
+            List<Platform> levelPlatforms = gameState.getLevel().getPlatforms();
+
+            for (int round = 0; round < 4; round++) {
+                if (round > 0) {
+                    gameState.setPlatformActive(random.nextInt(levelPlatforms.size()), random.nextBoolean());
+                }
+                List<Platform> active = new ArrayList<>();
+                for (int i = 0; i < levelPlatforms.size(); i++) {
+                    if (gameState.isPlatformActive(i)) active.add(levelPlatforms.get(i));
+                }
+
+                for (int i = 0; i < 500; i++) {
+                    Platform support = levelPlatforms.get(random.nextInt(levelPlatforms.size()));
+                    double x = random.nextDouble() * 800;
+                    Runner scanned = new Runner(x, 0, 1.0);
+                    Runner tabled = new Runner(x, 0, 1.0);
+                    scanned.land(support.getBounds().y());
+                    tabled.land(support.getBounds().y());
+
+                    runnerAIService.think(scanned, active, List.of());
+                    runnerAIService.think(tabled, gameState);
+
+                    assertThat(tabled.isOnGround()).as("level %d x %s", levelNumber, x).isEqualTo(scanned.isOnGround());
+                }
+            }
+        }
+    }
 }